@@ -0,0 +1,412 @@
+package spark;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import spark.commandresponse.CommandResponse;
+import spark.exceptions.SparkException;
+import spark.parser.Parser;
+
+/**
+ * Runs the commands given by the user one at a time on a background thread, so that
+ * a slow command does not stop the user interface from responding in the meantime.
+ * <p>
+ * Commands always run, and their responses are always delivered, in the order they were
+ * given. A read-only command, such as {@code list} or {@code find}, that has not started yet
+ * is cancelled when another read-only command is given after it, as the user would only
+ * see its result replaced straight away; a read-only command whose responses are still being
+ * streamed stops streaming them. Commands Spark gives itself, such as listing the Tasks once
+ * they are loaded, can be queued so that they are never cancelled.
+ * <p>
+ * Spark itself can be loaded on the background thread too, as the first thing it runs; any
+ * commands given while it is loading are queued up behind it.
+ */
+public class CommandExecutor {
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    /** Completed with Spark on the background thread once it has loaded. */
+    private final CompletableFuture<Spark> loadedSpark = new CompletableFuture<>();
+    /** Only used on the background thread, after it has loaded Spark. */
+    private Spark spark;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "spark-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The latest read-only command given that has not finished yet, or null if there is none. */
+    private QueuedCommand latestReadOnlyCommand;
+    /** The stream being delivered on the background thread, or null if there is none. */
+    private ResponsePump runningPump;
+
+    public CommandExecutor(Spark spark) {
+        this(() -> spark);
+    }
+
+    /**
+     * Creates an executor that loads Spark on the background thread before running any command.
+     *
+     * @param loader loads Spark, such as by reading the save-file.
+     */
+    public CommandExecutor(Supplier<Spark> loader) {
+        executor.execute(() -> {
+            try {
+                spark = loader.get();
+                loadedSpark.complete(spark);
+            } catch (RuntimeException e) {
+                loadedSpark.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Returns a future completed with Spark, on the background thread, once it has loaded;
+     * or completed exceptionally if it could not be loaded.
+     */
+    public CompletableFuture<Spark> getSpark() {
+        return loadedSpark;
+    }
+
+    /**
+     * Queues the command given by the user to run after every command given before it.
+     *
+     * @param userInput what the user has typed in.
+     * @return          a future completed with the messages to be displayed to the user, on the
+     *                  background thread; or cancelled if the command was superseded before it ran.
+     */
+    public synchronized CompletableFuture<List<CommandResponse>> submit(String userInput) {
+        CompletableFuture<List<CommandResponse>> responses = new CompletableFuture<>();
+
+        enqueue(isReadOnly(userInput), false, () -> responses.cancel(false), () -> {
+            try {
+                responses.complete(getLoadedSpark().executeCommand(userInput));
+            } catch (RuntimeException e) {
+                responses.completeExceptionally(e);
+            }
+        });
+
+        return responses;
+    }
+
+    /**
+     * Queues the command given by the user to run after every command given before it, streaming
+     * its messages to the subscriber as it asks for them. The messages are worked out and delivered
+     * on the background thread, which runs no other command until the subscriber has received every
+     * message or cancelled its subscription; so the subscriber should keep asking for messages.
+     * <p>
+     * If the command is superseded, the subscriber is told so through {@code onError}, with a
+     * {@link CancellationException}.
+     *
+     * @param userInput  what the user has typed in.
+     * @param subscriber receives the messages to be displayed to the user.
+     */
+    public synchronized void stream(String userInput, Flow.Subscriber<? super CommandResponse> subscriber) {
+        stream(userInput, isReadOnly(userInput), subscriber);
+    }
+
+    /**
+     * Queues the command to stream its messages to the subscriber.
+     *
+     * @param canBeSuperseded whether the command supersedes, and can be superseded by, other read-only commands.
+     */
+    private void stream(String userInput, boolean canBeSuperseded,
+            Flow.Subscriber<? super CommandResponse> subscriber) {
+        ResponsePump pump = new ResponsePump(subscriber);
+
+        enqueue(canBeSuperseded, true, pump::supersede, () -> {
+            setRunningPump(pump);
+            try {
+                pump.run(getLoadedSpark().streamCommand(userInput));
+            } catch (RuntimeException e) {
+                pump.fail(e);
+            } finally {
+                setRunningPump(null);
+            }
+        });
+    }
+
+    /**
+     * Queues the command to run after every command given before it, streaming its messages to the
+     * subscriber the same way as {@link #stream(String, Flow.Subscriber)}; but the command is never
+     * superseded by a later one, even if it is read-only.
+     *
+     * @param userInput  the command to run.
+     * @param subscriber receives the messages to be displayed to the user.
+     */
+    public synchronized void streamWithoutSuperseding(String userInput,
+            Flow.Subscriber<? super CommandResponse> subscriber) {
+        stream(userInput, false, subscriber);
+    }
+
+    /**
+     * Stops accepting commands, stops streaming any messages, and waits for the commands already
+     * given to finish.
+     */
+    public void close() {
+        synchronized (this) {
+            executor.shutdown();
+            if (runningPump != null) {
+                runningPump.cancel();
+            }
+        }
+
+        try {
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues the command, superseding the latest read-only command if this one is read-only too.
+     *
+     * @param isReadOnly          whether the command supersedes, and can be superseded by, other read-only
+     *                            commands.
+     * @param canStopWhileRunning whether the command can still be superseded once it has started.
+     * @param onSuperseded        run if the command is superseded.
+     * @param command             runs the command on the background thread.
+     */
+    private void enqueue(boolean isReadOnly, boolean canStopWhileRunning, Runnable onSuperseded, Runnable command) {
+        QueuedCommand queued = new QueuedCommand(canStopWhileRunning, onSuperseded);
+
+        if (isReadOnly && latestReadOnlyCommand != null) {
+            latestReadOnlyCommand.supersede();
+        }
+        if (isReadOnly) {
+            latestReadOnlyCommand = queued;
+        }
+
+        executor.execute(() -> {
+            if (!start(queued)) {
+                return;
+            }
+
+            try {
+                command.run();
+            } finally {
+                finish(queued);
+            }
+        });
+    }
+
+    /**
+     * Returns false if the command was superseded before it could start.
+     */
+    private synchronized boolean start(QueuedCommand queued) {
+        queued.isStarted = true;
+        if ((queued.isSuperseded || !queued.canStopWhileRunning) && latestReadOnlyCommand == queued) {
+            latestReadOnlyCommand = null;
+        }
+
+        return !queued.isSuperseded;
+    }
+
+    private synchronized void finish(QueuedCommand queued) {
+        if (latestReadOnlyCommand == queued) {
+            latestReadOnlyCommand = null;
+        }
+    }
+
+    private synchronized void setRunningPump(ResponsePump pump) {
+        runningPump = pump;
+        if (pump != null && executor.isShutdown()) {
+            pump.cancel();
+        }
+    }
+
+    /**
+     * Returns Spark, once the background thread has loaded it.
+     *
+     * @throws IllegalStateException if Spark could not be loaded.
+     */
+    private Spark getLoadedSpark() {
+        if (spark == null) {
+            throw new IllegalStateException("Spark could not be loaded");
+        }
+        return spark;
+    }
+
+    private static boolean isReadOnly(String userInput) {
+        try {
+            return Parser.parseInput(userInput).isReadOnly();
+        } catch (SparkException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A command waiting for, or running on, the background thread.
+     */
+    private static class QueuedCommand {
+        private final boolean canStopWhileRunning;
+        private final Runnable onSuperseded;
+        private boolean isStarted;
+        private boolean isSuperseded;
+
+        QueuedCommand(boolean canStopWhileRunning, Runnable onSuperseded) {
+            this.canStopWhileRunning = canStopWhileRunning;
+            this.onSuperseded = onSuperseded;
+        }
+
+        void supersede() {
+            if (isStarted && !canStopWhileRunning) {
+                return;
+            }
+
+            isSuperseded = true;
+            onSuperseded.run();
+        }
+    }
+
+    /**
+     * Delivers the messages of a streamed command to its subscriber on the background thread,
+     * asking the command for more messages only as the subscriber asks for them. The subscriber
+     * may ask for messages from any thread, without waiting for a command to let go of Spark.
+     */
+    private static class ResponsePump implements Flow.Subscriber<CommandResponse>, Flow.Subscription {
+        private final Flow.Subscriber<? super CommandResponse> subscriber;
+        private Flow.Subscription source;
+        private long demand;
+        private boolean isCancelled;
+        private boolean isSuperseded;
+        private boolean isFinished;
+        private boolean isSubscribed;
+
+        ResponsePump(Flow.Subscriber<? super CommandResponse> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Streams the messages to the subscriber, returning once it has received every message,
+         * or cancelled its subscription.
+         */
+        void run(Flow.Publisher<CommandResponse> responses) {
+            responses.subscribe(this);
+
+            while (true) {
+                long n;
+
+                synchronized (this) {
+                    while (demand == 0 && !isCancelled && !isFinished) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            isCancelled = true;
+                        }
+                    }
+                    if (isFinished) {
+                        return;
+                    }
+                    if (isCancelled) {
+                        break;
+                    }
+                    n = demand;
+                    demand = 0;
+                }
+
+                source.request(n);
+            }
+
+            source.cancel();
+            if (isSuperseded) {
+                subscriber.onError(new CancellationException("Superseded by a later command"));
+            }
+        }
+
+        /**
+         * Stops streaming, telling the subscriber; if the command has not started yet, it never will.
+         */
+        synchronized void supersede() {
+            isSuperseded = true;
+            cancel();
+
+            if (source == null && !isSubscribed) {
+                // the command is not streaming yet, so it is told to stop straight away
+                isSubscribed = true;
+                isFinished = true;
+                subscriber.onSubscribe(this);
+                subscriber.onError(new CancellationException("Superseded by a later command"));
+            }
+        }
+
+        /**
+         * Tells the subscriber that the command failed before it could stream anything.
+         */
+        void fail(Throwable throwable) {
+            boolean isAlreadySubscribed;
+
+            synchronized (this) {
+                isAlreadySubscribed = isSubscribed;
+                isSubscribed = true;
+                isFinished = true;
+            }
+
+            if (!isAlreadySubscribed) {
+                subscriber.onSubscribe(this);
+            }
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (n <= 0) {
+                cancel();
+                return;
+            }
+
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            isCancelled = true;
+            if (source != null) {
+                source.cancel();
+            }
+            notifyAll();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            boolean isAlreadySubscribed;
+
+            synchronized (this) {
+                source = subscription;
+                isAlreadySubscribed = isSubscribed;
+                isSubscribed = true;
+            }
+
+            if (!isAlreadySubscribed) {
+                subscriber.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(CommandResponse response) {
+            subscriber.onNext(response);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            finish();
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+            subscriber.onComplete();
+        }
+
+        private synchronized void finish() {
+            isFinished = true;
+        }
+    }
+}
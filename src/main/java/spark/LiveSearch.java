@@ -0,0 +1,121 @@
+package spark;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import spark.commandresponse.CommandResponse;
+
+/**
+ * Shows the results of a {@code find} command while the user is still typing it.
+ * <p>
+ * Each keystroke only schedules a search after a short pause, replacing any search
+ * scheduled by an earlier keystroke that has not started yet, so a burst of typing only
+ * searches once. Searches run on a background thread, and the results of a search are
+ * dropped if the user has typed something else since. Title searches that extend the
+ * previous search-term are answered from the task list's cache of search results, so
+ * they only look through the previous results rather than every Task.
+ */
+public class LiveSearch {
+    /** The pause in typing, in milliseconds, after which a search starts, by default. */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 150;
+    /** The most matching Tasks shown, by default. */
+    public static final int DEFAULT_MAX_RESULTS = 10;
+
+    private final Supplier<Spark> spark;
+    private final long debounceMillis;
+    private final int maxResults;
+    private final ScheduledExecutorService searcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "spark-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The search scheduled by the latest keystroke, or null if there is none. */
+    private ScheduledFuture<?> scheduledSearch;
+    /** Counts the searches asked for, so only the results of the latest one are shown. */
+    private long latestSearch;
+
+    /**
+     * Creates a live search with the default pause and number of results.
+     *
+     * @param spark returns Spark, or null if it has not loaded yet.
+     */
+    public LiveSearch(Supplier<Spark> spark) {
+        this(spark, DEFAULT_DEBOUNCE_MILLIS, DEFAULT_MAX_RESULTS);
+    }
+
+    /**
+     * Creates a live search.
+     *
+     * @param spark          returns Spark, or null if it has not loaded yet.
+     * @param debounceMillis the pause in typing, in milliseconds, after which a search starts.
+     * @param maxResults     the most matching Tasks shown.
+     */
+    public LiveSearch(Supplier<Spark> spark, long debounceMillis, int maxResults) {
+        this.spark = spark;
+        this.debounceMillis = debounceMillis;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Schedules a search for what the user has typed so far, replacing any earlier search.
+     *
+     * @param userInput what the user has typed in so far, such as "find mil".
+     * @param onResults receives a preview of the matching Tasks on the background thread,
+     *                  unless the input is not a complete {@code find} command yet.
+     */
+    public synchronized void search(String userInput, Consumer<CommandResponse> onResults) {
+        long search = startNextSearch();
+
+        scheduledSearch = searcher.schedule(() -> run(search, userInput, onResults),
+                debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drops any search that has not finished yet, so its results are never shown.
+     */
+    public synchronized void cancel() {
+        startNextSearch();
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    public void close() {
+        cancel();
+        searcher.shutdownNow();
+    }
+
+    private void run(long search, String userInput, Consumer<CommandResponse> onResults) {
+        Spark loadedSpark = spark.get();
+
+        if (loadedSpark == null || isStale(search)) {
+            return;
+        }
+
+        CommandResponse preview = loadedSpark.previewFind(userInput, maxResults);
+
+        if (preview != null && !isStale(search)) {
+            onResults.accept(preview);
+        }
+    }
+
+    /**
+     * Drops the search scheduled by the previous keystroke, and returns the number of the next search.
+     */
+    private synchronized long startNextSearch() {
+        if (scheduledSearch != null) {
+            scheduledSearch.cancel(false);
+            scheduledSearch = null;
+        }
+
+        return ++latestSearch;
+    }
+
+    private synchronized boolean isStale(long search) {
+        return search != latestSearch;
+    }
+}
@@ -1,8 +1,10 @@
 package spark;
 
 import java.io.IOException;
+import java.util.logging.Logger;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -11,13 +13,23 @@ import spark.ui.MainWindow;
 
 /**
  * A GUI for Duke implemented with FXML.
+ * <p>
+ * The window is shown before the save-file is read: Spark is loaded on the background thread
+ * that runs commands, showing its progress, and commands given in the meantime run once it has
+ * loaded. How long each stage of starting up took is logged.
  */
 public class Main extends Application {
+    private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+    private static final double NANOS_PER_MILLI = 1e6;
 
-    private Spark spark = new Spark();
+    private CommandExecutor commandExecutor;
+    private LiveSearch liveSearch;
+    private long startTime;
 
     @Override
     public void start(Stage stage) {
+        startTime = System.nanoTime();
+
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
@@ -27,10 +39,49 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setTitle("Spark");
 
-            fxmlLoader.<MainWindow>getController().setSpark(spark);
+            MainWindow mainWindow = fxmlLoader.<MainWindow>getController();
+            commandExecutor = new CommandExecutor(() -> loadSpark(mainWindow));
+            commandExecutor.getSpark().thenAccept(spark -> {
+                spark.watchSaveFile(responses -> Platform.runLater(() -> mainWindow.showCommandResponses(responses)));
+                spark.startReminders(responses -> Platform.runLater(() -> mainWindow.showCommandResponses(responses)));
+            });
+            liveSearch = new LiveSearch(() -> commandExecutor.getSpark().getNow(null));
+            mainWindow.setLiveSearch(liveSearch);
+            mainWindow.setCommandExecutor(commandExecutor, () -> logStartupPhase("initial list shown"));
             stage.show();
+            logStartupPhase("window shown");
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (commandExecutor == null) {
+            return;
+        }
+
+        liveSearch.close();
+        commandExecutor.close();
+        Spark spark = commandExecutor.getSpark().getNow(null);
+        if (spark != null) {
+            spark.close();
+        }
+    }
+
+    /**
+     * Reads the save-file into a new instance of Spark, showing progress on the main window.
+     */
+    private Spark loadSpark(MainWindow mainWindow) {
+        logStartupPhase("loading save-file");
+        Spark spark = new Spark(progress -> Platform.runLater(() -> mainWindow.showLoadingProgress(progress)));
+        logStartupPhase(String.format("save-file loaded (%,d tasks)", spark.getNumberOfTasks()));
+
+        return spark;
+    }
+
+    private void logStartupPhase(String phase) {
+        double elapsedMillis = (System.nanoTime() - startTime) / NANOS_PER_MILLI;
+        LOGGER.info(String.format("Startup: %s after %.1f ms", phase, elapsedMillis));
+    }
 }
@@ -1,34 +1,89 @@
 package spark;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import spark.commandresponse.CommandResponse;
 import spark.commandresponse.ErrorResponse;
+import spark.commandresponse.ResponsePublisher;
+import spark.commandresponse.SuccessResponse;
+import spark.commandresponse.WarningResponse;
 import spark.exceptions.SparkException;
-import spark.exceptions.fileexceptions.FileException;
-import spark.exceptions.fileexceptions.TaskDecodingException;
 import spark.parser.Parser;
 import spark.parser.commands.commandtypes.Command;
-import spark.storage.Storage;
-import spark.tasks.TaskList;
+import spark.parser.commands.commandtypes.FindTaskCommand;
+import spark.parser.commands.commandtypes.WorkspaceCommand;
+import spark.reminders.ReminderScheduler;
+import spark.storage.SaveFileChange;
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
+import spark.workspaces.Workspace;
+import spark.workspaces.Workspaces;
 
 public class Spark {
     private static final String DEFAULT_FILE_PATH_STRING = "spark_save_file.txt";
-    private TaskList taskList;
-    private Storage storage;
+    /** The most Tasks listed in a single reminder; any more are only counted. */
+    private static final int MAX_TASKS_PER_REMINDER = 10;
+    /** The user's named task lists; commands act on the one currently in use. */
+    private Workspaces workspaces;
+    /** Reminds the user of upcoming Tasks in the workspace in use. */
+    private ReminderScheduler reminderScheduler = new ReminderScheduler();
 
     /**
      * Starts an instance of Spark that stores saved Tasks in
      * the default relative file-path on the user's hard-disk.
      */
     public Spark() {
-        try {
-            this.storage = new Storage(DEFAULT_FILE_PATH_STRING);
-            this.taskList = new TaskList(storage.readTasksFile());
-        } catch (FileException | TaskDecodingException e) {
-            this.taskList = new TaskList();
-        }
+        this(DEFAULT_FILE_PATH_STRING);
+    }
+
+    /**
+     * Starts an instance of Spark that stores saved Tasks in
+     * the specified relative file-path on the user's hard-disk.
+     * Other workspaces are stored in save-files next to it.
+     *
+     * @param filePathString the relative file-path of the save-file.
+     */
+    public Spark(String filePathString) {
+        this(filePathString, progress -> { });
+    }
+
+    /**
+     * Starts an instance of Spark that stores saved Tasks in the default relative file-path
+     * on the user's hard-disk, reporting how far through the save-file it has got while reading it.
+     *
+     * @param onLoadProgress receives the fraction of the save-file read so far, from 0 to 1.
+     */
+    public Spark(DoubleConsumer onLoadProgress) {
+        this(DEFAULT_FILE_PATH_STRING, onLoadProgress);
+    }
+
+    /**
+     * Starts an instance of Spark that stores saved Tasks in the specified relative file-path
+     * on the user's hard-disk, reporting how far through the save-file it has got while reading it.
+     * Other workspaces are stored in save-files next to it.
+     *
+     * @param filePathString the relative file-path of the save-file.
+     * @param onLoadProgress receives the fraction of the save-file read so far, from 0 to 1.
+     */
+    public Spark(String filePathString, DoubleConsumer onLoadProgress) {
+        this.workspaces = new Workspaces(filePathString, Workspaces.DEFAULT_CAPACITY, onLoadProgress);
+        reminderScheduler.watch(workspaces.getCurrent().getTaskList());
+    }
+
+    /**
+     * Returns the number of Tasks in the workspace in use.
+     */
+    public synchronized int getNumberOfTasks() {
+        return workspaces.getCurrent().getTaskList().getNumberOfTasks();
     }
 
     /**
@@ -39,16 +94,238 @@ public class Spark {
      * @return          a list of messages to be displayed to the user on
      *                  the GUI
      */
-    public List<CommandResponse> executeCommand(String userInput) {
+    public synchronized List<CommandResponse> executeCommand(String userInput) {
+        List<CommandResponse> responses = new ArrayList<>();
+
+        try {
+            execute(Parser.parseInput(userInput), responses);
+        } catch (SparkException e) {
+            responses.add(new ErrorResponse(e));
+        }
+
+        responses.addAll(getDueReminders());
+        return responses;
+    }
+
+    /**
+     * Executes the command given by the user, and returns a publisher of the messages to be
+     * displayed to the user, so they can be shown as they become ready. Commands that only show
+     * the user something, such as {@code list} or {@code find}, work out each message when the
+     * subscriber asks for it, while no other command can change the task list; any other command
+     * is executed in full before this returns.
+     *
+     * @param userInput what the user has typed in
+     * @return          a publisher of the messages to be displayed to the user, which can only be
+     *                  subscribed to once
+     */
+    public synchronized Flow.Publisher<CommandResponse> streamCommand(String userInput) {
         List<CommandResponse> responses = new ArrayList<>();
+        Command command;
+
+        try {
+            command = Parser.parseInput(userInput);
+        } catch (SparkException e) {
+            responses.add(new ErrorResponse(e));
+            responses.addAll(getDueReminders());
+            return ResponsePublisher.of(responses);
+        }
+
+        if (!command.isReadOnly() || command instanceof WorkspaceCommand) {
+            execute(command, responses);
+            responses.addAll(getDueReminders());
+            return ResponsePublisher.of(responses);
+        }
+
+        Workspace workspace = workspaces.getCurrent();
+        Iterator<CommandResponse> results = command.executeLazily(workspace.getTaskList(), workspace.getStorage());
+        List<CommandResponse> reminders = getDueReminders();
+
+        // concatenated streams hand out the results one at a time, rather than all at once
+        Stream<CommandResponse> lazyResults = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED), false);
+        Iterator<CommandResponse> allResponses = Stream.concat(Stream.concat(responses.stream(), lazyResults),
+                reminders.stream()).iterator();
+        return new ResponsePublisher(allResponses, this);
+    }
+
+    /**
+     * Returns a preview of the Tasks a {@code find} command would find in the workspace in use,
+     * without running it, for showing while the user is still typing it.
+     *
+     * @param userInput  what the user has typed in so far.
+     * @param maxResults the most Tasks shown.
+     * @return           the preview, or null if the input is not a complete {@code find} command yet.
+     */
+    public synchronized CommandResponse previewFind(String userInput, int maxResults) {
+        Command command;
+
+        try {
+            command = Parser.parseInput(userInput);
+        } catch (SparkException e) {
+            return null;
+        }
+
+        if (!(command instanceof FindTaskCommand)) {
+            return null;
+        }
+
+        return ((FindTaskCommand) command).preview(workspaces.getCurrent().getTaskList(), maxResults);
+    }
+
+    /**
+     * Starts checking for upcoming Tasks in the workspace in use once a minute, on a background
+     * thread, instead of only whenever a command is executed.
+     *
+     * @param onReminders receives the reminders that became due, on a background thread.
+     */
+    public synchronized void startReminders(Consumer<List<CommandResponse>> onReminders) {
+        reminderScheduler.start(() -> {
+            List<CommandResponse> reminders = getDueReminders();
+            if (!reminders.isEmpty()) {
+                onReminders.accept(reminders);
+            }
+        });
+    }
+
+    /**
+     * Starts watching the save-file of the workspace in use for changes made by other programs,
+     * such as tools that append Tasks to it, and merges them into the task list as they happen.
+     * Only text save-files are watched; whenever the user switches to another workspace, its
+     * save-file is watched instead.
+     *
+     * @param onExternalChange receives messages describing each change, on a background thread.
+     * @return                 true if the save-file is being watched.
+     */
+    public synchronized boolean watchSaveFile(Consumer<List<CommandResponse>> onExternalChange) {
+        return workspaces.watchCurrent(() -> {
+            List<CommandResponse> responses = mergeExternalChanges();
+            if (!responses.isEmpty()) {
+                onExternalChange.accept(responses);
+            }
+        });
+    }
+
+    /**
+     * Stops watching the save-file for changes made by other programs. Changes are still
+     * merged into the task list before each command that changes it.
+     */
+    public synchronized void stopWatchingSaveFile() {
+        workspaces.stopWatching();
+    }
+
+    /**
+     * Stops watching the save-file, and flushes every workspace in memory to its save-file.
+     */
+    public synchronized void close() {
+        stopWatchingSaveFile();
+        reminderScheduler.close();
+
+        try {
+            workspaces.closeAll();
+        } catch (SparkException e) {
+            // Spark is exiting, so there is no one left to tell
+        }
+    }
+
+    /**
+     * Executes the command on the workspace in use, adding its messages to the responses, and
+     * keeps the reminders on the workspace in use afterwards.
+     */
+    private void execute(Command command, List<CommandResponse> responses) {
+        Workspace workspace = workspaces.getCurrent();
+
+        if (command instanceof WorkspaceCommand) {
+            responses.addAll(((WorkspaceCommand) command).execute(workspaces));
+        } else if (command.isReadOnly()) {
+            responses.addAll(command.execute(workspace.getTaskList(), workspace.getStorage()));
+        } else {
+            executeWithSaveFileLocked(command, workspace, responses);
+        }
+
+        if (workspaces.getCurrent() == workspace) {
+            return;
+        }
+
+        // the workspace switched to may have been changed by other programs while it was not in use
+        reminderScheduler.watch(workspaces.getCurrent().getTaskList());
+        responses.addAll(mergeExternalChanges());
+    }
+
+    /**
+     * Executes a command that changes the task list while no other copy of Spark can write the
+     * save-file, after merging in any changes saved since it was last read, so the command's
+     * changes are saved on top of them instead of over them.
+     */
+    private void executeWithSaveFileLocked(Command command, Workspace workspace, List<CommandResponse> responses) {
+        try {
+            workspace.changeWithSaveFileLocked(externalChange -> {
+                responses.addAll(describeExternalChange(externalChange));
+                responses.addAll(command.execute(workspace.getTaskList(), workspace.getStorage()));
+            });
+        } catch (SparkException e) {
+            responses.add(new ErrorResponse(e));
+        }
+    }
 
+    /**
+     * Merges changes other programs have saved to the save-file of the workspace in use into its task list.
+     */
+    private synchronized List<CommandResponse> mergeExternalChanges() {
         try {
-            Command command = Parser.parseInput(userInput);
-            responses.addAll(command.execute(taskList, storage));
+            return describeExternalChange(workspaces.getCurrent().mergeExternalChanges());
         } catch (SparkException e) {
+            List<CommandResponse> responses = new ArrayList<>();
             responses.add(new ErrorResponse(e));
+            return responses;
+        }
+    }
+
+    /**
+     * Returns messages telling the user how the save-file was changed by other programs, if it was.
+     */
+    private static List<CommandResponse> describeExternalChange(SaveFileChange change) {
+        List<CommandResponse> responses = new ArrayList<>();
+
+        if (change.isAppend() && change.getNumberOfTasksAdded() > 0) {
+            responses.add(new SuccessResponse(String.format(
+                    "Looks like another app added %d tasks to your save-file, so I've added them to your list",
+                    change.getNumberOfTasksAdded())));
+        } else if (!change.isAppend() && change.hasChanges()) {
+            responses.add(new SuccessResponse(String.format(
+                    "Looks like another app changed your save-file, so I've updated your list to match"
+                            + " (%d tasks removed, %d tasks added)",
+                    change.getNumberOfTasksRemoved(), change.getNumberOfTasksAdded())));
+        }
+
+        if (change.getNumberOfSkippedLines() > 0) {
+            responses.add(new WarningResponse(String.format(
+                    "I couldn't understand %d lines in your save-file, so I've left them out of your list",
+                    change.getNumberOfSkippedLines())));
+        }
+
+        return responses;
+    }
+
+    /**
+     * Returns a reminder listing the Tasks that are coming up soon, if there are any.
+     */
+    private synchronized List<CommandResponse> getDueReminders() {
+        List<CommandResponse> responses = new ArrayList<>();
+        List<Task> dueTasks = reminderScheduler.pollDueReminders();
+
+        if (dueTasks.isEmpty()) {
+            return responses;
+        }
+
+        StringBuilder message = new StringBuilder("Don't forget, these tasks are coming up soon:");
+        for (Task t : dueTasks.subList(0, Math.min(dueTasks.size(), MAX_TASKS_PER_REMINDER))) {
+            message.append(t.getTaskType() == TaskType.EVENT ? "\n   starting: " : "\n   due: ").append(t);
+        }
+        if (dueTasks.size() > MAX_TASKS_PER_REMINDER) {
+            message.append(String.format("\n   ...and %d more", dueTasks.size() - MAX_TASKS_PER_REMINDER));
         }
 
+        responses.add(new WarningResponse(message.toString()));
         return responses;
     }
 }
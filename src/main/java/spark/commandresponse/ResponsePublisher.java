@@ -0,0 +1,145 @@
+package spark.commandresponse;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes the responses to a command one at a time, only producing each response
+ * once the subscriber has asked for it, so a subscriber can show the first responses
+ * before the rest have been produced, and stop early by cancelling its subscription.
+ * <p>
+ * Responses are taken from an iterator, which may work out each response as it is asked
+ * for. Responses are delivered on the thread that asks for them, while holding a lock,
+ * such as the instance of Spark, so they are never worked out while a command is changing
+ * the task list. The responses can only be streamed once; any later subscriber is told so
+ * through {@code onError}.
+ */
+public class ResponsePublisher implements Flow.Publisher<CommandResponse> {
+    private final Iterator<CommandResponse> responses;
+    private final Object lock;
+    private boolean isSubscribed;
+
+    /**
+     * Creates a publisher of the responses, which are worked out while holding a lock on the publisher.
+     */
+    public ResponsePublisher(Iterator<CommandResponse> responses) {
+        this(responses, null);
+    }
+
+    /**
+     * Creates a publisher of the responses, which are worked out while holding the lock.
+     *
+     * @param lock the object to synchronize on while working out each response, or null to use the publisher.
+     */
+    public ResponsePublisher(Iterator<CommandResponse> responses, Object lock) {
+        this.responses = responses;
+        this.lock = lock != null ? lock : this;
+    }
+
+    /**
+     * Creates a publisher of responses that have already been worked out.
+     */
+    public static ResponsePublisher of(List<CommandResponse> responses) {
+        return new ResponsePublisher(responses.iterator());
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super CommandResponse> subscriber) {
+        Objects.requireNonNull(subscriber);
+        boolean isFirstSubscriber;
+
+        synchronized (this) {
+            isFirstSubscriber = !isSubscribed;
+            isSubscribed = true;
+        }
+
+        if (isFirstSubscriber) {
+            subscriber.onSubscribe(new ResponseSubscription(subscriber, responses));
+        } else {
+            subscriber.onSubscribe(new ResponseSubscription(subscriber, Collections.emptyIterator()));
+            subscriber.onError(new IllegalStateException("The responses have already been streamed"));
+        }
+    }
+
+    /**
+     * Hands responses to a subscriber as it asks for them. A subscriber asking for more
+     * responses from within {@code onNext} is served by the loop already delivering them,
+     * rather than by a nested call.
+     */
+    private class ResponseSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super CommandResponse> subscriber;
+        private final Iterator<CommandResponse> responses;
+        private long demand;
+        private boolean isDelivering;
+        private boolean isFinished;
+        private volatile boolean isCancelled;
+
+        ResponseSubscription(Flow.Subscriber<? super CommandResponse> subscriber,
+                Iterator<CommandResponse> responses) {
+            this.subscriber = subscriber;
+            this.responses = responses;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Must ask for a positive number of responses"));
+                return;
+            }
+
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                if (isDelivering || isFinished) {
+                    return;
+                }
+                isDelivering = true;
+            }
+
+            deliver();
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        private void deliver() {
+            while (true) {
+                synchronized (this) {
+                    if (isCancelled || demand == 0) {
+                        isDelivering = false;
+                        return;
+                    }
+                    demand--;
+                }
+
+                CommandResponse response;
+                try {
+                    synchronized (lock) {
+                        response = responses.hasNext() ? responses.next() : null;
+                    }
+                } catch (RuntimeException e) {
+                    finish();
+                    subscriber.onError(e);
+                    return;
+                }
+
+                if (response == null) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+
+                subscriber.onNext(response);
+            }
+        }
+
+        private synchronized void finish() {
+            isFinished = true;
+        }
+    }
+}
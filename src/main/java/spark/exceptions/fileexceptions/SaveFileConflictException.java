@@ -0,0 +1,11 @@
+package spark.exceptions.fileexceptions;
+
+/**
+ * This is an exception that is thrown when the save-file was saved by another copy
+ * of Spark since it was last read, so saving over it would lose that copy's changes.
+ */
+public class SaveFileConflictException extends FileException {
+    public SaveFileConflictException() {
+        super("Save-File was changed by another copy of Spark, so I haven't saved over it!");
+    }
+}
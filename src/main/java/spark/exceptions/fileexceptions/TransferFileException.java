@@ -0,0 +1,13 @@
+package spark.exceptions.fileexceptions;
+
+import spark.exceptions.SparkException;
+
+/**
+ * This is an exception that is thrown when Tasks could not be exported to,
+ * or imported from, a file on the user's hard disk.
+ */
+public class TransferFileException extends SparkException {
+    public TransferFileException(String filePath) {
+        super(String.format("Could not read from or write to %s! Does the file, or its folder, exist?", filePath));
+    }
+}
@@ -12,7 +12,8 @@ public class InvalidDeadlineParamsException extends FormatException {
     public InvalidDeadlineParamsException() {
         super(String.format("%s\n%s\n%s",
                 "Seems like you added an invalid Deadline!",
-                        "    correct-format: \"deadline <TASK TITLE> /by <MM-DD-YYYY HHMM>\"",
+                        "    correct-format: \"deadline <TASK TITLE> /by <MM-DD-YYYY HHMM>"
+                                + " [/every day|week|month|year]\"",
                         "        example: deadline buy milk /by 02-22-2022 1800"));
     }
 }
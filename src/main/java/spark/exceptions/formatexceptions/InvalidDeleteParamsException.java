@@ -0,0 +1,19 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when a user fails to input
+ * the integers, ranges or filter that would identify the Tasks to be deleted;
+ * such as inputting an alphabet instead of an integer.
+ */
+public class InvalidDeleteParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidDeleteParamsException() {
+        super(String.format("%s\n%s\n%s",
+                "Seems like you gave me an invalid delete task command!",
+                "    correct format: \"delete <TASK_ID | FIRST-LAST, ... | done | pending | find:QUERY>\"",
+                "    example: delete 2, delete 1-3,7, delete done"));
+    }
+}
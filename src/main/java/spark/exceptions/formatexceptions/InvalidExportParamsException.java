@@ -0,0 +1,18 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when the user
+ * attempts to export Tasks without a file or with an unknown format.
+ */
+public class InvalidExportParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidExportParamsException() {
+        super(String.format("%s\n%s\n%s",
+                "Seems like you gave me an invalid export command!",
+                "    correct format: \"export <FILE> [csv | jsonl]\"",
+                "        example: export tasks.jsonl"));
+    }
+}
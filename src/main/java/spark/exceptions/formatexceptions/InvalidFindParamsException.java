@@ -0,0 +1,21 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when the user
+ * attempts to find Tasks with a query that cannot be understood.
+ */
+public class InvalidFindParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidFindParamsException() {
+        super(String.format("%s\n%s\n%s\n%s",
+                "Seems like you gave me a search I couldn't understand!",
+                "    correct format: \"find <WORDS | \"PHRASE\" | ~WORD | type:<todo|deadline|event> | done:<true|false>"
+                        + " | before:<MM-DD-YYYY>"
+                        + " | after:<MM-DD-YYYY>> [OR ...]\"",
+                "        example: find type:deadline done:false before:3-1-2022 \"clean room\" OR milk",
+                "        example: find buy milk"));
+    }
+}
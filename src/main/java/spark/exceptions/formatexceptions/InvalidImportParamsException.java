@@ -0,0 +1,18 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when the user
+ * attempts to import Tasks without saying which file to import.
+ */
+public class InvalidImportParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidImportParamsException() {
+        super(String.format("%s\n%s\n%s",
+                "Seems like you didn't tell me which file to import!",
+                "    correct format: \"import <FILE>\"",
+                "        example: import tasks.csv"));
+    }
+}
@@ -0,0 +1,18 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when the user
+ * attempts to list Tasks with options that cannot be understood.
+ */
+public class InvalidListParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidListParamsException() {
+        super(String.format("%s\n%s\n%s",
+                "Seems like you gave me an invalid list command!",
+                "    correct format: \"list [done | pending] [sort:date | sort:title | sort:status]\"",
+                "        example: list pending sort:date"));
+    }
+}
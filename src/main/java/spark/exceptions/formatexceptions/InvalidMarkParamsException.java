@@ -2,7 +2,7 @@ package spark.exceptions.formatexceptions;
 
 /**
  * This is an exception thrown when a user fails to input
- * an integer that would identify the Task to be marked as complete;
+ * the integers, ranges or filter that would identify the Tasks to be marked as complete;
  * such as inputting an alphabet instead of an integer.
  */
 public class InvalidMarkParamsException extends FormatException {
@@ -13,7 +13,7 @@ public class InvalidMarkParamsException extends FormatException {
     public InvalidMarkParamsException() {
         super(String.format("%s\n%s\n%s",
                 "Seems like you gave me an invalid mark task command!",
-                "    correct format: \"mark <TASK_ID>\"",
-                "    example: mark 2"));
+                "    correct format: \"mark <TASK_ID | FIRST-LAST, ... | done | pending | find:QUERY>\"",
+                "    example: mark 2, mark 1-3,7, mark find:homework"));
     }
 }
@@ -0,0 +1,18 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when the user
+ * attempts to sync Tasks without saying which save-file to sync with.
+ */
+public class InvalidSyncParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidSyncParamsException() {
+        super(String.format("%s\n%s\n%s",
+                "Seems like you didn't tell me which save-file to sync with!",
+                "    correct format: \"sync <FILE>\"",
+                "        example: sync shared/spark_save_file.txt"));
+    }
+}
@@ -2,7 +2,7 @@ package spark.exceptions.formatexceptions;
 
 /**
  * This is an exception thrown when a user fails to input
- * an integer that would identify the Task to be marked as incomplete;
+ * the integers, ranges or filter that would identify the Tasks to be marked as incomplete;
  * such as inputting an alphabet instead of an integer.
  */
 public class InvalidUnmarkParamsException extends FormatException {
@@ -13,7 +13,7 @@ public class InvalidUnmarkParamsException extends FormatException {
     public InvalidUnmarkParamsException() {
         super(String.format("%s\n%s\n%s",
                 "Seems like you gave me an invalid unmark task command!",
-                "    correct format: \"unmark <TASK_ID>\"",
-                "    example: unmark 2"));
+                "    correct format: \"unmark <TASK_ID | FIRST-LAST, ... | done | pending | find:QUERY>\"",
+                "    example: unmark 2, unmark 1-3,7, unmark find:homework"));
     }
 }
@@ -0,0 +1,18 @@
+package spark.exceptions.formatexceptions;
+
+/**
+ * This is an exception thrown when the user
+ * attempts to switch to a workspace without a valid name.
+ */
+public class InvalidUseParamsException extends FormatException {
+    /**
+     * Creates an Exception containing the
+     * error message to be displayed to the user on the GUI.
+     */
+    public InvalidUseParamsException() {
+        super(String.format("%s\n%s\n%s",
+                "Seems like you gave me an invalid name for a list! (only letters, digits, - and _ please)",
+                "    correct format: \"use <NAME>\"",
+                "        example: use work"));
+    }
+}
@@ -3,14 +3,23 @@ package spark.parser;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import spark.exceptions.SparkException;
 import spark.exceptions.formatexceptions.EmptyKeywordException;
 import spark.exceptions.formatexceptions.InvalidDeadlineParamsException;
+import spark.exceptions.formatexceptions.InvalidDeleteParamsException;
 import spark.exceptions.formatexceptions.InvalidEventParamsException;
+import spark.exceptions.formatexceptions.InvalidExportParamsException;
+import spark.exceptions.formatexceptions.InvalidFindParamsException;
+import spark.exceptions.formatexceptions.InvalidImportParamsException;
+import spark.exceptions.formatexceptions.InvalidListParamsException;
 import spark.exceptions.formatexceptions.InvalidMarkParamsException;
+import spark.exceptions.formatexceptions.InvalidSyncParamsException;
 import spark.exceptions.formatexceptions.InvalidTodoParamsException;
 import spark.exceptions.formatexceptions.InvalidUnmarkParamsException;
+import spark.exceptions.formatexceptions.InvalidUseParamsException;
 import spark.parser.commands.CommandKeyword;
 import spark.parser.commands.commandtypes.AddDeadlineCommand;
 import spark.parser.commands.commandtypes.AddEventCommand;
@@ -18,14 +27,33 @@ import spark.parser.commands.commandtypes.AddTodoCommand;
 import spark.parser.commands.commandtypes.Command;
 import spark.parser.commands.commandtypes.DeleteTaskCommand;
 import spark.parser.commands.commandtypes.ExitCommand;
+import spark.parser.commands.commandtypes.ExportCommand;
 import spark.parser.commands.commandtypes.FindTaskCommand;
+import spark.parser.commands.commandtypes.ImportCommand;
 import spark.parser.commands.commandtypes.ListCommand;
+import spark.parser.commands.commandtypes.ListWorkspacesCommand;
 import spark.parser.commands.commandtypes.MarkCommand;
+import spark.parser.commands.commandtypes.StatsCommand;
+import spark.parser.commands.commandtypes.SummaryCommand;
+import spark.parser.commands.commandtypes.SyncCommand;
 import spark.parser.commands.commandtypes.UnMarkCommand;
 import spark.parser.commands.commandtypes.UnrecognisedCommand;
+import spark.parser.commands.commandtypes.UseCommand;
 import spark.parser.params.AddDeadlineParams;
 import spark.parser.params.AddEventParams;
 import spark.parser.params.AddTodoParams;
+import spark.parser.params.ListParams;
+import spark.parser.params.SyncParams;
+import spark.parser.params.TaskSelection;
+import spark.parser.params.TransferParams;
+import spark.parser.params.UseParams;
+import spark.parser.query.QueryParser;
+import spark.parser.query.TaskQuery;
+import spark.storage.transfer.TransferFormat;
+import spark.tasks.TaskOrder;
+import spark.tasks.TitlePool;
+import spark.tasks.tasktypes.Recurrence;
+import spark.workspaces.Workspaces;
 
 /**
  * Holds methods for interpreting user's input.
@@ -33,6 +61,12 @@ import spark.parser.params.AddTodoParams;
 public class Parser {
     /** Specifies the accepted input-format for dates and times */
     private static final DateTimeFormatter INPUT_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("M-d-yyyy Hmm");
+    /** Precedes a find query selecting the Tasks that a mark, unmark or delete command acts on */
+    private static final String FIND_SELECTION_PREFIX = "find:";
+    /** Precedes the order a list command should list Tasks in */
+    private static final String SORT_PREFIX = "sort:";
+    /** Follows the date of a deadline or event that repeats, and precedes how often it repeats */
+    private static final String RECURRENCE_SEPARATOR = "/every";
 
     /**
      * Returns a Command specific to the type of operation
@@ -50,7 +84,7 @@ public class Parser {
         case BYE:
             return new ExitCommand();
         case LIST:
-            return new ListCommand();
+            return new ListCommand(getListParams(input, keyword));
         case MARK:
             return new MarkCommand(getMarkParams(input, keyword));
         case UNMARK:
@@ -65,36 +99,73 @@ public class Parser {
             return new AddEventCommand(getAddEventParams(input, keyword));
         case FIND:
             return new FindTaskCommand(getFindTaskParams(input, keyword));
+        case EXPORT:
+            return new ExportCommand(getExportParams(input, keyword));
+        case IMPORT:
+            return new ImportCommand(getImportParams(input, keyword));
+        case SYNC:
+            return new SyncCommand(getSyncParams(input, keyword));
+        case USE:
+            return new UseCommand(getUseParams(input, keyword));
+        case LISTS:
+            return new ListWorkspacesCommand();
+        case SUMMARY:
+            return new SummaryCommand();
+        case STATS:
+            return new StatsCommand();
         default:
             return new UnrecognisedCommand();
         }
     }
 
-    private static int getMarkParams(String input, CommandKeyword keyword) throws InvalidMarkParamsException {
+    private static ListParams getListParams(String input, CommandKeyword keyword) throws InvalidListParamsException {
+        String params = removeCommandKeyword(input, keyword);
+        ListParams.Filter filter = null;
+        TaskOrder order = null;
+
+        for (String param : params.isEmpty() ? new String[0] : params.split(" +")) {
+            if (filter == null && param.equals("done")) {
+                filter = ListParams.Filter.DONE;
+            } else if (filter == null && param.equals("pending")) {
+                filter = ListParams.Filter.PENDING;
+            } else if (order == null && param.startsWith(SORT_PREFIX)) {
+                order = TaskOrder.fromName(param.substring(SORT_PREFIX.length()));
+                if (order == null) {
+                    throw new InvalidListParamsException();
+                }
+            } else {
+                throw new InvalidListParamsException();
+            }
+        }
+
+        return new ListParams(filter == null ? ListParams.Filter.ALL : filter, order);
+    }
+
+    private static TaskSelection getMarkParams(String input, CommandKeyword keyword)
+            throws InvalidMarkParamsException, InvalidFindParamsException {
         String params = removeCommandKeyword(input, keyword);
 
         try {
-            int taskIndex = Integer.parseInt(params);
-            return taskIndex;
-        } catch (NumberFormatException e) {
+            return getTaskSelection(params);
+        } catch (IllegalArgumentException e) {
             throw new InvalidMarkParamsException();
         }
     }
 
-    private static int getUnmarkParams(String input, CommandKeyword keyword) throws InvalidUnmarkParamsException {
+    private static TaskSelection getUnmarkParams(String input, CommandKeyword keyword)
+            throws InvalidUnmarkParamsException, InvalidFindParamsException {
         String params = removeCommandKeyword(input, keyword);
 
         try {
-            int taskIndex = Integer.parseInt(params);
-            return taskIndex;
-        } catch (NumberFormatException e) {
+            return getTaskSelection(params);
+        } catch (IllegalArgumentException e) {
             throw new InvalidUnmarkParamsException();
         }
     }
 
     private static AddTodoParams getAddToDoParams(String input, CommandKeyword keyword) throws
             InvalidTodoParamsException {
-        String title = removeCommandKeyword(input, keyword).trim();
+        String title = TitlePool.getDefault().intern(removeCommandKeyword(input, keyword).trim());
 
         if (title.isBlank()) {
             throw new InvalidTodoParamsException();
@@ -112,9 +183,11 @@ public class Parser {
             throw new InvalidDeadlineParamsException();
         }
 
-        String title = nameAndDate[0].trim();
-        String dateTimeString = nameAndDate[1].trim();
+        String title = TitlePool.getDefault().intern(nameAndDate[0].trim());
+        String[] dateAndRecurrence = nameAndDate[1].split(RECURRENCE_SEPARATOR, -1);
+        String dateTimeString = dateAndRecurrence[0].trim();
         LocalDateTime localDateTime;
+        Recurrence recurrence = null;
 
         try {
             localDateTime = LocalDateTime.parse(dateTimeString, INPUT_DATE_TIME_FORMATTER);
@@ -122,11 +195,18 @@ public class Parser {
             throw new InvalidDeadlineParamsException();
         }
 
+        if (dateAndRecurrence.length > 1) {
+            recurrence = dateAndRecurrence.length == 2 ? Recurrence.fromName(dateAndRecurrence[1].trim()) : null;
+            if (recurrence == null) {
+                throw new InvalidDeadlineParamsException();
+            }
+        }
+
         if (title.isBlank()) {
             throw new InvalidDeadlineParamsException();
         }
 
-        return new AddDeadlineParams(title, localDateTime);
+        return new AddDeadlineParams(title, localDateTime, recurrence);
     }
 
     private static AddEventParams getAddEventParams(String input, CommandKeyword keyword)
@@ -138,9 +218,11 @@ public class Parser {
             throw new InvalidEventParamsException();
         }
 
-        String title = nameAndDate[0].trim();
-        String dateTimeString = nameAndDate[1].trim();
+        String title = TitlePool.getDefault().intern(nameAndDate[0].trim());
+        String[] dateAndRecurrence = nameAndDate[1].split(RECURRENCE_SEPARATOR, -1);
+        String dateTimeString = dateAndRecurrence[0].trim();
         LocalDateTime localDateTime;
+        Recurrence recurrence = null;
 
         try {
             localDateTime = LocalDateTime.parse(dateTimeString, INPUT_DATE_TIME_FORMATTER);
@@ -148,28 +230,137 @@ public class Parser {
             throw new InvalidEventParamsException();
         }
 
+        if (dateAndRecurrence.length > 1) {
+            recurrence = dateAndRecurrence.length == 2 ? Recurrence.fromName(dateAndRecurrence[1].trim()) : null;
+            if (recurrence == null) {
+                throw new InvalidEventParamsException();
+            }
+        }
+
         if (title.isBlank()) {
             throw new InvalidEventParamsException();
         }
 
-        return new AddEventParams(title, localDateTime);
+        return new AddEventParams(title, localDateTime, recurrence);
     }
 
-    private static String getFindTaskParams(String input, CommandKeyword keyword) throws EmptyKeywordException {
+    private static TaskQuery getFindTaskParams(String input, CommandKeyword keyword)
+            throws EmptyKeywordException, InvalidFindParamsException {
         String params = removeCommandKeyword(input, keyword);
 
         if (params.isBlank()) {
             throw new EmptyKeywordException();
         }
 
-        return params;
+        return QueryParser.parse(params);
     }
 
-    private static int getDeleteTaskParams(String input, CommandKeyword keyword) {
+    private static TaskSelection getDeleteTaskParams(String input, CommandKeyword keyword)
+            throws InvalidDeleteParamsException, InvalidFindParamsException {
         String params = removeCommandKeyword(input, keyword);
-        int index = Integer.parseInt(params);
 
-        return index;
+        try {
+            return getTaskSelection(params);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDeleteParamsException();
+        }
+    }
+
+    /**
+     * Interprets the file to export to and its format; the format can be given after the file,
+     * or otherwise is told from the file-extension, and is CSV if the extension is not known.
+     */
+    private static TransferParams getExportParams(String input, CommandKeyword keyword)
+            throws InvalidExportParamsException {
+        String params = removeCommandKeyword(input, keyword);
+        int lastSpace = params.lastIndexOf(' ');
+        TransferFormat format = lastSpace < 0 ? null : TransferFormat.fromName(params.substring(lastSpace + 1));
+        String filePath = format == null ? params : params.substring(0, lastSpace).trim();
+
+        if (format == null) {
+            format = TransferFormat.fromFileName(filePath);
+        }
+
+        if (filePath.isBlank()) {
+            throw new InvalidExportParamsException();
+        }
+
+        return new TransferParams(filePath, format == null ? TransferFormat.CSV : format);
+    }
+
+    private static TransferParams getImportParams(String input, CommandKeyword keyword)
+            throws InvalidImportParamsException {
+        String filePath = removeCommandKeyword(input, keyword);
+
+        if (filePath.isBlank()) {
+            throw new InvalidImportParamsException();
+        }
+
+        return new TransferParams(filePath, TransferFormat.fromFileName(filePath));
+    }
+
+    private static SyncParams getSyncParams(String input, CommandKeyword keyword) throws InvalidSyncParamsException {
+        String filePath = removeCommandKeyword(input, keyword);
+
+        if (filePath.isBlank()) {
+            throw new InvalidSyncParamsException();
+        }
+
+        return new SyncParams(filePath);
+    }
+
+    private static UseParams getUseParams(String input, CommandKeyword keyword) throws InvalidUseParamsException {
+        String name = removeCommandKeyword(input, keyword);
+
+        if (!Workspaces.isValidName(name)) {
+            throw new InvalidUseParamsException();
+        }
+
+        return new UseParams(name);
+    }
+
+    /**
+     * Interprets the Tasks that a mark, unmark or delete command should act on.
+     *
+     * @param params a task number, a comma-separated list of task numbers and ranges
+     *               such as "1-500,9", "done", "pending", or "find:" followed by a find query.
+     * @throws IllegalArgumentException   if the params do not identify any Tasks.
+     * @throws InvalidFindParamsException if the find query is malformed.
+     */
+    private static TaskSelection getTaskSelection(String params) throws InvalidFindParamsException {
+        if (params.equals("done") || params.equals("pending")) {
+            return TaskSelection.ofCompletionStatus(params.equals("done"));
+        }
+
+        if (params.startsWith(FIND_SELECTION_PREFIX)) {
+            String query = params.substring(FIND_SELECTION_PREFIX.length()).trim();
+
+            if (query.isBlank()) {
+                throw new IllegalArgumentException("Missing find query");
+            }
+
+            return TaskSelection.ofQuery(QueryParser.parse(query));
+        }
+
+        List<int[]> ranges = new ArrayList<>();
+        for (String range : params.split(",")) {
+            String[] bounds = range.trim().split("-", -1);
+
+            if (bounds.length > 2) {
+                throw new IllegalArgumentException("Invalid range: " + range);
+            }
+
+            int first = Integer.parseInt(bounds[0].trim());
+            int last = bounds.length == 2 ? Integer.parseInt(bounds[1].trim()) : first;
+
+            if (first > last) {
+                throw new IllegalArgumentException("Invalid range: " + range);
+            }
+
+            ranges.add(new int[] { first, last });
+        }
+
+        return TaskSelection.ofRanges(ranges);
     }
 
     private static String removeCommandKeyword(String input, CommandKeyword keyword) {
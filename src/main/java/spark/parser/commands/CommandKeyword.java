@@ -22,6 +22,20 @@ public enum CommandKeyword {
     TODO("todo"),
     /** Tells Spark to find all Tasks that contain the given search-term. */
     FIND("find"),
+    /** Tells Spark to export all Tasks to a file that other tools can read. */
+    EXPORT("export"),
+    /** Tells Spark to add all Tasks in a file written by another tool to the task list. */
+    IMPORT("import"),
+    /** Tells Spark to sync the task list with another save-file. */
+    SYNC("sync"),
+    /** Tells Spark to switch to another workspace. */
+    USE("use"),
+    /** Tells Spark to list all workspaces. */
+    LISTS("lists"),
+    /** Tells Spark to count the Tasks by type, completion status and date. */
+    SUMMARY("summary"),
+    /** Tells Spark to show how well its caches are working. */
+    STATS("stats"),
     /** Tells Spark to alert the user that the given command-keyword is unrecognised. */
     UNRECOGNISED("unrecognised");
 
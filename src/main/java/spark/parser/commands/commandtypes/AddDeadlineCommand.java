@@ -12,6 +12,8 @@ import spark.exceptions.SparkException;
 import spark.parser.params.AddDeadlineParams;
 import spark.storage.Storage;
 import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Recurrence;
+import spark.tasks.tasktypes.TaskType;
 
 /**
  * Represents a command to add a new deadline to the task list.
@@ -19,6 +21,7 @@ import spark.tasks.TaskList;
 public class AddDeadlineCommand extends Command {
     private String title;
     private LocalDateTime by;
+    private Recurrence recurrence;
 
     /**
      * Creates a new Deadline with the specified title and date.
@@ -28,6 +31,7 @@ public class AddDeadlineCommand extends Command {
     public AddDeadlineCommand(AddDeadlineParams params) {
         this.title = params.getTitle();
         this.by = params.getBy();
+        this.recurrence = params.getRecurrence();
     }
 
     @Override
@@ -37,8 +41,12 @@ public class AddDeadlineCommand extends Command {
         boolean isDuplicate = tasks.alreadyHasTask(title);
 
         try {
-            tasks.addDeadline(title, by);
-            storage.writeTasksFile(tasks.encodeTasks());
+            if (recurrence == null) {
+                tasks.addDeadline(title, by);
+            } else {
+                tasks.addRecurringTask(TaskType.DEADLINE, title, by, recurrence);
+            }
+            storage.writeAddedTask(tasks);
             responses.add(new SuccessResponse(getAddTaskSuccessMessage(tasks)));
             responses.add(new SuccessResponse(getTasksRemainingMessage(tasks)));
         } catch (SparkException e) {
@@ -54,7 +62,7 @@ public class AddDeadlineCommand extends Command {
         return String.format("Okay! I've added this task:\n   %s", tasks.getLastAddedTask());
     }
     private String getTasksRemainingMessage(TaskList tasks) {
-        return String.format("You have %d tasks remaining", tasks.getNumberOfTasks());
+        return String.format("You have %d tasks remaining", tasks.getNumberOfPendingTasks());
     }
 
 
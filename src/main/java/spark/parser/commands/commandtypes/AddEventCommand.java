@@ -12,6 +12,8 @@ import spark.exceptions.SparkException;
 import spark.parser.params.AddEventParams;
 import spark.storage.Storage;
 import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Recurrence;
+import spark.tasks.tasktypes.TaskType;
 
 /**
  * Represents a command to add a new event to the task list.
@@ -19,6 +21,7 @@ import spark.tasks.TaskList;
 public class AddEventCommand extends Command {
     private String title;
     private LocalDateTime at;
+    private Recurrence recurrence;
 
     /**
      * Creates a new Event with the specified title and date.
@@ -28,6 +31,7 @@ public class AddEventCommand extends Command {
     public AddEventCommand(AddEventParams params) {
         this.title = params.getTitle();
         this.at = params.getAt();
+        this.recurrence = params.getRecurrence();
     }
 
     @Override
@@ -37,8 +41,12 @@ public class AddEventCommand extends Command {
         boolean isDuplicate = tasks.alreadyHasTask(title);
 
         try {
-            tasks.addEvent(title, at);
-            storage.writeTasksFile(tasks.encodeTasks());
+            if (recurrence == null) {
+                tasks.addEvent(title, at);
+            } else {
+                tasks.addRecurringTask(TaskType.EVENT, title, at, recurrence);
+            }
+            storage.writeAddedTask(tasks);
             responses.add(new SuccessResponse(getAddTaskSuccessMessage(tasks)));
             responses.add(new SuccessResponse(getTasksRemainingMessage(tasks)));
         } catch (SparkException e) {
@@ -55,7 +63,7 @@ public class AddEventCommand extends Command {
     }
 
     private String getTasksRemainingMessage(TaskList tasks) {
-        return String.format("You have %d tasks remaining", tasks.getNumberOfTasks());
+        return String.format("You have %d tasks remaining", tasks.getNumberOfPendingTasks());
     }
 
     private void checkAndWarnUserOfDuplicateTask(List<CommandResponse> responses, boolean isDuplicate) {
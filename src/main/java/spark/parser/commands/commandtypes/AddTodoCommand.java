@@ -35,7 +35,7 @@ public class AddTodoCommand extends Command {
 
         try {
             tasks.addTodo(title);
-            storage.writeTasksFile(tasks.encodeTasks());
+            storage.writeAddedTask(tasks);
             responses.add(new SuccessResponse(getAddTaskSuccessMessage(tasks)));
             responses.add(new SuccessResponse(getTasksRemainingMessage(tasks)));
         } catch (SparkException e) {
@@ -52,7 +52,7 @@ public class AddTodoCommand extends Command {
     }
 
     private String getTasksRemainingMessage(TaskList tasks) {
-        return String.format("You have %d tasks remaining", tasks.getNumberOfTasks());
+        return String.format("You have %d tasks remaining", tasks.getNumberOfPendingTasks());
     }
 
     private void checkAndWarnUserOfDuplicateTask(List<CommandResponse> responses, boolean isDuplicate) {
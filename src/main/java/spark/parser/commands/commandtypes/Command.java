@@ -1,15 +1,108 @@
 package spark.parser.commands.commandtypes;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 import spark.commandresponse.CommandResponse;
+import spark.commandresponse.ResponsePublisher;
 import spark.storage.Storage;
 import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
 
 /**
  * Represents a command that can be executed by Spark.
  * All valid commands are sub-classes of this class.
  */
 public abstract class Command {
+    /** The most Tasks that are shown individually when a command acts on many Tasks at once */
+    private static final int MAX_TASKS_SHOWN = 10;
+    private static final double NANOS_PER_SECOND = 1e9;
+
     public abstract List<CommandResponse> execute(TaskList tasks, Storage storage);
+
+    /**
+     * Executes the command a response at a time, working out each response only when it is
+     * asked for, so the first responses can be shown before the rest are ready. Commands
+     * that produce long responses split them up; any other command is executed in full when
+     * its first response is asked for.
+     */
+    public Iterator<CommandResponse> executeLazily(TaskList tasks, Storage storage) {
+        return new Iterator<>() {
+            private Iterator<CommandResponse> responses;
+
+            @Override
+            public boolean hasNext() {
+                return getResponses().hasNext();
+            }
+
+            @Override
+            public CommandResponse next() {
+                return getResponses().next();
+            }
+
+            private Iterator<CommandResponse> getResponses() {
+                if (responses == null) {
+                    responses = execute(tasks, storage).iterator();
+                }
+                return responses;
+            }
+        };
+    }
+
+    /**
+     * Returns a publisher of the responses to the command, which executes the command
+     * lazily as its subscriber asks for responses, and stops if the subscriber cancels.
+     */
+    public Flow.Publisher<CommandResponse> stream(TaskList tasks, Storage storage) {
+        return new ResponsePublisher(executeLazily(tasks, storage));
+    }
+
+    /**
+     * Returns true if the command only shows the user something without changing anything,
+     * so that it can be skipped if the user asks for something else to be shown before it runs.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns the Tasks one per line, showing only the first few if there are many.
+     */
+    protected static String describeTasks(List<Task> tasks) {
+        StringBuilder description = new StringBuilder();
+
+        for (int i = 0; i < Math.min(tasks.size(), MAX_TASKS_SHOWN); i++) {
+            description.append("\n   ").append(tasks.get(i));
+        }
+
+        if (tasks.size() > MAX_TASKS_SHOWN) {
+            description.append(String.format("\n   ...and %d more", tasks.size() - MAX_TASKS_SHOWN));
+        }
+
+        return description.toString();
+    }
+
+    /**
+     * Returns "this task", or "these n tasks" if there are several, to refer to the Tasks a command acted on.
+     */
+    protected static String referToTasks(List<Task> tasks) {
+        return tasks.size() == 1 ? "this task" : String.format("these %d tasks", tasks.size());
+    }
+
+    /**
+     * Returns the number of Tasks followed by "task", or "tasks" unless there is exactly one.
+     */
+    protected static String countTasks(int numberOfTasks) {
+        return String.format(numberOfTasks == 1 ? "%,d task" : "%,d tasks", numberOfTasks);
+    }
+
+    /**
+     * Returns how long it took to process the Tasks, and how many Tasks were processed per second.
+     */
+    protected static String describeThroughput(int numberOfTasks, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / NANOS_PER_SECOND;
+
+        return String.format("in %.2fs (%,d tasks/s)", seconds, Math.round(numberOfTasks / seconds));
+    }
 }
@@ -6,24 +6,26 @@ import java.util.List;
 import spark.commandresponse.CommandResponse;
 import spark.commandresponse.ErrorResponse;
 import spark.commandresponse.SuccessResponse;
+import spark.commandresponse.WarningResponse;
 import spark.exceptions.SparkException;
+import spark.parser.params.TaskSelection;
 import spark.storage.Storage;
 import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
 
 /**
- * Represents a command to delete a Task.
+ * Represents a command to delete one or more Tasks.
  */
 public class DeleteTaskCommand extends Command {
-    private int index;
+    private TaskSelection selection;
 
     /**
-     * Creates a command with the index of the Task to be deleted.
+     * Creates a command with the selection of Tasks to be deleted.
      *
-     * @param index a positive integer identifying the Task to
-     *              be deleted.
+     * @param selection identifies the Tasks to be deleted.
      */
-    public DeleteTaskCommand(int index) {
-        this.index = index;
+    public DeleteTaskCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
@@ -31,9 +33,24 @@ public class DeleteTaskCommand extends Command {
         List<CommandResponse> responses = new ArrayList<>();
 
         try {
-            tasks.deleteTask(index);
-            storage.writeTasksFile(tasks.encodeTasks());
-            responses.add(new SuccessResponse(getDeleteTaskSuccessMessage(tasks)));
+            if (selection.isSingleTask()) {
+                int index = selection.getSingleIndex();
+                tasks.deleteTask(index);
+                storage.writeDeletedTask(tasks, index);
+                responses.add(new SuccessResponse(getDeleteTaskSuccessMessage(tasks)));
+            } else {
+                int[] indexes = selection.resolve(tasks);
+
+                if (indexes.length == 0) {
+                    responses.add(new WarningResponse("Hmm... there aren't any tasks like that to delete"));
+                    return responses;
+                }
+
+                List<Task> deletedTasks = tasks.deleteTasks(indexes);
+                storage.writeDeletedTasks(tasks, indexes);
+                responses.add(new SuccessResponse(getDeleteTasksSuccessMessage(deletedTasks)));
+            }
+
             responses.add(new SuccessResponse(getTasksRemainingMessage(tasks)));
         } catch (SparkException e) {
             responses.add(new ErrorResponse(e));
@@ -46,7 +63,11 @@ public class DeleteTaskCommand extends Command {
         return String.format("Okay! I've removed this task:\n   %s", tasks.getLastDeletedTask());
     }
 
+    private String getDeleteTasksSuccessMessage(List<Task> deletedTasks) {
+        return String.format("Okay! I've removed %s:%s", referToTasks(deletedTasks), describeTasks(deletedTasks));
+    }
+
     private String getTasksRemainingMessage(TaskList tasks) {
-        return String.format("You have %d tasks remaining", tasks.getNumberOfTasks());
+        return String.format("You have %d tasks remaining", tasks.getNumberOfPendingTasks());
     }
 }
@@ -0,0 +1,51 @@
+package spark.parser.commands.commandtypes;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.ErrorResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.exceptions.fileexceptions.TransferFileException;
+import spark.parser.params.TransferParams;
+import spark.storage.Storage;
+import spark.storage.transfer.TaskTransfer;
+import spark.storage.transfer.TransferFormat;
+import spark.tasks.TaskList;
+
+/**
+ * Represents a command to export every Task to a file that other tools can read.
+ */
+public class ExportCommand extends Command {
+    private String filePath;
+    private TransferFormat format;
+
+    /**
+     * Creates a command to export every Task to the specified file.
+     *
+     * @param params contains the file to export to, and its format.
+     */
+    public ExportCommand(TransferParams params) {
+        this.filePath = params.getFilePath();
+        this.format = params.getFormat();
+    }
+
+    @Override
+    public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        List<CommandResponse> responses = new ArrayList<>();
+        long start = System.nanoTime();
+
+        try {
+            int numberOfTasks = TaskTransfer.exportTasks(tasks, Paths.get(filePath), format);
+            responses.add(new SuccessResponse(String.format("Okay! I've exported %d tasks to %s as %s %s",
+                    numberOfTasks, filePath, format.getName(),
+                    describeThroughput(numberOfTasks, System.nanoTime() - start))));
+        } catch (IOException e) {
+            responses.add(new ErrorResponse(new TransferFileException(filePath)));
+        }
+
+        return responses;
+    }
+}
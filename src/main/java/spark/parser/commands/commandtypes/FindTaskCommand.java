@@ -1,11 +1,13 @@
 package spark.parser.commands.commandtypes;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import spark.commandresponse.CommandResponse;
 import spark.commandresponse.SuccessResponse;
 import spark.commandresponse.WarningResponse;
+import spark.parser.query.TaskQuery;
 import spark.storage.Storage;
 import spark.tasks.TaskList;
 import spark.tasks.tasktypes.Task;
@@ -14,46 +16,122 @@ import spark.tasks.tasktypes.Task;
  * Represents a command for Spark to find a task.
  */
 public class FindTaskCommand extends Command {
-    private String searchTerm;
+    private static final String NO_MATCHING_TASK_MESSAGE =
+            "I couldn't find anything that matches what you are looking for.";
+
+    private TaskQuery query;
     private String responseMessage;
 
     /**
-     * Creates a new command with the search-term that Spark
-     * should use to search for Tasks with titles containing
-     * the search-term.
+     * Creates a new command with the compiled query that Spark
+     * should use to search for Tasks.
      *
-     * @param searchTerm search-term that Spark should like for in Task titles.
+     * @param query the condition satisfied by the Tasks Spark should look for.
      */
-    public FindTaskCommand(String searchTerm) {
-        this.searchTerm = searchTerm;
+    public FindTaskCommand(TaskQuery query) {
+        this.query = query;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 
     @Override
     public List<CommandResponse> execute(TaskList tasks, Storage storage) {
         List<CommandResponse> responses = new ArrayList<>();
-        responses.add(findAllMatchingTasks(tasks, searchTerm));
+        responses.add(findAllMatchingTasks(tasks, query));
         return responses;
     }
 
-    private CommandResponse findAllMatchingTasks(TaskList tasks, String searchTerm) {
-        List<Task> matches = tasks.findTask(searchTerm);
+    /**
+     * Finds the same Tasks as {@link #execute(TaskList, Storage)}, in the same order, but only
+     * looks for and renders each chunk of results once it is asked for, so the first matches can
+     * be shown before the rest have been found.
+     */
+    @Override
+    public Iterator<CommandResponse> executeLazily(TaskList tasks, Storage storage) {
+        MatchCursor matches = new MatchCursor(query.executeLazily(tasks));
+
+        return new TaskLinesIterator(tasks, "Okay, I've found these tasks: " + System.lineSeparator(),
+                matches::moveTo,
+                position -> "    " + tasks.renderTask(matches.current) + System.lineSeparator(),
+                NO_MATCHING_TASK_MESSAGE);
+    }
+
+    /**
+     * Returns a short preview of the Tasks the command would find, showing only the first few,
+     * for showing while the user is still typing the command. Title searches that extend the
+     * previous search-term only look through the results of that search.
+     *
+     * @param maxResults the most Tasks shown.
+     */
+    public CommandResponse preview(TaskList tasks, int maxResults) {
+        List<Task> matches = query.execute(tasks);
+
+        if (matches.isEmpty()) {
+            return new WarningResponse(NO_MATCHING_TASK_MESSAGE);
+        }
+
+        StringBuilder results = new StringBuilder(String.format("%,d matching tasks so far:", matches.size()));
+        for (Task t : matches.subList(0, Math.min(matches.size(), maxResults))) {
+            results.append("\n   ").append(tasks.renderTask(t));
+        }
+        if (matches.size() > maxResults) {
+            results.append(String.format("\n   ...and %,d more", matches.size() - maxResults));
+        }
+
+        return new SuccessResponse(results.toString());
+    }
+
+    private CommandResponse findAllMatchingTasks(TaskList tasks, TaskQuery query) {
+        List<Task> matches = query.execute(tasks);
 
         StringBuilder results = new StringBuilder();
-        String noMatchingTaskMessage = "I couldn't find anything that matches what you are looking for.";
 
         if (matches.isEmpty()) {
-            return new WarningResponse(noMatchingTaskMessage);
+            return new WarningResponse(NO_MATCHING_TASK_MESSAGE);
         } else {
             results.append("Okay, I've found these tasks: ");
             results.append(System.lineSeparator());
 
             for (Task t : matches) {
                 results.append("    ");
-                results.append(t.toString());
+                results.append(tasks.renderTask(t));
                 results.append(System.lineSeparator());
             }
         }
 
         return new SuccessResponse(results.toString());
     }
+
+    /**
+     * Numbers the matches as they are taken from an iterator, so they can be described one
+     * position at a time; asking for the same position again gives the same match.
+     */
+    private static class MatchCursor {
+        private final Iterator<Task> matches;
+        private Task current;
+        private int currentPosition = -1;
+
+        MatchCursor(Iterator<Task> matches) {
+            this.matches = matches;
+        }
+
+        /**
+         * Moves on to the match at the position, returning the position, or -1 if there are no more matches.
+         */
+        int moveTo(int position) {
+            if (position != currentPosition) {
+                if (!matches.hasNext()) {
+                    return -1;
+                }
+
+                current = matches.next();
+                currentPosition = position;
+            }
+
+            return position;
+        }
+    }
 }
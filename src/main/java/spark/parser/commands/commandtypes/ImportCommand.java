@@ -0,0 +1,95 @@
+package spark.parser.commands.commandtypes;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.ErrorResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.commandresponse.WarningResponse;
+import spark.exceptions.SparkException;
+import spark.exceptions.fileexceptions.TransferFileException;
+import spark.parser.params.TransferParams;
+import spark.storage.Storage;
+import spark.storage.transfer.ImportReport;
+import spark.storage.transfer.TaskTransfer;
+import spark.storage.transfer.TransferFormat;
+import spark.tasks.TaskList;
+
+/**
+ * Represents a command to add every Task in a file written by another tool to the task list.
+ */
+public class ImportCommand extends Command {
+    private String filePath;
+    private TransferFormat format;
+
+    /**
+     * Creates a command to import every Task in the specified file.
+     *
+     * @param params contains the file to import from, and its format if it is known.
+     */
+    public ImportCommand(TransferParams params) {
+        this.filePath = params.getFilePath();
+        this.format = params.getFormat();
+    }
+
+    @Override
+    public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        List<CommandResponse> responses = new ArrayList<>();
+        int numberOfTasksBefore = tasks.getNumberOfTasks();
+        long start = System.nanoTime();
+
+        try {
+            ImportReport report = TaskTransfer.importTasks(Paths.get(filePath), format, tasks);
+            storage.writeAddedTasks(tasks, report.getNumberOfTasks());
+
+            responses.add(new SuccessResponse(String.format("Okay! I've imported %d tasks from %s as %s %s",
+                    report.getNumberOfTasks(), filePath, report.getFormat().getName(),
+                    describeThroughput(report.getNumberOfTasks(), System.nanoTime() - start))));
+            responses.add(new SuccessResponse(getTasksRemainingMessage(tasks)));
+            checkAndWarnUserOfSkippedRecords(responses, report);
+        } catch (IOException e) {
+            responses.add(new ErrorResponse(new TransferFileException(filePath)));
+            saveTasksImportedBeforeFailure(tasks, storage, numberOfTasksBefore, responses);
+        } catch (SparkException e) {
+            responses.add(new ErrorResponse(e));
+        }
+
+        return responses;
+    }
+
+    /**
+     * Saves the Tasks that were added to the task list before the file stopped being readable,
+     * so that the save-file still matches the task list.
+     */
+    private void saveTasksImportedBeforeFailure(TaskList tasks, Storage storage, int numberOfTasksBefore,
+            List<CommandResponse> responses) {
+        int numberOfTasksImported = tasks.getNumberOfTasks() - numberOfTasksBefore;
+
+        if (numberOfTasksImported == 0) {
+            return;
+        }
+
+        try {
+            storage.writeAddedTasks(tasks, numberOfTasksImported);
+            responses.add(new WarningResponse(String.format("I only managed to import the first %d tasks",
+                    numberOfTasksImported)));
+        } catch (SparkException e) {
+            responses.add(new ErrorResponse(e));
+        }
+    }
+
+    private void checkAndWarnUserOfSkippedRecords(List<CommandResponse> responses, ImportReport report) {
+        if (report.getNumberOfSkippedRecords() > 0) {
+            responses.add(new WarningResponse(String.format(
+                    "I skipped %d records I couldn't understand (the first was on line %d)",
+                    report.getNumberOfSkippedRecords(), report.getFirstSkippedLine())));
+        }
+    }
+
+    private String getTasksRemainingMessage(TaskList tasks) {
+        return String.format("You have %d tasks remaining", tasks.getNumberOfPendingTasks());
+    }
+}
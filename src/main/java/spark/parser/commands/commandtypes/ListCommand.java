@@ -1,31 +1,179 @@
 package spark.parser.commands.commandtypes;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import spark.commandresponse.CommandResponse;
 import spark.commandresponse.SuccessResponse;
 import spark.commandresponse.WarningResponse;
+import spark.parser.params.ListParams;
 import spark.storage.Storage;
+import spark.tasks.SortedTaskIndex;
 import spark.tasks.TaskList;
+import spark.tasks.TaskOrder;
+import spark.tasks.tasktypes.Task;
 
 /**
  * Represents a command for Spark to list all Tasks in the task-list.
  */
 public class ListCommand extends Command {
+    private static final String NO_TASKS_MESSAGE = "No tasks found! (trust me, I've looked everywhere)";
+
+    private ListParams.Filter filter;
+    /** The order to list the Tasks in, or null for the order of the task list. */
+    private TaskOrder order;
+
+    /**
+     * Creates a command that lists every Task.
+     */
+    public ListCommand() {
+        this(new ListParams(ListParams.Filter.ALL));
+    }
+
+    /**
+     * Creates a command that lists the Tasks specified by the params.
+     *
+     * @param params contains which Tasks should be listed.
+     */
+    public ListCommand(ListParams params) {
+        this.filter = params.getFilter();
+        this.order = params.getOrder();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        if (order != null) {
+            return joinChunks(executeLazily(tasks, storage));
+        }
+
         List<CommandResponse> responses = new ArrayList<>();
-        String noTasksMessage = "No tasks found! (trust me, I've looked everywhere)";
 
-        String allTaskTitles = tasks.getTaskList();
+        String allTaskTitles = getTaskTitles(tasks);
 
         if (allTaskTitles.isBlank()) {
-            responses.add(new WarningResponse(noTasksMessage));
+            responses.add(new WarningResponse(NO_TASKS_MESSAGE));
         } else {
             responses.add(new SuccessResponse(allTaskTitles));
         }
 
         return responses;
     }
+
+    /**
+     * Lists the Tasks a chunk at a time, rendering each chunk only when it is asked for.
+     */
+    @Override
+    public Iterator<CommandResponse> executeLazily(TaskList tasks, Storage storage) {
+        if (order != null) {
+            return listInOrder(tasks);
+        }
+
+        switch (filter) {
+        case DONE:
+            return new TaskLinesIterator(tasks, "Here are your completed tasks:\n",
+                    position -> tasks.getNextPosition(position, true),
+                    position -> describeTaskAt(tasks, position), NO_TASKS_MESSAGE);
+        case PENDING:
+            return new TaskLinesIterator(tasks, "Here are your pending tasks:\n",
+                    position -> tasks.getNextPosition(position, false),
+                    position -> describeTaskAt(tasks, position), NO_TASKS_MESSAGE);
+        default:
+            return new TaskLinesIterator(tasks, "Here are your tasks:\n",
+                    position -> position < tasks.getNumberOfTasks() ? position : -1,
+                    position -> describeTaskAt(tasks, position), NO_TASKS_MESSAGE);
+        }
+    }
+
+    /**
+     * Lists the Tasks in the sorted order kept by the task list, numbered by their position in the
+     * task list, so the numbers can still be used to mark or delete them. The listing stops early
+     * if any Task is added, deleted or moves within the sorted order before it is finished.
+     */
+    private Iterator<CommandResponse> listInOrder(TaskList tasks) {
+        SortedTaskIndex sortedTasks = tasks.getSortedIndex(order);
+        String header = String.format("Here are your %stasks, by %s:\n", describeFilter(), order.getName());
+
+        return new TaskLinesIterator(header,
+                rank -> findNextInFilter(sortedTasks, rank),
+                rank -> describeTaskAt(tasks, tasks.getPosition(sortedTasks.get(rank))), NO_TASKS_MESSAGE,
+                sortedTasks::getModificationCount);
+    }
+
+    /**
+     * Returns the first position in the sorted order at or after the given one whose Task should
+     * be listed, or -1 if there is none.
+     */
+    private int findNextInFilter(SortedTaskIndex sortedTasks, int rank) {
+        for (int i = rank; i < sortedTasks.size(); i++) {
+            if (isInFilter(sortedTasks.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isInFilter(Task t) {
+        switch (filter) {
+        case DONE:
+            return t.isDone();
+        case PENDING:
+            return !t.isDone();
+        default:
+            return true;
+        }
+    }
+
+    private String describeFilter() {
+        switch (filter) {
+        case DONE:
+            return "completed ";
+        case PENDING:
+            return "pending ";
+        default:
+            return "";
+        }
+    }
+
+    /**
+     * Joins the chunks of a listing into a single message.
+     */
+    private static List<CommandResponse> joinChunks(Iterator<CommandResponse> chunks) {
+        List<CommandResponse> responses = new ArrayList<>();
+        StringBuilder lines = new StringBuilder();
+
+        while (chunks.hasNext()) {
+            CommandResponse chunk = chunks.next();
+            if (chunk.isWarning()) {
+                responses.add(chunk);
+            } else {
+                lines.append(chunk.getMessage());
+            }
+        }
+
+        if (lines.length() > 0) {
+            responses.add(0, new SuccessResponse(lines.toString()));
+        }
+        return responses;
+    }
+
+    private static String describeTaskAt(TaskList tasks, int position) {
+        return (position + 1) + ". " + tasks.renderTask(tasks.getTasks().get(position)) + "\n";
+    }
+
+    private String getTaskTitles(TaskList tasks) {
+        switch (filter) {
+        case DONE:
+            return tasks.getTaskList(true);
+        case PENDING:
+            return tasks.getTaskList(false);
+        default:
+            return tasks.getTaskList();
+        }
+    }
 }
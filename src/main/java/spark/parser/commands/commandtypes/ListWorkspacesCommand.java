@@ -0,0 +1,43 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.workspaces.Workspace;
+import spark.workspaces.Workspaces;
+
+/**
+ * Represents a command for Spark to list the user's workspaces.
+ */
+public class ListWorkspacesCommand extends WorkspaceCommand {
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public List<CommandResponse> execute(Workspaces workspaces) {
+        Map<String, Workspace> loadedWorkspaces = new HashMap<>();
+        for (Workspace workspace : workspaces.getLoadedWorkspaces()) {
+            loadedWorkspaces.put(workspace.getName(), workspace);
+        }
+
+        StringBuilder message = new StringBuilder("Here are your lists:");
+        for (String name : workspaces.getNames()) {
+            Workspace workspace = loadedWorkspaces.get(name);
+            message.append("\n   ").append(name);
+
+            if (workspace == workspaces.getCurrent()) {
+                message.append(" (in use)");
+            }
+            if (workspace != null) {
+                message.append(String.format(" - %d tasks", workspace.getTaskList().getNumberOfTasks()));
+            }
+        }
+
+        return List.of(new SuccessResponse(message.toString()));
+    }
+}
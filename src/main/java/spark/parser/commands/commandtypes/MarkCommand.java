@@ -6,25 +6,27 @@ import java.util.List;
 import spark.commandresponse.CommandResponse;
 import spark.commandresponse.ErrorResponse;
 import spark.commandresponse.SuccessResponse;
+import spark.commandresponse.WarningResponse;
 import spark.exceptions.SparkException;
+import spark.parser.params.TaskSelection;
 import spark.storage.Storage;
 import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
 
 /**
- * Represents a command to mark a Task as complete.
+ * Represents a command to mark one or more Tasks as complete.
  */
 public class MarkCommand extends Command {
-    private int index;
+    private TaskSelection selection;
     private String responseMessage;
 
     /**
-     * Creates a command with the index of the Task to be marked as complete.
+     * Creates a command with the selection of Tasks to be marked as complete.
      *
-     * @param index a positive integer identifying the Task to
-     *              be marked as complete.
+     * @param selection identifies the Tasks to be marked as complete.
      */
-    public MarkCommand(int index) {
-        this.index = index;
+    public MarkCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
@@ -32,11 +34,28 @@ public class MarkCommand extends Command {
         List<CommandResponse> responses = new ArrayList<>();
 
         try {
-            tasks.markTask(index);
-            storage.writeTasksFile(tasks.encodeTasks());
-            responseMessage = getModifyTaskSuccessMessage(tasks);
+            if (selection.isSingleTask()) {
+                int index = selection.getSingleIndex();
+                tasks.markTask(index);
+                storage.writeModifiedTask(tasks, index);
+                responseMessage = getModifyTaskSuccessMessage(tasks);
 
-            responses.add(new SuccessResponse(responseMessage));
+                responses.add(new SuccessResponse(responseMessage));
+            } else {
+                int[] indexes = selection.resolve(tasks);
+                List<Task> modifiedTasks = tasks.markTasks(indexes);
+
+                if (!modifiedTasks.isEmpty()) {
+                    storage.writeModifiedTasks(tasks, indexes);
+                    responses.add(new SuccessResponse(getModifyTasksSuccessMessage(modifiedTasks)));
+                }
+
+                if (modifiedTasks.size() < indexes.length) {
+                    responses.add(new WarningResponse(getUnchangedTasksMessage(indexes.length - modifiedTasks.size())));
+                } else if (indexes.length == 0) {
+                    responses.add(new WarningResponse("Hmm... there aren't any tasks like that to mark"));
+                }
+            }
         } catch (SparkException e) {
             responses.add(new ErrorResponse(e));
         }
@@ -47,4 +66,13 @@ public class MarkCommand extends Command {
     private String getModifyTaskSuccessMessage(TaskList tasks) {
         return String.format("Okay! I've marked this task:\n   %s", tasks.getLastModifiedTask());
     }
+
+    private String getModifyTasksSuccessMessage(List<Task> modifiedTasks) {
+        return String.format("Okay! I\'ve marked %s:%s", referToTasks(modifiedTasks), describeTasks(modifiedTasks));
+    }
+
+    private String getUnchangedTasksMessage(int numberOfUnchangedTasks) {
+        return String.format("%d of those tasks were already marked, so I\'ve left them alone",
+                numberOfUnchangedTasks);
+    }
 }
@@ -0,0 +1,30 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+
+/**
+ * Represents a command for Spark to show how well the caches it keeps
+ * to answer commands quickly are working, and how much memory sharing
+ * the titles of Tasks has saved.
+ */
+public class StatsCommand extends Command {
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        String message = "Here's how my caches are doing:"
+                + "\n   find: " + tasks.getFindResultCache().getStatistics()
+                + "\n   display: " + tasks.getRenderCache().getStatistics()
+                + "\n   titles: " + tasks.getTitlePool().getStatistics();
+
+        return List.of(new SuccessResponse(message));
+    }
+}
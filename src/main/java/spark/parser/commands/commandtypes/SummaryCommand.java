@@ -0,0 +1,39 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+import spark.tasks.TaskSummary;
+import spark.tasks.tasktypes.TaskType;
+
+/**
+ * Represents a command for Spark to count the Tasks in the task-list by type,
+ * completion status and date.
+ */
+public class SummaryCommand extends Command {
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        TaskSummary summary = tasks.getSummary();
+
+        String message = "Here's a summary of your tasks:"
+                + String.format("\n   %,d todos, %,d deadlines, %,d events",
+                        summary.getNumberOfTasks(TaskType.TODO),
+                        summary.getNumberOfTasks(TaskType.DEADLINE),
+                        summary.getNumberOfTasks(TaskType.EVENT))
+                + String.format("\n   %,d pending, %,d done",
+                        summary.getNumberOfTasks(false),
+                        summary.getNumberOfTasks(true))
+                + String.format("\n   %,d overdue deadlines", summary.getNumberOfOverdueDeadlines())
+                + String.format("\n   %,d events this week", summary.getNumberOfEventsThisWeek());
+
+        return List.of(new SuccessResponse(message));
+    }
+}
@@ -0,0 +1,59 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.ErrorResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.exceptions.SparkException;
+import spark.parser.params.SyncParams;
+import spark.storage.Storage;
+import spark.storage.sync.SyncReport;
+import spark.storage.sync.TaskDigest;
+import spark.storage.sync.TaskSync;
+import spark.tasks.TaskList;
+
+/**
+ * Represents a command to sync the task list with another save-file, so both end up with the same Tasks.
+ */
+public class SyncCommand extends Command {
+    private String filePath;
+
+    /**
+     * Creates a command to sync the task list with the specified save-file.
+     *
+     * @param params contains the save-file to sync with.
+     */
+    public SyncCommand(SyncParams params) {
+        this.filePath = params.getFilePath();
+    }
+
+    @Override
+    public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        List<CommandResponse> responses = new ArrayList<>();
+
+        try {
+            SyncReport report = TaskSync.sync(tasks, storage, filePath);
+
+            if (report.isAlreadyInSync()) {
+                responses.add(new SuccessResponse(String.format("Your tasks are already in sync with %s!",
+                        filePath)));
+                return responses;
+            }
+
+            responses.add(new SuccessResponse(String.format("Okay! I've synced your tasks with %s "
+                    + "(compared %,d of %,d chunks):\n"
+                    + "   %s added here, %s updated here\n"
+                    + "   %s added there, %s updated there",
+                    filePath, report.getNumberOfDifferingChunks(), TaskDigest.NUMBER_OF_CHUNKS,
+                    countTasks(report.getNumberOfTasksAddedHere()), countTasks(report.getNumberOfTasksUpdatedHere()),
+                    countTasks(report.getNumberOfTasksAddedThere()),
+                    countTasks(report.getNumberOfTasksUpdatedThere()))));
+        } catch (SparkException e) {
+            responses.add(new ErrorResponse(e));
+        }
+
+        return responses;
+    }
+}
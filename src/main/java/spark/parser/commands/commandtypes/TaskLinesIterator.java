@@ -0,0 +1,113 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.commandresponse.WarningResponse;
+import spark.tasks.TaskList;
+
+/**
+ * Produces the lines describing some of the Tasks in a task list a chunk at a time,
+ * each chunk only being rendered once it is asked for. The first chunk starts with a
+ * header; joined together, the chunks read the same as the single message the command
+ * would have shown otherwise.
+ * <p>
+ * If Tasks are added to, or deleted from, the task list before every chunk has been
+ * produced, or the Tasks otherwise move from the positions they are being described
+ * in, the positions of the remaining Tasks are no longer meaningful, so a warning is
+ * produced instead of the remaining chunks.
+ */
+class TaskLinesIterator implements Iterator<CommandResponse> {
+    /** The most Tasks described in a single chunk */
+    static final int TASKS_PER_RESPONSE = 100;
+
+    private final String header;
+    private final IntUnaryOperator nextPosition;
+    private final IntFunction<String> renderLine;
+    private final String noTasksMessage;
+    private final LongSupplier stamp;
+    private final long initialStamp;
+    /** The position of the next Task to describe, or -1 once every Task has been described. */
+    private int position;
+    private boolean isFirstResponse = true;
+
+    /**
+     * Creates an iterator over the chunks describing the Tasks, by their positions in the task list.
+     *
+     * @param tasks          the task list the Tasks are in.
+     * @param header         the line starting the first chunk.
+     * @param nextPosition   returns the position of the first Task at or after a position that should be
+     *                       described, or -1 if there is none.
+     * @param renderLine     returns the line describing the Task at a position.
+     * @param noTasksMessage the warning produced instead if there are no Tasks to describe.
+     */
+    TaskLinesIterator(TaskList tasks, String header, IntUnaryOperator nextPosition, IntFunction<String> renderLine,
+            String noTasksMessage) {
+        this(header, nextPosition, renderLine, noTasksMessage, tasks::getGeneration);
+    }
+
+    /**
+     * Creates an iterator over the chunks describing the Tasks, by positions that stay meaningful
+     * for as long as the stamp is unchanged.
+     *
+     * @param header         the line starting the first chunk.
+     * @param nextPosition   returns the position of the first Task at or after a position that should be
+     *                       described, or -1 if there is none.
+     * @param renderLine     returns the line describing the Task at a position.
+     * @param noTasksMessage the warning produced instead if there are no Tasks to describe.
+     * @param stamp          returns a number that changes whenever the Tasks move from their positions.
+     */
+    TaskLinesIterator(String header, IntUnaryOperator nextPosition, IntFunction<String> renderLine,
+            String noTasksMessage, LongSupplier stamp) {
+        this.header = header;
+        this.nextPosition = nextPosition;
+        this.renderLine = renderLine;
+        this.noTasksMessage = noTasksMessage;
+        this.stamp = stamp;
+        this.initialStamp = stamp.getAsLong();
+        this.position = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return isFirstResponse || position >= 0;
+    }
+
+    @Override
+    public CommandResponse next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (stamp.getAsLong() != initialStamp) {
+            position = -1;
+            isFirstResponse = false;
+            return new WarningResponse("Your tasks changed before I could show all of them, try again!");
+        }
+
+        position = nextPosition.applyAsInt(position);
+
+        if (isFirstResponse && position < 0) {
+            isFirstResponse = false;
+            return new WarningResponse(noTasksMessage);
+        }
+
+        StringBuilder lines = new StringBuilder();
+        if (isFirstResponse) {
+            lines.append(header);
+            isFirstResponse = false;
+        }
+
+        for (int i = 0; i < TASKS_PER_RESPONSE && position >= 0; i++) {
+            lines.append(renderLine.apply(position));
+            position = nextPosition.applyAsInt(position + 1);
+        }
+
+        return new SuccessResponse(lines.toString());
+    }
+}
@@ -0,0 +1,56 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.ErrorResponse;
+import spark.commandresponse.SuccessResponse;
+import spark.commandresponse.WarningResponse;
+import spark.exceptions.SparkException;
+import spark.parser.params.UseParams;
+import spark.workspaces.Workspace;
+import spark.workspaces.Workspaces;
+
+/**
+ * Represents a command to switch to another workspace, so that
+ * later commands act on its Tasks instead.
+ */
+public class UseCommand extends WorkspaceCommand {
+    private String name;
+
+    /**
+     * Creates a command to switch to the named workspace.
+     *
+     * @param params contains the name of the workspace.
+     */
+    public UseCommand(UseParams params) {
+        this.name = params.getName();
+    }
+
+    @Override
+    public List<CommandResponse> execute(Workspaces workspaces) {
+        List<CommandResponse> responses = new ArrayList<>();
+        Workspace previous = workspaces.getCurrent();
+
+        try {
+            workspaces.use(name);
+        } catch (SparkException e) {
+            // either the named workspace could not be read, so the current one is kept,
+            // or the least recently used workspace could not be flushed after switching
+            responses.add(new ErrorResponse(e));
+        }
+
+        Workspace current = workspaces.getCurrent();
+        if (current != previous || current.getName().equals(name)) {
+            responses.add(0, new SuccessResponse(String.format(
+                    "Okay! You're now using your \"%s\" list, which has %d tasks remaining",
+                    current.getName(), current.getTaskList().getNumberOfPendingTasks())));
+        } else {
+            responses.add(new WarningResponse(String.format(
+                    "You're still using your \"%s\" list", current.getName())));
+        }
+
+        return responses;
+    }
+}
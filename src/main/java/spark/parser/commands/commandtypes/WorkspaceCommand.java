@@ -0,0 +1,25 @@
+package spark.parser.commands.commandtypes;
+
+import java.util.List;
+
+import spark.commandresponse.CommandResponse;
+import spark.commandresponse.WarningResponse;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+import spark.workspaces.Workspaces;
+
+/**
+ * Represents a command that acts on the user's workspaces as a whole,
+ * rather than on the Tasks in the current workspace.
+ */
+public abstract class WorkspaceCommand extends Command {
+    public abstract List<CommandResponse> execute(Workspaces workspaces);
+
+    /**
+     * Workspace commands need every workspace, so they cannot act on a single task list.
+     */
+    @Override
+    public List<CommandResponse> execute(TaskList tasks, Storage storage) {
+        return List.of(new WarningResponse("Hmm... I can only do that with all of your lists at hand"));
+    }
+}
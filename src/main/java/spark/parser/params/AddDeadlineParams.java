@@ -2,8 +2,11 @@ package spark.parser.params;
 
 import java.time.LocalDateTime;
 
+import spark.tasks.tasktypes.Recurrence;
+
 public class AddDeadlineParams extends AddTaskParams {
     protected LocalDateTime by;
+    protected Recurrence recurrence;
 
     /**
      * Creates an object containing the necessary information
@@ -17,7 +20,27 @@ public class AddDeadlineParams extends AddTaskParams {
         this.by = by;
     }
 
+    /**
+     * Creates an object containing the necessary information
+     * for the creation of a new recurring deadline.
+     *
+     * @param title      the title of the deadline.
+     * @param by         the first occurrence of the deadline.
+     * @param recurrence how often the deadline repeats, or null if it does not.
+     */
+    public AddDeadlineParams(String title, LocalDateTime by, Recurrence recurrence) {
+        this(title, by);
+        this.recurrence = recurrence;
+    }
+
     public LocalDateTime getBy() {
         return by;
     }
+
+    /**
+     * Returns how often the deadline repeats, or null if it does not.
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
 }
@@ -2,8 +2,11 @@ package spark.parser.params;
 
 import java.time.LocalDateTime;
 
+import spark.tasks.tasktypes.Recurrence;
+
 public class AddEventParams extends AddTaskParams {
     protected LocalDateTime at;
+    protected Recurrence recurrence;
 
     /**
      * Creates an object containing the necessary information
@@ -17,7 +20,27 @@ public class AddEventParams extends AddTaskParams {
         this.at = at;
     }
 
+    /**
+     * Creates an object containing the necessary information
+     * for the creation of a new recurring event.
+     *
+     * @param title      the title of the event.
+     * @param at         the first occurrence of the event.
+     * @param recurrence how often the event repeats, or null if it does not.
+     */
+    public AddEventParams(String title, LocalDateTime at, Recurrence recurrence) {
+        this(title, at);
+        this.recurrence = recurrence;
+    }
+
     public LocalDateTime getAt() {
         return at;
     }
+
+    /**
+     * Returns how often the event repeats, or null if it does not.
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
 }
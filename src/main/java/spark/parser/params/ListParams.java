@@ -0,0 +1,50 @@
+package spark.parser.params;
+
+import spark.tasks.TaskOrder;
+
+public class ListParams {
+    /**
+     * Which Tasks should be listed.
+     */
+    public enum Filter {
+        /** List every Task. */
+        ALL,
+        /** List only completed Tasks. */
+        DONE,
+        /** List only incomplete Tasks. */
+        PENDING
+    }
+
+    protected Filter filter;
+    protected TaskOrder order;
+
+    /**
+     * Creates an object containing the necessary information
+     * for listing Tasks in the order of the task list.
+     *
+     * @param filter which Tasks should be listed.
+     */
+    public ListParams(Filter filter) {
+        this(filter, null);
+    }
+
+    /**
+     * Creates an object containing the necessary information
+     * for listing Tasks in the given order.
+     *
+     * @param filter which Tasks should be listed.
+     * @param order  the order to list the Tasks in, or null for the order of the task list.
+     */
+    public ListParams(Filter filter, TaskOrder order) {
+        this.filter = filter;
+        this.order = order;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public TaskOrder getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,19 @@
+package spark.parser.params;
+
+public class SyncParams {
+    protected String filePath;
+
+    /**
+     * Creates an object containing the necessary information
+     * for syncing the task list with another save-file.
+     *
+     * @param filePath the relative file-path of the other save-file.
+     */
+    public SyncParams(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+}
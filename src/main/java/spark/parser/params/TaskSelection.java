@@ -0,0 +1,119 @@
+package spark.parser.params;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import spark.exceptions.taskmodificationexceptions.TaskNotFoundException;
+import spark.parser.query.TaskQuery;
+import spark.tasks.TaskList;
+
+/**
+ * Identifies the Tasks that a mark, unmark or delete command should act on;
+ * either by their one-based indexes and ranges of indexes, by their completion
+ * status, or by a find query.
+ * <p>
+ * A find query is looked up through the same indexes as the find command,
+ * so it selects exactly the Tasks that the find command would show.
+ */
+public class TaskSelection {
+    /**
+     * How the Tasks are identified.
+     */
+    public enum Kind {
+        /** Tasks at the given indexes, or within the given ranges of indexes. */
+        INDEXES,
+        /** Every completed Task. */
+        DONE,
+        /** Every incomplete Task. */
+        PENDING,
+        /** Every Task satisfying a find query. */
+        QUERY
+    }
+
+    protected Kind kind;
+    /** Inclusive ranges of one-based indexes, as {first, last} pairs. */
+    protected List<int[]> ranges;
+    protected TaskQuery query;
+
+    private TaskSelection(Kind kind, List<int[]> ranges, TaskQuery query) {
+        this.kind = kind;
+        this.ranges = ranges;
+        this.query = query;
+    }
+
+    /**
+     * Creates a selection of the Tasks within the given inclusive ranges of one-based indexes.
+     *
+     * @param ranges {first, last} pairs of indexes, where a single index is a range
+     *               whose first and last index are the same.
+     */
+    public static TaskSelection ofRanges(List<int[]> ranges) {
+        return new TaskSelection(Kind.INDEXES, new ArrayList<>(ranges), null);
+    }
+
+    /**
+     * Creates a selection of every Task with the given completion status.
+     */
+    public static TaskSelection ofCompletionStatus(boolean isDone) {
+        return new TaskSelection(isDone ? Kind.DONE : Kind.PENDING, null, null);
+    }
+
+    /**
+     * Creates a selection of every Task satisfying the find query.
+     */
+    public static TaskSelection ofQuery(TaskQuery query) {
+        return new TaskSelection(Kind.QUERY, null, query);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns true if exactly one Task was identified by its index.
+     */
+    public boolean isSingleTask() {
+        return kind == Kind.INDEXES && ranges.size() == 1 && ranges.get(0)[0] == ranges.get(0)[1];
+    }
+
+    /**
+     * Returns the index of the only selected Task; only meaningful if {@link #isSingleTask()}.
+     */
+    public int getSingleIndex() {
+        return ranges.get(0)[0];
+    }
+
+    /**
+     * Returns the one-based indexes of the selected Tasks in the task list,
+     * in ascending order and without duplicates.
+     *
+     * @throws TaskNotFoundException if any selected index does not match a Task.
+     */
+    public int[] resolve(TaskList tasks) throws TaskNotFoundException {
+        switch (kind) {
+        case DONE:
+            return tasks.getIndexesWithCompletionStatus(true);
+        case PENDING:
+            return tasks.getIndexesWithCompletionStatus(false);
+        case QUERY:
+            return tasks.getIndexesOf(query.execute(tasks));
+        default:
+            return resolveRanges(tasks.getNumberOfTasks());
+        }
+    }
+
+    private int[] resolveRanges(int numberOfTasks) throws TaskNotFoundException {
+        BitSet selected = new BitSet(numberOfTasks + 1);
+
+        for (int[] range : ranges) {
+            if (range[0] < 1 || range[1] > numberOfTasks) {
+                throw new TaskNotFoundException();
+            }
+
+            selected.set(range[0], range[1] + 1);
+        }
+
+        return selected.stream().toArray();
+    }
+}
@@ -0,0 +1,28 @@
+package spark.parser.params;
+
+import spark.storage.transfer.TransferFormat;
+
+public class TransferParams {
+    protected String filePath;
+    protected TransferFormat format;
+
+    /**
+     * Creates an object containing the necessary information
+     * for exporting Tasks to, or importing Tasks from, a file.
+     *
+     * @param filePath the relative file-path of the file.
+     * @param format   the format of the file, or null if it should be told from its contents.
+     */
+    public TransferParams(String filePath, TransferFormat format) {
+        this.filePath = filePath;
+        this.format = format;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public TransferFormat getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,19 @@
+package spark.parser.params;
+
+public class UseParams {
+    protected String name;
+
+    /**
+     * Creates an object containing the necessary information
+     * for switching to another workspace.
+     *
+     * @param name the name of the workspace.
+     */
+    public UseParams(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,49 @@
+package spark.parser.query;
+
+import java.util.List;
+
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A condition satisfied by Tasks that satisfy every one of several conditions.
+ */
+public class AndQuery extends TaskQuery {
+    private final List<TaskQuery> conditions;
+
+    /**
+     * Creates a condition from several conditions, ordered from the one
+     * most likely to narrow down the search the most.
+     */
+    public AndQuery(List<TaskQuery> conditions) {
+        this.conditions = conditions;
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        for (TaskQuery condition : conditions) {
+            if (!condition.matches(t)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Uses the first condition that can be looked up with an index, since only
+     * the Tasks satisfying it can satisfy every condition.
+     */
+    @Override
+    protected List<Task> findCandidates(TaskList tasks) {
+        for (TaskQuery condition : conditions) {
+            List<Task> candidates = condition.findCandidates(tasks);
+
+            if (candidates != null) {
+                return candidates;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package spark.parser.query;
+
+import java.time.LocalDate;
+
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A condition satisfied by Tasks dated before, or after, a certain day.
+ * Tasks without a date never satisfy this condition, and recurring Tasks satisfy it
+ * if any of their incomplete occurrences do.
+ */
+public class DateQuery extends TaskQuery {
+    /** The start of the boundary day, in minutes from the epoch. */
+    private final long boundary;
+    private final boolean isBefore;
+
+    private DateQuery(long boundary, boolean isBefore) {
+        this.boundary = boundary;
+        this.isBefore = isBefore;
+    }
+
+    /**
+     * Creates a condition satisfied by Tasks dated any time before the given day.
+     */
+    public static DateQuery before(LocalDate date) {
+        return new DateQuery(EpochMinutes.of(date.atStartOfDay()), true);
+    }
+
+    /**
+     * Creates a condition satisfied by Tasks dated any time after the given day.
+     */
+    public static DateQuery after(LocalDate date) {
+        return new DateQuery(EpochMinutes.of(date.plusDays(1).atStartOfDay()), false);
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        return isBefore ? t.hasDateBetween(Long.MIN_VALUE, boundary) : t.hasDateBetween(boundary, Long.MAX_VALUE);
+    }
+}
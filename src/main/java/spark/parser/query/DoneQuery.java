@@ -0,0 +1,30 @@
+package spark.parser.query;
+
+import java.util.List;
+
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A condition satisfied by Tasks with a certain completion status.
+ */
+public class DoneQuery extends TaskQuery {
+    private final boolean isDone;
+
+    public DoneQuery(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        return t.isDone() == isDone;
+    }
+
+    /**
+     * Looks up matching Tasks through the task list's index of completion statuses.
+     */
+    @Override
+    protected List<Task> findCandidates(TaskList tasks) {
+        return tasks.getTasksWithCompletionStatus(isDone);
+    }
+}
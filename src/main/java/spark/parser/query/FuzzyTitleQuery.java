@@ -0,0 +1,68 @@
+package spark.parser.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import spark.tasks.TaskList;
+import spark.tasks.TitleWordIndex;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A condition satisfied by Tasks with a title word that is at most a few typos
+ * away from a search-term; longer search-terms tolerate more typos.
+ */
+public class FuzzyTitleQuery extends TaskQuery {
+    private static final int MAX_LENGTH_FOR_ONE_TYPO = 5;
+
+    private final String searchTerm;
+    private final int maxDistance;
+
+    public FuzzyTitleQuery(String searchTerm) {
+        this.searchTerm = searchTerm.toLowerCase();
+        this.maxDistance = searchTerm.length() <= MAX_LENGTH_FOR_ONE_TYPO ? 1 : 2;
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        for (String word : TitleWordIndex.getWords(t.getTitle())) {
+            if (TitleWordIndex.getEditDistance(searchTerm, word) <= maxDistance) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Looks up matching Tasks through the task list's sorted index of title words,
+     * then puts them back into task list order.
+     */
+    @Override
+    protected List<Task> findCandidates(TaskList tasks) {
+        List<Task> candidates = new ArrayList<>(tasks.findTasksWithWordsNear(searchTerm, maxDistance));
+        candidates.sort(Comparator.comparingInt(tasks::getPosition));
+        return candidates;
+    }
+
+    /**
+     * Returns every matching Task, closest matches first, when searching for this condition alone.
+     */
+    @Override
+    public List<Task> execute(TaskList tasks) {
+        return tasks.findTasksWithWordsNear(searchTerm, maxDistance);
+    }
+
+    /**
+     * Returns every matching Task, closest matches first; they all have to be found to be ranked.
+     */
+    @Override
+    public Iterator<Task> executeLazily(TaskList tasks) {
+        return execute(tasks).iterator();
+    }
+
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+}
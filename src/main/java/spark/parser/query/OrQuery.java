@@ -0,0 +1,30 @@
+package spark.parser.query;
+
+import java.util.List;
+
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A condition satisfied by Tasks that satisfy at least one of several conditions.
+ * <p>
+ * Tasks found through indexes for each condition cannot be merged back into task
+ * list order cheaply, so every Task is checked in a single pass instead.
+ */
+public class OrQuery extends TaskQuery {
+    private final List<TaskQuery> alternatives;
+
+    public OrQuery(List<TaskQuery> alternatives) {
+        this.alternatives = alternatives;
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        for (TaskQuery alternative : alternatives) {
+            if (alternative.matches(t)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,217 @@
+package spark.parser.query;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import spark.exceptions.formatexceptions.InvalidFindParamsException;
+import spark.tasks.tasktypes.TaskType;
+
+/**
+ * Holds methods for compiling the search-terms of a find command into a TaskQuery.
+ * <p>
+ * A query is made up of conditions separated by spaces, all of which have to be
+ * satisfied, and alternatives separated by {@code OR}. A condition is either a
+ * field such as {@code type:deadline}, {@code done:false}, {@code before:3-1-2022}
+ * or {@code after:3-1-2022}, a {@code "quoted phrase"}, a single word that
+ * should appear in the title, or a single word prefixed with {@code ~} that should
+ * appear in the title give or take a typo or two. Search-terms without any fields, quotes or
+ * {@code OR} are looked for in titles as they are, spaces included.
+ */
+public class QueryParser {
+    private static final DateTimeFormatter INPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("M-d-yyyy");
+    private static final String OR_KEYWORD = "OR";
+    private static final char QUOTE = '"';
+    private static final char FIELD_SEPARATOR = ':';
+    private static final String FUZZY_PREFIX = "~";
+
+    /**
+     * Compiles the search-terms of a find command into a TaskQuery.
+     *
+     * @param searchTerms                what the user wants to search for.
+     * @return                           a TaskQuery satisfied by the Tasks the user is looking for.
+     * @throws InvalidFindParamsException if the search-terms are not a valid query.
+     */
+    public static TaskQuery parse(String searchTerms) throws InvalidFindParamsException {
+        List<Token> tokens = tokenise(searchTerms);
+
+        if (isPlainSearchTerm(tokens)) {
+            return new TitleQuery(searchTerms.trim());
+        }
+
+        List<TaskQuery> alternatives = new ArrayList<>();
+        List<TaskQuery> conditions = new ArrayList<>();
+
+        for (Token token : tokens) {
+            if (token.isOrKeyword()) {
+                alternatives.add(combineConditions(conditions));
+                conditions = new ArrayList<>();
+            } else {
+                conditions.add(parseCondition(token));
+            }
+        }
+        alternatives.add(combineConditions(conditions));
+
+        return alternatives.size() == 1 ? alternatives.get(0) : new OrQuery(alternatives);
+    }
+
+    private static List<Token> tokenise(String searchTerms) throws InvalidFindParamsException {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+
+        while (i < searchTerms.length()) {
+            char c = searchTerms.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == QUOTE) {
+                int closingQuote = searchTerms.indexOf(QUOTE, i + 1);
+                if (closingQuote < 0) {
+                    throw new InvalidFindParamsException();
+                }
+
+                tokens.add(new Token(searchTerms.substring(i + 1, closingQuote), true));
+                i = closingQuote + 1;
+            } else {
+                int end = i;
+                while (end < searchTerms.length() && !Character.isWhitespace(searchTerms.charAt(end))) {
+                    end++;
+                }
+
+                tokens.add(new Token(searchTerms.substring(i, end), false));
+                i = end;
+            }
+        }
+
+        return tokens;
+    }
+
+    private static boolean isPlainSearchTerm(List<Token> tokens) {
+        for (Token token : tokens) {
+            if (token.isQuoted || token.isOrKeyword() || token.isFuzzy() || token.getField() != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Combines conditions that all have to be satisfied, putting the conditions
+     * that can be looked up with an index first.
+     */
+    private static TaskQuery combineConditions(List<TaskQuery> conditions) throws InvalidFindParamsException {
+        if (conditions.isEmpty()) {
+            throw new InvalidFindParamsException();
+        }
+
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+
+        conditions.sort(Comparator.comparingInt(QueryParser::getIndexRank));
+        return new AndQuery(conditions);
+    }
+
+    /**
+     * Ranks conditions by how well the index they can be looked up with narrows down a search;
+     * titles usually narrow it down much more than completion statuses do.
+     */
+    private static int getIndexRank(TaskQuery condition) {
+        if (condition instanceof TitleQuery || condition instanceof FuzzyTitleQuery) {
+            return 0;
+        } else if (condition instanceof DoneQuery) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    private static TaskQuery parseCondition(Token token) throws InvalidFindParamsException {
+        String field = token.getField();
+
+        if (token.isFuzzy()) {
+            return new FuzzyTitleQuery(token.text.substring(FUZZY_PREFIX.length()));
+        }
+
+        if (field == null) {
+            if (token.text.isEmpty()) {
+                throw new InvalidFindParamsException();
+            }
+            return new TitleQuery(token.text);
+        }
+
+        String value = token.text.substring(field.length() + 1);
+
+        switch (field) {
+        case "type":
+            TaskType type = TaskType.fromName(value);
+            if (type == null) {
+                throw new InvalidFindParamsException();
+            }
+            return new TypeQuery(type);
+        case "done":
+            if (!value.equals("true") && !value.equals("false")) {
+                throw new InvalidFindParamsException();
+            }
+            return new DoneQuery(Boolean.parseBoolean(value));
+        case "before":
+            return DateQuery.before(parseDate(value));
+        case "after":
+            return DateQuery.after(parseDate(value));
+        default:
+            throw new InvalidFindParamsException();
+        }
+    }
+
+    private static LocalDate parseDate(String date) throws InvalidFindParamsException {
+        try {
+            return LocalDate.parse(date, INPUT_DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new InvalidFindParamsException();
+        }
+    }
+
+    /**
+     * Represents a single word, field or quoted phrase in the search-terms.
+     */
+    private static class Token {
+        private static final String[] FIELDS = { "type", "done", "before", "after" };
+
+        private final String text;
+        private final boolean isQuoted;
+
+        Token(String text, boolean isQuoted) {
+            this.text = text;
+            this.isQuoted = isQuoted;
+        }
+
+        boolean isOrKeyword() {
+            return !isQuoted && text.equals(OR_KEYWORD);
+        }
+
+        boolean isFuzzy() {
+            return !isQuoted && text.startsWith(FUZZY_PREFIX) && text.length() > FUZZY_PREFIX.length();
+        }
+
+        /**
+         * Returns the name of the field this token specifies, or null if it is not a field.
+         */
+        String getField() {
+            if (isQuoted) {
+                return null;
+            }
+
+            for (String field : FIELDS) {
+                if (text.startsWith(field + FIELD_SEPARATOR)) {
+                    return field;
+                }
+            }
+
+            return null;
+        }
+    }
+}
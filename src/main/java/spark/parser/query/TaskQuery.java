@@ -0,0 +1,87 @@
+package spark.parser.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Represents a compiled condition that Tasks can be searched for with.
+ * All conditions that can be used in a find command are sub-classes of this class.
+ */
+public abstract class TaskQuery {
+    /**
+     * Returns true if the Task satisfies this condition.
+     */
+    public abstract boolean matches(Task t);
+
+    /**
+     * Returns, in task list order, every Task that could satisfy this condition,
+     * looked up using an index kept by the task list; or null if no index can help,
+     * in which case every Task in the task list has to be checked.
+     */
+    protected List<Task> findCandidates(TaskList tasks) {
+        return null;
+    }
+
+    /**
+     * Returns every Task in the task list that satisfies this condition, in task list order
+     * unless the condition ranks its matches, such as a fuzzy search showing the closest first.
+     */
+    public List<Task> execute(TaskList tasks) {
+        List<Task> candidates = findCandidates(tasks);
+
+        if (candidates == null) {
+            return tasks.findTasksMatching(this::matches);
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (Task t : candidates) {
+            if (matches(t)) {
+                matches.add(t);
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the same Tasks as {@link #execute(TaskList)}, in the same order, but only checks
+     * each Task against this condition once the iterator is asked for the next match, so a
+     * large number of matches can be shown a few at a time without all of them being found first.
+     */
+    public Iterator<Task> executeLazily(TaskList tasks) {
+        List<Task> candidates = findCandidates(tasks);
+        Iterator<Task> remaining = (candidates == null ? tasks.getTasks() : candidates).iterator();
+
+        return new Iterator<>() {
+            private Task nextMatch;
+
+            @Override
+            public boolean hasNext() {
+                while (nextMatch == null && remaining.hasNext()) {
+                    Task t = remaining.next();
+                    if (matches(t)) {
+                        nextMatch = t;
+                    }
+                }
+
+                return nextMatch != null;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                Task match = nextMatch;
+                nextMatch = null;
+                return match;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package spark.parser.query;
+
+import java.util.List;
+
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A condition satisfied by Tasks with titles containing a search-term.
+ */
+public class TitleQuery extends TaskQuery {
+    private final String searchTerm;
+
+    public TitleQuery(String searchTerm) {
+        this.searchTerm = searchTerm;
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        return t.getTitle().contains(searchTerm);
+    }
+
+    /**
+     * Looks up matching Tasks through the task list's cache of search results.
+     */
+    @Override
+    protected List<Task> findCandidates(TaskList tasks) {
+        return tasks.findTask(searchTerm);
+    }
+
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+}
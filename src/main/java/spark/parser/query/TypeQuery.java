@@ -0,0 +1,20 @@
+package spark.parser.query;
+
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
+
+/**
+ * A condition satisfied by Tasks of a certain kind.
+ */
+public class TypeQuery extends TaskQuery {
+    private final TaskType type;
+
+    public TypeQuery(TaskType type) {
+        this.type = type;
+    }
+
+    @Override
+    public boolean matches(Task t) {
+        return t.getTaskType() == type;
+    }
+}
@@ -0,0 +1,182 @@
+package spark.reminders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import spark.tasks.TaskList;
+import spark.tasks.TaskListListener;
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Reminds the user of deadlines and events shortly before they are due.
+ * <p>
+ * Every incomplete dated Task in the watched task list has a single reminder in a
+ * {@link TimingWheel}, set for a little while before its date. The reminder is set
+ * when the Task is added, moved when it is marked or unmarked, and dropped when it is
+ * deleted, each in constant time; so hundreds of thousands of reminders only cost the
+ * time to look at one slot of the wheel once a minute.
+ * <p>
+ * Reminders are handed out by {@link #pollDueReminders()}, which can be called whenever
+ * the user runs a command, or once a minute on a background thread started by
+ * {@link #start(Runnable)}.
+ */
+public class ReminderScheduler implements TaskListListener {
+    /** The number of minutes before a Task is due that the user is reminded of it, by default. */
+    public static final long DEFAULT_LEAD_MINUTES = 60;
+
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private final long leadMinutes;
+    private final LongSupplier clock;
+    private final TimingWheel<Task> wheel;
+    private final Map<Task, TimingWheel.Entry<Task>> reminders = new HashMap<>();
+    private TaskList watchedTasks;
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Creates a scheduler reminding the user an hour before Tasks are due, going by the system clock.
+     */
+    public ReminderScheduler() {
+        this(DEFAULT_LEAD_MINUTES, () -> EpochMinutes.of(LocalDateTime.now()));
+    }
+
+    /**
+     * Creates a scheduler reminding the user a number of minutes before Tasks are due.
+     *
+     * @param leadMinutes the number of minutes before a Task is due that the user is reminded of it.
+     * @param clock       returns the current time, in minutes from the epoch.
+     */
+    public ReminderScheduler(long leadMinutes, LongSupplier clock) {
+        this.leadMinutes = leadMinutes;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(clock.getAsLong());
+    }
+
+    /**
+     * Sets reminders for every Task in the task list, and keeps them up to date as the task list
+     * changes, instead of any task list watched before.
+     */
+    public synchronized void watch(TaskList tasks) {
+        unwatch();
+
+        this.watchedTasks = tasks;
+        for (Task t : tasks.getTasks()) {
+            setReminder(t);
+        }
+        tasks.addListener(this);
+    }
+
+    /**
+     * Drops every reminder, and stops watching the task list.
+     */
+    public synchronized void unwatch() {
+        if (watchedTasks == null) {
+            return;
+        }
+
+        watchedTasks.removeListener(this);
+        watchedTasks = null;
+        reminders.values().forEach(wheel::remove);
+        reminders.clear();
+    }
+
+    /**
+     * Returns the Tasks the user should be reminded of now, in the order they became due
+     * for a reminder. Each Task is only returned once, until it is marked or unmarked.
+     */
+    public synchronized List<Task> pollDueReminders() {
+        List<Task> dueTasks = new ArrayList<>();
+
+        wheel.advance(clock.getAsLong(), t -> {
+            reminders.remove(t);
+            dueTasks.add(t);
+        });
+
+        return dueTasks;
+    }
+
+    /**
+     * Returns the number of reminders that have not been handed out yet.
+     */
+    public synchronized int getNumberOfPendingReminders() {
+        return wheel.size();
+    }
+
+    /**
+     * Runs the callback at the start of every minute on a background thread; the callback
+     * should call {@link #pollDueReminders()} while no command is changing the task list.
+     */
+    public synchronized void start(Runnable onTick) {
+        if (ticker != null) {
+            return;
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "spark-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long secondsToNextMinute = SECONDS_PER_MINUTE - LocalDateTime.now().getSecond();
+        ticker.scheduleAtFixedRate(onTick, secondsToNextMinute, SECONDS_PER_MINUTE, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the background thread, if it was started, and stops watching the task list.
+     */
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+
+        unwatch();
+    }
+
+    @Override
+    public synchronized void taskAdded(Task t) {
+        setReminder(t);
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task t) {
+        dropReminder(t);
+    }
+
+    @Override
+    public synchronized void taskChanged(Task t) {
+        dropReminder(t);
+        setReminder(t);
+    }
+
+    /**
+     * Sets a reminder for an incomplete Task that is due in the future; if it is due sooner
+     * than the lead time, the user is reminded of it straight away.
+     */
+    private void setReminder(Task t) {
+        long dueTime = t.getEpochMinutes();
+        long currentTime = clock.getAsLong();
+
+        if (t.isDone() || dueTime == EpochMinutes.NONE || dueTime <= currentTime) {
+            return;
+        }
+
+        reminders.put(t, wheel.add(t, Math.max(dueTime - leadMinutes, currentTime)));
+    }
+
+    private void dropReminder(Task t) {
+        TimingWheel.Entry<Task> reminder = reminders.remove(t);
+
+        if (reminder != null) {
+            wheel.remove(reminder);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package spark.reminders;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding items that expire at a given minute.
+ * <p>
+ * The wheel has a few levels of 64 slots each. A slot of the lowest level holds the
+ * items expiring in one particular minute, a slot of the next level those expiring in
+ * one particular run of 64 minutes, and so on, so four levels cover about 30 years;
+ * items further away than that wait in an overflow list. Each slot is a doubly-linked
+ * list, so adding and removing an item takes the same time however many items there are.
+ * <p>
+ * Advancing the wheel by a minute only looks at the one lowest-level slot for that minute.
+ * Whenever a run of minutes starts, the items of the higher-level slot covering it are
+ * spread out over the lower levels; every item is moved at most once per level.
+ *
+ * @param <T> the type of the items.
+ */
+public class TimingWheel<T> {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 4;
+
+    /** The sentinel heading the list of items in each slot, by level. */
+    private final Entry<T>[][] slots;
+    /** Items expiring after the last slot of the highest level. */
+    private final Entry<T> overflow = new Entry<>(null, 0);
+    /** Items that expired before they were added, to be handed out by the next advance. */
+    private final Entry<T> expired = new Entry<>(null, 0);
+    private long currentTime;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param currentTime the current time, in minutes.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"}) // arrays of a generic type can only be created raw
+    public TimingWheel(long currentTime) {
+        this.currentTime = currentTime;
+        this.slots = new Entry[LEVELS][SLOTS_PER_LEVEL];
+
+        for (Entry<T>[] level : slots) {
+            for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+                level[slot] = new Entry<>(null, 0);
+            }
+        }
+    }
+
+    /**
+     * Adds an item expiring at the given minute, which is handed out by the first advance
+     * to that minute or later. An item expiring at or before the current time is handed out
+     * by the next advance.
+     *
+     * @return the entry of the item in the wheel, with which it can be removed.
+     */
+    public Entry<T> add(T item, long expiryTime) {
+        Entry<T> entry = new Entry<>(item, expiryTime);
+        place(entry);
+        size++;
+
+        return entry;
+    }
+
+    /**
+     * Removes the entry from the wheel, if it has not expired or been removed already.
+     */
+    public void remove(Entry<T> entry) {
+        if (entry.isLinked()) {
+            entry.unlink();
+            size--;
+        }
+    }
+
+    /**
+     * Moves the current time forward to the given minute, handing every item that expires
+     * on the way, or before it, to the consumer. Moving the time backwards does nothing.
+     */
+    public void advance(long time, Consumer<T> onExpiry) {
+        drain(expired, onExpiry);
+
+        if (size == 0) {
+            currentTime = Math.max(currentTime, time);
+            return;
+        }
+
+        while (currentTime < time) {
+            currentTime++;
+
+            if (isStartOfRun(LEVELS)) {
+                cascade(overflow);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if (isStartOfRun(level)) {
+                    cascade(slots[level][getSlot(currentTime, level)]);
+                }
+            }
+
+            drain(slots[0][getSlot(currentTime, 0)], onExpiry);
+            drain(expired, onExpiry);
+
+            if (size == 0) {
+                currentTime = time;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items in the wheel.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Links the entry into the lowest level whose slots it can be told apart by.
+     */
+    private void place(Entry<T> entry) {
+        long delay = entry.expiryTime - currentTime;
+
+        if (delay <= 0) {
+            entry.linkBefore(expired);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delay < 1L << (BITS_PER_LEVEL * (level + 1))) {
+                entry.linkBefore(slots[level][getSlot(entry.expiryTime, level)]);
+                return;
+            }
+        }
+
+        entry.linkBefore(overflow);
+    }
+
+    /**
+     * Places every entry of the list again, now that the current time has moved closer to it.
+     */
+    private void cascade(Entry<T> head) {
+        Entry<T> entry = head.next;
+        head.next = head;
+        head.previous = head;
+
+        while (entry != head) {
+            Entry<T> next = entry.next;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void drain(Entry<T> head, Consumer<T> onExpiry) {
+        while (head.next != head) {
+            Entry<T> entry = head.next;
+            entry.unlink();
+            size--;
+            onExpiry.accept(entry.item);
+        }
+    }
+
+    /**
+     * Returns true if the current time is the first minute of a run covered by a slot of the level.
+     */
+    private boolean isStartOfRun(int level) {
+        return (currentTime & ((1L << (BITS_PER_LEVEL * level)) - 1)) == 0;
+    }
+
+    private static int getSlot(long time, int level) {
+        return (int) ((time >> (BITS_PER_LEVEL * level)) & SLOT_MASK);
+    }
+
+    /**
+     * An item in the wheel, linked into the list of one slot.
+     *
+     * @param <T> the type of the item.
+     */
+    public static class Entry<T> {
+        private final T item;
+        private final long expiryTime;
+        private Entry<T> previous = this;
+        private Entry<T> next = this;
+
+        private Entry(T item, long expiryTime) {
+            this.item = item;
+            this.expiryTime = expiryTime;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getExpiryTime() {
+            return expiryTime;
+        }
+
+        private boolean isLinked() {
+            return next != this;
+        }
+
+        private void linkBefore(Entry<T> head) {
+            previous = head.previous;
+            next = head;
+            head.previous.next = this;
+            head.previous = this;
+        }
+
+        private void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = this;
+            next = this;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package spark.storage;
+
+/**
+ * Describes how the task list was updated to match a save-file that was
+ * changed by another program.
+ */
+public class SaveFileChange {
+    /** The save-file was not changed by another program. */
+    public static final SaveFileChange NONE = new SaveFileChange(false, 0, 0, 0);
+
+    private final boolean isAppend;
+    private final int numberOfTasksAdded;
+    private final int numberOfTasksRemoved;
+    private final int numberOfSkippedLines;
+
+    /**
+     * Creates a description of an update to the task list.
+     *
+     * @param isAppend             whether lines were only appended to the save-file.
+     * @param numberOfTasksAdded   the number of Tasks read from the save-file and added to the task list.
+     * @param numberOfTasksRemoved the number of Tasks removed from the task list, including
+     *                             those that were replaced by a changed line.
+     * @param numberOfSkippedLines the number of changed lines that could not be decoded to a Task.
+     */
+    public SaveFileChange(boolean isAppend, int numberOfTasksAdded, int numberOfTasksRemoved,
+            int numberOfSkippedLines) {
+        this.isAppend = isAppend;
+        this.numberOfTasksAdded = numberOfTasksAdded;
+        this.numberOfTasksRemoved = numberOfTasksRemoved;
+        this.numberOfSkippedLines = numberOfSkippedLines;
+    }
+
+    /**
+     * Returns true if the task list was changed to match the save-file.
+     */
+    public boolean hasChanges() {
+        return numberOfTasksAdded > 0 || numberOfTasksRemoved > 0 || numberOfSkippedLines > 0;
+    }
+
+    public boolean isAppend() {
+        return isAppend;
+    }
+
+    public int getNumberOfTasksAdded() {
+        return numberOfTasksAdded;
+    }
+
+    public int getNumberOfTasksRemoved() {
+        return numberOfTasksRemoved;
+    }
+
+    public int getNumberOfSkippedLines() {
+        return numberOfSkippedLines;
+    }
+}
@@ -0,0 +1,81 @@
+package spark.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Contains methods to read and write the first line of a text save-file, which holds
+ * the generation of the save-file: the number of times Spark has saved it. Every copy
+ * of Spark sharing the save-file can tell from the generation alone whether another
+ * copy has saved it since it last read or wrote it.
+ * <p>
+ * The generation is written with a fixed number of digits, so it can be updated in
+ * place without rewriting the rest of the save-file. Save-files written before the
+ * header was added, or by other programs, may not have one.
+ */
+public class SaveFileHeader {
+    /** The generation of a save-file without a header. */
+    public static final long NONE = -1;
+
+    private static final String PREFIX = "# spark generation ";
+    private static final String FORMAT = PREFIX + "%019d" + System.lineSeparator();
+    /** The number of bytes in the header, including its line separator. */
+    private static final int LENGTH = encode(0).getBytes(StandardCharsets.UTF_8).length;
+
+    /**
+     * Returns the header holding the generation, including its line separator.
+     */
+    public static String encode(long generation) {
+        return String.format(FORMAT, generation);
+    }
+
+    /**
+     * Returns true if the line of the save-file is a header rather than an encoded Task.
+     */
+    public static boolean isHeader(String line) {
+        return line.startsWith(PREFIX);
+    }
+
+    /**
+     * Returns the generation held in the header at the start of the save-file, or
+     * {@link #NONE} if the save-file does not start with a header.
+     *
+     * @throws IOException if the save-file could not be read from.
+     */
+    public static long readGeneration(FileChannel channel) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(LENGTH);
+
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, bytes.position()) < 0) {
+                return NONE;
+            }
+        }
+
+        String header = new String(bytes.array(), StandardCharsets.UTF_8).trim();
+        if (!isHeader(header)) {
+            return NONE;
+        }
+
+        try {
+            return Long.parseLong(header.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Replaces the header at the start of the save-file with one holding the generation,
+     * leaving the rest of the save-file as it is.
+     *
+     * @throws IOException if the save-file could not be written to.
+     */
+    public static void writeGeneration(FileChannel channel, long generation) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(encode(generation).getBytes(StandardCharsets.UTF_8));
+
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, bytes.position());
+        }
+    }
+}
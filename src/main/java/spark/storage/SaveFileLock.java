@@ -0,0 +1,130 @@
+package spark.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import spark.exceptions.fileexceptions.WriteFileException;
+
+/**
+ * Gives a thread the sole right to read and write a save-file, shared with every other
+ * copy of Spark on the same computer, until the lock is closed.
+ * <p>
+ * Other programs are kept out with a {@link FileLock} on a lock-file next to the save-file,
+ * rather than on the save-file itself: closing any other handle to a locked file releases
+ * the lock on some systems, and other programs that only append to the save-file are not
+ * stopped from doing so. As a {@code FileLock} is held by the whole program rather than a
+ * thread, threads of the same program take turns with an ordinary lock first. A thread
+ * already holding the lock may lock the save-file again, and holds it until every one of
+ * its locks is closed.
+ */
+public class SaveFileLock implements Closeable {
+    /** A lock for save-files that only one program uses at a time, which does not lock anything. */
+    public static final SaveFileLock NONE = new SaveFileLock(null);
+
+    private static final String LOCK_FILE_EXTENSION = ".lock";
+    /** The holder of the lock on each save-file, by its absolute path. */
+    private static final Map<Path, Holder> holders = new HashMap<>();
+
+    private final Holder holder;
+    private boolean isClosed;
+
+    private SaveFileLock(Holder holder) {
+        this.holder = holder;
+    }
+
+    /**
+     * Waits until no other thread or program holds the lock on the save-file, then takes it.
+     *
+     * @throws WriteFileException if the lock-file could not be created or locked.
+     */
+    public static SaveFileLock acquire(Path saveFile) throws WriteFileException {
+        Holder holder;
+        synchronized (holders) {
+            holder = holders.computeIfAbsent(saveFile.toAbsolutePath(), Holder::new);
+        }
+
+        holder.lock.lock();
+        try {
+            if (holder.lock.getHoldCount() == 1) {
+                holder.lockFile();
+            }
+        } catch (IOException e) {
+            holder.lock.unlock();
+            throw new WriteFileException();
+        }
+
+        return new SaveFileLock(holder);
+    }
+
+    /**
+     * Checks that this thread still holds the lock, before doing something that is only
+     * safe while no other copy of Spark can write the save-file.
+     *
+     * @throws IllegalStateException if the lock has been closed, or was taken by another thread.
+     */
+    public void assertHeld() {
+        if (holder == null) {
+            return;
+        }
+
+        if (isClosed || !holder.lock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("The save-file is not locked by this thread");
+        }
+    }
+
+    /**
+     * Lets go of the lock, letting other threads and programs take it once this thread
+     * holds no other lock on the save-file.
+     */
+    @Override
+    public void close() {
+        if (holder == null || isClosed) {
+            return;
+        }
+
+        isClosed = true;
+        if (holder.lock.getHoldCount() == 1) {
+            holder.unlockFile();
+        }
+        holder.lock.unlock();
+    }
+
+    /**
+     * Holds the lock on a save-file for every thread of this program.
+     */
+    private static class Holder {
+        private final Path lockFilePath;
+        private final ReentrantLock lock = new ReentrantLock();
+        private FileChannel channel;
+
+        Holder(Path saveFile) {
+            this.lockFilePath = saveFile.resolveSibling(saveFile.getFileName() + LOCK_FILE_EXTENSION);
+        }
+
+        void lockFile() throws IOException {
+            channel = FileChannel.open(lockFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                channel.lock();
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        void unlockFile() {
+            try {
+                // closing the channel releases the lock on it
+                channel.close();
+            } catch (IOException e) {
+                // the lock is released along with the channel either way
+            }
+        }
+    }
+}
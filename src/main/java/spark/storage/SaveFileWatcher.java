@@ -0,0 +1,288 @@
+package spark.storage;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import spark.exceptions.fileexceptions.ReadFileException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.exceptions.taskmodificationexceptions.TaskNotFoundException;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Keeps the task list up to date with changes that other programs make to a
+ * text save-file, so that those changes are not lost the next time Spark saves.
+ * <p>
+ * The watcher remembers the size of the save-file and its last few bytes as of the
+ * last time Spark read or wrote it. If the save-file has grown and those bytes are
+ * unchanged, lines were only appended, and only the appended bytes are read and
+ * decoded. Otherwise the whole save-file is read, but only the lines between the
+ * longest unchanged prefix and suffix of the task list are decoded and swapped in.
+ * The generation in the {@link SaveFileHeader} is remembered too, so a save by another
+ * copy of Spark is noticed even if it leaves the size and time modified unchanged.
+ */
+public class SaveFileWatcher implements Closeable {
+    /** The number of bytes at the end of the save-file remembered to tell if it was only appended to. */
+    private static final int TAIL_SIZE = 256;
+
+    private final Path filePath;
+    private WatchService watchService;
+    private long knownSize;
+    private FileTime knownModifiedTime;
+    private long knownGeneration = SaveFileHeader.NONE;
+    private byte[] knownTail = new byte[0];
+
+    /**
+     * Creates a watcher for the save-file, taking its current contents as already
+     * being in the task list.
+     *
+     * @throws ReadFileException if the save-file could not be read from.
+     */
+    public SaveFileWatcher(Path filePath) throws ReadFileException {
+        this.filePath = filePath.toAbsolutePath();
+        acknowledgeWrites();
+    }
+
+    /**
+     * Starts watching the folder holding the save-file on a background thread, which runs
+     * the callback whenever the save-file might have been changed. The callback should
+     * call {@link #mergeExternalChanges(TaskList)} while no command is changing the task list.
+     *
+     * @throws IOException if the folder could not be watched.
+     */
+    public synchronized void start(Runnable onPossibleChange) throws IOException {
+        watchService = filePath.getFileSystem().newWatchService();
+        filePath.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+
+        Thread watchThread = new Thread(() -> watch(watchService, onPossibleChange), "spark-save-file-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * Updates the task list to match the save-file, if another program has changed it
+     * since Spark last read or wrote it.
+     *
+     * @throws ReadFileException    if the save-file could not be read from.
+     * @throws TaskNotFoundException if the task list was changed while it was being updated.
+     */
+    public synchronized SaveFileChange mergeExternalChanges(TaskList tasks)
+            throws ReadFileException, TaskNotFoundException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            FileTime modifiedTime = Files.getLastModifiedTime(filePath);
+            long generation = SaveFileHeader.readGeneration(channel);
+
+            if (size == knownSize && modifiedTime.equals(knownModifiedTime) && generation == knownGeneration) {
+                return SaveFileChange.NONE;
+            }
+
+            boolean hasSameHeader = (generation == SaveFileHeader.NONE) == (knownGeneration == SaveFileHeader.NONE);
+            knownGeneration = generation;
+
+            if (size > knownSize && hasSameHeader && endsWithKnownTail(channel)) {
+                return mergeAppendedLines(channel, size, modifiedTime, tasks);
+            }
+
+            return mergeChangedLines(channel, size, modifiedTime, tasks);
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+    }
+
+    /**
+     * Takes the current contents of the save-file as already being in the task list,
+     * such as after Spark has written the save-file itself.
+     *
+     * @throws ReadFileException if the save-file could not be read from.
+     */
+    public synchronized void acknowledgeWrites() throws ReadFileException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int tailSize = (int) Math.min(size, TAIL_SIZE);
+
+            knownTail = readBytes(channel, size - tailSize, tailSize);
+            knownSize = size;
+            knownModifiedTime = Files.getLastModifiedTime(filePath);
+            knownGeneration = SaveFileHeader.readGeneration(channel);
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+    }
+
+    /**
+     * Returns true if the folder holding the save-file is being watched.
+     */
+    public synchronized boolean isWatching() {
+        return watchService != null;
+    }
+
+    /**
+     * Stops watching the save-file; changes can still be merged by calling
+     * {@link #mergeExternalChanges(TaskList)}.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watch(WatchService watchService, Runnable onPossibleChange) {
+        Path fileName = filePath.getFileName();
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean isSaveFileChanged = false;
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    isSaveFileChanged |= event.kind() == OVERFLOW || fileName.equals(event.context());
+                }
+                key.reset();
+
+                if (isSaveFileChanged) {
+                    onPossibleChange.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the watcher was closed
+        }
+    }
+
+    /**
+     * Returns true if the bytes that used to be at the end of the save-file are unchanged,
+     * and ended with a complete line that appended lines cannot have continued.
+     */
+    private boolean endsWithKnownTail(FileChannel channel) throws IOException {
+        if (knownSize == 0) {
+            return true;
+        }
+
+        return knownTail[knownTail.length - 1] == '\n'
+                && Arrays.equals(knownTail, readBytes(channel, knownSize - knownTail.length, knownTail.length));
+    }
+
+    /**
+     * Decodes only the complete lines appended since the save-file was last read or written,
+     * and adds them to the end of the task list. A line that is still being written is left
+     * to be read the next time the save-file changes.
+     */
+    private SaveFileChange mergeAppendedLines(FileChannel channel, long size, FileTime modifiedTime,
+            TaskList tasks) throws IOException {
+        byte[] appended = readBytes(channel, knownSize, (int) (size - knownSize));
+        int end = appended.length;
+        while (end > 0 && appended[end - 1] != '\n') {
+            end--;
+        }
+
+        List<Task> addedTasks = new ArrayList<>();
+        int numberOfSkippedLines = decodeLines(new String(appended, 0, end, StandardCharsets.UTF_8)
+                .split("\r?\n"), addedTasks);
+        tasks.addTasks(addedTasks);
+
+        knownSize += end;
+        knownModifiedTime = end == appended.length ? modifiedTime : null;
+        if (end > 0) {
+            byte[] tail = new byte[knownTail.length + end];
+            System.arraycopy(knownTail, 0, tail, 0, knownTail.length);
+            System.arraycopy(appended, 0, tail, knownTail.length, end);
+            knownTail = Arrays.copyOfRange(tail, Math.max(0, tail.length - TAIL_SIZE), tail.length);
+        }
+
+        return new SaveFileChange(true, addedTasks.size(), 0, numberOfSkippedLines);
+    }
+
+    /**
+     * Reads the whole save-file, but only decodes the lines that differ from the encoded
+     * Tasks in the task list, after skipping the lines at the start and end that match.
+     */
+    private SaveFileChange mergeChangedLines(FileChannel channel, long size, FileTime modifiedTime,
+            TaskList tasks) throws IOException, TaskNotFoundException {
+        byte[] contents = readBytes(channel, 0, (int) size);
+        List<String> lines = new ArrayList<>();
+        for (String line : new String(contents, StandardCharsets.UTF_8).split("\r?\n")) {
+            if (!line.isBlank() && !SaveFileHeader.isHeader(line)) {
+                lines.add(line);
+            }
+        }
+
+        List<Task> currentTasks = tasks.getTasks();
+        int maxUnchanged = Math.min(lines.size(), currentTasks.size());
+        int prefix = 0;
+        while (prefix < maxUnchanged && lines.get(prefix).equals(currentTasks.get(prefix).encodeTask())) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < maxUnchanged - prefix && lines.get(lines.size() - 1 - suffix)
+                .equals(currentTasks.get(currentTasks.size() - 1 - suffix).encodeTask())) {
+            suffix++;
+        }
+
+        List<Task> changedTasks = new ArrayList<>();
+        int numberOfSkippedLines = decodeLines(lines.subList(prefix, lines.size() - suffix).toArray(new String[0]),
+                changedTasks);
+        int numberOfTasksRemoved = currentTasks.size() - prefix - suffix;
+        tasks.replaceTasks(prefix + 1, numberOfTasksRemoved, changedTasks);
+
+        knownSize = size;
+        knownModifiedTime = modifiedTime;
+        knownTail = Arrays.copyOfRange(contents, (int) Math.max(0, size - TAIL_SIZE), (int) size);
+
+        return new SaveFileChange(false, changedTasks.size(), numberOfTasksRemoved, numberOfSkippedLines);
+    }
+
+    /**
+     * Decodes every non-blank line into a Task, returning the number of lines that could not be decoded.
+     */
+    private static int decodeLines(String[] lines, List<Task> decodedTasks) {
+        int numberOfSkippedLines = 0;
+
+        for (String line : lines) {
+            if (line.isBlank() || SaveFileHeader.isHeader(line)) {
+                continue;
+            }
+
+            try {
+                decodedTasks.add(TaskDecoder.decodeTask(line));
+            } catch (TaskDecodingException | IndexOutOfBoundsException | DateTimeParseException e) {
+                numberOfSkippedLines++;
+            }
+        }
+
+        return numberOfSkippedLines;
+    }
+
+    private static byte[] readBytes(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, position + bytes.position()) < 0) {
+                throw new IOException("Save-file was truncated while being read");
+            }
+        }
+
+        return bytes.array();
+    }
+}
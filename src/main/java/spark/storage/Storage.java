@@ -1,20 +1,17 @@
 package spark.storage;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.function.DoubleConsumer;
 
 import spark.exceptions.fileexceptions.FileException;
-import spark.exceptions.fileexceptions.NotFoundException;
 import spark.exceptions.fileexceptions.ReadFileException;
 import spark.exceptions.fileexceptions.TaskDecodingException;
 import spark.exceptions.fileexceptions.WriteFileException;
+import spark.storage.backends.BTreeBackend;
+import spark.storage.backends.SlottedFileBackend;
+import spark.storage.backends.StorageBackend;
+import spark.storage.backends.TextFileBackend;
+import spark.tasks.TaskList;
 import spark.tasks.tasktypes.Task;
 
 /**
@@ -22,28 +19,37 @@ import spark.tasks.tasktypes.Task;
  * a File in the user's hard disk.
  */
 public class Storage {
-    /** The location of the save-file on the user's hard-disk. */
-    private final Path filePath;
-    /** Represents the save-file on the user's hard-disk. */
-    private final File tasksFile;
+    /** The format the save-file is stored in. */
+    private final StorageBackend backend;
 
     /**
-     * Opens the file at the specified relative file-path.
+     * Opens the file at the specified relative file-path, using the
+     * save-file format matching its file-extension.
      * If no file can be found, creates a new file at the
      * specified file-path.
      *
      * @throws ReadFileException if the save-file could not be created or read from.
      */
     public Storage(String filePathString) throws ReadFileException {
-        this.filePath = Paths.get(filePathString);
-        this.tasksFile = new File(filePath.toString());
-
-        if (!tasksFile.exists()) {
-            try {
-                this.tasksFile.createNewFile();
-            } catch (IOException e) {
-                throw new ReadFileException();
-            }
+        this(openBackend(filePathString));
+    }
+
+    /**
+     * Creates a Storage that saves Tasks using the given save-file format.
+     *
+     * @param backend the format the save-file is stored in.
+     */
+    public Storage(StorageBackend backend) {
+        this.backend = backend;
+    }
+
+    private static StorageBackend openBackend(String filePathString) throws ReadFileException {
+        if (filePathString.endsWith(SlottedFileBackend.FILE_EXTENSION)) {
+            return new SlottedFileBackend(filePathString);
+        } else if (filePathString.endsWith(BTreeBackend.FILE_EXTENSION)) {
+            return new BTreeBackend(filePathString);
+        } else {
+            return new TextFileBackend(filePathString);
         }
     }
 
@@ -52,24 +58,23 @@ public class Storage {
      *
      * @return                       a list of Tasks stored in the save-file.
      * @throws TaskDecodingException if the save-file could not be decoded.
+     * @throws FileException         if the save-file could not be found or read from.
      */
-    public List<Task> readTasksFile() throws TaskDecodingException, NotFoundException {
-        List<Task> tasks = new ArrayList<>();
-
-        try {
-            Scanner sc = new Scanner(this.tasksFile);
-            while (sc.hasNextLine()) {
-                String encodedTask = sc.nextLine();
-                if (!encodedTask.isBlank()) {
-                    Task t = TaskDecoder.decodeTask(encodedTask);
-                    tasks.add(t);
-                }
-            }
-        } catch (FileNotFoundException e) {
-            throw new NotFoundException();
-        }
+    public List<Task> readTasksFile() throws TaskDecodingException, FileException {
+        return backend.readTasks();
+    }
 
-        return tasks;
+    /**
+     * Reads and decodes saved Tasks from the file into a List of Task objects,
+     * reporting how far through the file it has got along the way.
+     *
+     * @param onProgress             receives the fraction of the file read so far, from 0 to 1.
+     * @return                       a list of Tasks stored in the save-file.
+     * @throws TaskDecodingException if the save-file could not be decoded.
+     * @throws FileException         if the save-file could not be found or read from.
+     */
+    public List<Task> readTasksFile(DoubleConsumer onProgress) throws TaskDecodingException, FileException {
+        return backend.readTasks(onProgress);
     }
 
     /**
@@ -79,16 +84,98 @@ public class Storage {
      * @throws FileException if the save-file could not be modified.
      */
     public void writeTasksFile(String encodedTasks) throws FileException {
-        try {
-            FileWriter fw = new FileWriter(filePath.toString());
-            fw.write(encodedTasks);
-            fw.close();
-        } catch (IOException e) {
-            throw new WriteFileException();
-        }
+        backend.writeTasks(encodedTasks);
+    }
+
+    /**
+     * Saves the change in completion status of the Task at the specified index.
+     *
+     * @param tasks the task list containing the modified Task.
+     * @param index the one-based index of the modified Task.
+     * @throws FileException if the save-file could not be modified.
+     */
+    public void writeModifiedTask(TaskList tasks, int index) throws FileException {
+        backend.writeModifiedTask(tasks, index);
+    }
+
+    /**
+     * Saves the changes in completion status of the Tasks at the specified indexes.
+     *
+     * @param tasks   the task list containing the modified Tasks.
+     * @param indexes the one-based indexes of the modified Tasks, in ascending order.
+     * @throws FileException if the save-file could not be modified.
+     */
+    public void writeModifiedTasks(TaskList tasks, int[] indexes) throws FileException {
+        backend.writeModifiedTasks(tasks, indexes);
     }
 
-    private String encodeTask(Task t) {
-        return t.encodeTask();
+    /**
+     * Saves the Task that was most recently added to the end of the task list.
+     *
+     * @param tasks the task list containing the added Task.
+     * @throws FileException if the save-file could not be modified.
+     */
+    public void writeAddedTask(TaskList tasks) throws FileException {
+        backend.writeAddedTask(tasks);
+    }
+
+    /**
+     * Saves the given number of Tasks most recently added to the end of the task list.
+     *
+     * @param tasks         the task list containing the added Tasks.
+     * @param numberOfTasks the number of Tasks that were added.
+     * @throws FileException if the save-file could not be modified.
+     */
+    public void writeAddedTasks(TaskList tasks, int numberOfTasks) throws FileException {
+        backend.writeAddedTasks(tasks, numberOfTasks);
+    }
+
+    /**
+     * Removes the Task that was deleted from the specified index from the save-file.
+     *
+     * @param tasks the task list that the Task was deleted from.
+     * @param index the one-based index the deleted Task was at.
+     * @throws FileException if the save-file could not be modified.
+     */
+    public void writeDeletedTask(TaskList tasks, int index) throws FileException {
+        backend.writeDeletedTask(tasks, index);
+    }
+
+    /**
+     * Removes the Tasks that were deleted from the specified indexes from the save-file.
+     *
+     * @param tasks   the task list that the Tasks were deleted from.
+     * @param indexes the one-based indexes the deleted Tasks were at before any
+     *                of them were deleted, in ascending order.
+     * @throws FileException if the save-file could not be modified.
+     */
+    public void writeDeletedTasks(TaskList tasks, int[] indexes) throws FileException {
+        backend.writeDeletedTasks(tasks, indexes);
+    }
+
+    /**
+     * Waits until no other copy of Spark is reading or writing the save-file, and keeps them
+     * from doing so until the returned lock is closed.
+     *
+     * @throws WriteFileException if the save-file could not be locked.
+     */
+    public SaveFileLock lock() throws WriteFileException {
+        return backend.lock();
+    }
+
+    /**
+     * Forces any saved changes still held in memory onto the hard-disk, and releases the save-file.
+     *
+     * @throws FileException if the save-file could not be written to.
+     */
+    public void close() throws FileException {
+        backend.close();
+    }
+
+    /**
+     * Returns the format the save-file is stored in.
+     */
+    public StorageBackend getBackend() {
+        return backend;
     }
 }
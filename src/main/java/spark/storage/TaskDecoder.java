@@ -1,9 +1,13 @@
 package spark.storage;
 
 import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.tasks.TitlePool;
 import spark.tasks.tasktypes.Deadline;
 import spark.tasks.tasktypes.Event;
+import spark.tasks.tasktypes.Recurrence;
+import spark.tasks.tasktypes.RecurringTask;
 import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
 import spark.tasks.tasktypes.Todo;
 
 /**
@@ -21,7 +25,32 @@ public class TaskDecoder {
      *                               could not be decoded to any known forms.
      */
     public static Task decodeTask(String encodedTask) throws TaskDecodingException {
+        return decodeTokens(encodedTask.split(" @@@ "));
+    }
+
+    /**
+     * Converts the encoded-representation of a Task to a Task object with
+     * the given completion status, ignoring the status stored in the
+     * encoded-representation.
+     *
+     * @param encodedTask            the encoded-representation of a Task.
+     * @param isDone                 the completion status the Task should have.
+     * @return                       the decoded Task object
+     * @throws TaskDecodingException if the encoded-representation of a Task
+     *                               could not be decoded to any known forms.
+     */
+    public static Task decodeTask(String encodedTask, boolean isDone) throws TaskDecodingException {
         String[] tokens = encodedTask.split(" @@@ ");
+
+        if (tokens.length < 2) {
+            throw new TaskDecodingException();
+        }
+
+        tokens[1] = String.valueOf(isDone);
+        return decodeTokens(tokens);
+    }
+
+    private static Task decodeTokens(String[] tokens) throws TaskDecodingException {
         String taskType = tokens[0];
 
         Task t;
@@ -36,6 +65,9 @@ public class TaskDecoder {
         case "E":
             t = decodeEvent(tokens);
             break;
+        case "R":
+            t = decodeRecurringTask(tokens);
+            break;
         default:
             throw new TaskDecodingException();
         }
@@ -44,15 +76,44 @@ public class TaskDecoder {
     }
 
     private static Task decodeTodo(String[] tokens) {
-        return new Todo(parseCompletionStatus(tokens[1]), tokens[2]);
+        return new Todo(parseCompletionStatus(tokens[1]), decodeTitle(tokens[2]));
     }
 
     private static Task decodeDeadline(String[] tokens) {
-        return new Deadline(parseCompletionStatus(tokens[1]), tokens[2], tokens[3]);
+        return new Deadline(parseCompletionStatus(tokens[1]), decodeTitle(tokens[2]), tokens[3]);
     }
 
     private static Task decodeEvent(String[] tokens) {
-        return new Event(parseCompletionStatus(tokens[1]), tokens[2], tokens[3]);
+        return new Event(parseCompletionStatus(tokens[1]), decodeTitle(tokens[2]), tokens[3]);
+    }
+
+    /**
+     * Decodes a recurring Task saved as "R @@@ false @@@ title @@@ D @@@ first date @@@ week",
+     * followed by " @@@ " and its completed occurrences if any have been completed.
+     */
+    private static Task decodeRecurringTask(String[] tokens) throws TaskDecodingException {
+        TaskType occurrenceType = tokens[3].equals("D") ? TaskType.DEADLINE
+                : tokens[3].equals("E") ? TaskType.EVENT : null;
+        Recurrence recurrence = Recurrence.fromName(tokens[5]);
+        String completedOccurrences = tokens.length > 6 ? tokens[6] : "";
+
+        if (occurrenceType == null || recurrence == null) {
+            throw new TaskDecodingException();
+        }
+
+        try {
+            return new RecurringTask(occurrenceType, decodeTitle(tokens[2]), tokens[4], recurrence,
+                    completedOccurrences);
+        } catch (NumberFormatException e) {
+            throw new TaskDecodingException();
+        }
+    }
+
+    /**
+     * Returns the shared copy of the title, as save-files often repeat the same titles.
+     */
+    private static String decodeTitle(String title) {
+        return TitlePool.getDefault().intern(title);
     }
 
     private static boolean parseCompletionStatus(String isDone) {
@@ -0,0 +1,480 @@
+package spark.storage.backends;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import spark.exceptions.fileexceptions.FileException;
+import spark.exceptions.fileexceptions.ReadFileException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.exceptions.fileexceptions.WriteFileException;
+import spark.exceptions.taskmodificationexceptions.TaskNotFoundException;
+import spark.storage.TaskDecoder;
+import spark.storage.backends.btree.BPlusTree;
+import spark.storage.backends.btree.PageFile;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A save-file format that stores Tasks in a paged B+tree keyed by task-ID,
+ * together with secondary B+tree indexes on the date and title of each Task.
+ * <p>
+ * Only the pages that are needed are read from the save-file, and recently used
+ * pages are kept in a bounded cache, so adding, marking or deleting a Task only
+ * writes the few pages holding it, and Tasks can be looked up by date or title
+ * without holding the whole save-file in memory.
+ */
+public class BTreeBackend implements StorageBackend {
+    /** Save-files ending with this extension are stored as B+trees. */
+    public static final String FILE_EXTENSION = ".btree";
+
+    private static final byte[] MAGIC = "SPARKBP3".getBytes(StandardCharsets.US_ASCII);
+    /** The magic of save-files written before the secondary indexes were kept, which are rebuilt on opening. */
+    private static final byte[] MAGIC_WITHOUT_INDEXES = "SPARKBP2".getBytes(StandardCharsets.US_ASCII);
+    private static final int PAGE_CACHE_CAPACITY = 256;
+    private static final int MAX_TITLE_KEY_SIZE = BPlusTree.MAX_KEY_SIZE - Long.BYTES - 1;
+    private static final byte[] NO_PREFIX = new byte[0];
+    private static final byte[] NO_VALUE = new byte[0];
+
+    /** The location of the save-file on the user's hard-disk. */
+    private final Path filePath;
+    /** Task-IDs of the Tasks in the order they appear in the task list. */
+    private final List<Long> idsByPosition = new ArrayList<>();
+
+    private PageFile pages;
+    private BPlusTree tasksById;
+    private BPlusTree tasksByDate;
+    private BPlusTree tasksByTitle;
+    private long nextTaskId;
+
+    /**
+     * Opens the B+tree save-file at the specified relative file-path,
+     * creating and initialising a new one if none exists.
+     *
+     * @throws ReadFileException if the save-file could not be created, read from,
+     *                           or is not a B+tree save-file.
+     */
+    public BTreeBackend(String filePathString) throws ReadFileException {
+        this.filePath = Paths.get(filePathString);
+
+        try {
+            this.pages = new PageFile(filePath, PAGE_CACHE_CAPACITY);
+
+            if (pages.isEmpty()) {
+                createEmptyTrees();
+            } else {
+                openTrees();
+            }
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+    }
+
+    @Override
+    public synchronized List<Task> readTasks() throws TaskDecodingException, FileException {
+        List<Task> tasks = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        idsByPosition.clear();
+
+        try {
+            tasksById.scan(encodeId(0), NO_PREFIX, (key, value) -> {
+                try {
+                    tasks.add(decodeRecord(value));
+                    idsByPosition.add(ByteBuffer.wrap(key).getLong());
+                    return true;
+                } catch (TaskDecodingException e) {
+                    failures.add(e);
+                    return false;
+                }
+            });
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+
+        if (!failures.isEmpty()) {
+            throw new TaskDecodingException();
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public synchronized void writeTasks(String encodedTasks) throws FileException {
+        try {
+            pages.clear();
+            createEmptyTrees();
+            idsByPosition.clear();
+
+            for (String encodedTask : encodedTasks.split(System.lineSeparator())) {
+                if (!encodedTask.isBlank()) {
+                    idsByPosition.add(insertTask(TaskDecoder.decodeTask(encodedTask)));
+                }
+            }
+
+            flush();
+        } catch (IOException | TaskDecodingException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Replaces the record of the modified Task, moving its keys in the secondary indexes if its
+     * date or title changed.
+     */
+    @Override
+    public synchronized void writeModifiedTask(TaskList tasks, int index) throws FileException {
+        try {
+            Task t = tasks.getTask(index);
+            updateTask(idsByPosition.get(index - 1), t);
+            flush();
+        } catch (IOException | TaskNotFoundException | TaskDecodingException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Replaces the records of every modified Task, flushing the page cache only once.
+     */
+    @Override
+    public synchronized void writeModifiedTasks(TaskList tasks, int[] indexes) throws FileException {
+        try {
+            for (int index : indexes) {
+                Task t = tasks.getTask(index);
+                updateTask(idsByPosition.get(index - 1), t);
+            }
+            flush();
+        } catch (IOException | TaskNotFoundException | TaskDecodingException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    @Override
+    public synchronized void writeAddedTask(TaskList tasks) throws FileException {
+        try {
+            Task t = tasks.getTask(tasks.getNumberOfTasks());
+            idsByPosition.add(insertTask(t));
+            flush();
+        } catch (IOException | TaskNotFoundException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Inserts every added Task into all three B+trees, flushing the page cache only once.
+     */
+    @Override
+    public synchronized void writeAddedTasks(TaskList tasks, int numberOfTasks) throws FileException {
+        List<Task> allTasks = tasks.getTasks();
+
+        try {
+            for (Task t : allTasks.subList(allTasks.size() - numberOfTasks, allTasks.size())) {
+                idsByPosition.add(insertTask(t));
+            }
+            flush();
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    @Override
+    public synchronized void writeDeletedTask(TaskList tasks, int index) throws FileException {
+        try {
+            removeTask(idsByPosition.remove(index - 1));
+            flush();
+        } catch (IOException | TaskDecodingException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Removes every deleted Task from all three B+trees, flushing the page cache only once.
+     */
+    @Override
+    public synchronized void writeDeletedTasks(TaskList tasks, int[] indexes) throws FileException {
+        try {
+            int next = 0;
+            int remaining = 0;
+
+            for (int position = 0; position < idsByPosition.size(); position++) {
+                long id = idsByPosition.get(position);
+
+                if (next < indexes.length && indexes[next] == position + 1) {
+                    removeTask(id);
+                    next++;
+                } else {
+                    idsByPosition.set(remaining++, id);
+                }
+            }
+
+            idsByPosition.subList(remaining, idsByPosition.size()).clear();
+            flush();
+        } catch (IOException | TaskDecodingException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Returns the saved Tasks whose titles start with the given prefix, ordered by title,
+     * reading only the pages of the title index that hold the prefix.
+     *
+     * @throws ReadFileException if the save-file could not be read from.
+     */
+    public synchronized List<Task> findTasksByTitlePrefix(String prefix) throws ReadFileException {
+        byte[] prefixKey = truncate(prefix.getBytes(StandardCharsets.UTF_8), MAX_TITLE_KEY_SIZE);
+        List<Task> results = new ArrayList<>();
+
+        try {
+            tasksByTitle.scan(prefixKey, prefixKey, (key, value) -> {
+                Task t = lookUpTask(key);
+                // titles longer than the key are truncated, so the key alone can match more titles
+                if (t != null && t.getTitle().startsWith(prefix)) {
+                    results.add(t);
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the saved Tasks with dates from {@code from} (inclusive) to {@code to} (exclusive),
+     * ordered by date, reading only the pages of the date index that hold those dates.
+     *
+     * @throws ReadFileException if the save-file could not be read from.
+     */
+    public synchronized List<Task> findTasksBetween(LocalDateTime from, LocalDateTime to) throws ReadFileException {
+        byte[] fromKey = encodeDateKey(EpochMinutes.of(from), 0);
+        byte[] toKey = encodeDateKey(EpochMinutes.of(to), 0);
+        List<Task> results = new ArrayList<>();
+
+        try {
+            tasksByDate.scan(fromKey, NO_PREFIX, (key, value) -> {
+                if (Arrays.compareUnsigned(key, toKey) >= 0) {
+                    return false;
+                }
+
+                Task t = lookUpTask(key);
+                if (t != null) {
+                    results.add(t);
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+
+        return results;
+    }
+
+    /**
+     * Writes every changed page held in the page cache, and closes the save-file.
+     */
+    @Override
+    public synchronized void close() throws FileException {
+        try {
+            flush();
+            pages.close();
+        } catch (IOException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Returns a human-readable summary of how effective the page cache has been.
+     */
+    public String getCacheStatistics() {
+        return pages.getCacheStatistics();
+    }
+
+    private long insertTask(Task t) throws IOException {
+        long id = nextTaskId++;
+        tasksById.put(encodeId(id), encodeRecord(t));
+        indexTask(id, t);
+        return id;
+    }
+
+    /**
+     * Adds keys for the Task to the date index, if it has a date, and to the title index.
+     */
+    private void indexTask(long id, Task t) throws IOException {
+        if (t.getEpochMinutes() != EpochMinutes.NONE) {
+            tasksByDate.put(encodeDateKey(t.getEpochMinutes(), id), NO_VALUE);
+        }
+        tasksByTitle.put(encodeTitleKey(t.getTitle(), id), NO_VALUE);
+    }
+
+    /**
+     * Replaces the record of a modified Task. Marking a recurring Task moves its date on
+     * to its next occurrence, so its key in the date index is moved along with it.
+     */
+    private void updateTask(long id, Task t) throws IOException, TaskDecodingException {
+        byte[] idKey = encodeId(id);
+        byte[] record = tasksById.get(idKey);
+        Task previous = record == null ? null : decodeRecord(record);
+
+        if (previous == null || previous.getEpochMinutes() != t.getEpochMinutes()) {
+            if (previous != null && previous.getEpochMinutes() != EpochMinutes.NONE) {
+                tasksByDate.remove(encodeDateKey(previous.getEpochMinutes(), id));
+            }
+            if (t.getEpochMinutes() != EpochMinutes.NONE) {
+                tasksByDate.put(encodeDateKey(t.getEpochMinutes(), id), NO_VALUE);
+            }
+        }
+
+        if (previous == null || !previous.getTitle().equals(t.getTitle())) {
+            if (previous != null) {
+                tasksByTitle.remove(encodeTitleKey(previous.getTitle(), id));
+            }
+            tasksByTitle.put(encodeTitleKey(t.getTitle(), id), NO_VALUE);
+        }
+
+        tasksById.put(idKey, encodeRecord(t));
+    }
+
+    private void removeTask(long id) throws IOException, TaskDecodingException, WriteFileException {
+        byte[] idKey = encodeId(id);
+        byte[] record = tasksById.get(idKey);
+
+        if (record == null) {
+            throw new WriteFileException();
+        }
+
+        Task t = decodeRecord(record);
+
+        tasksById.remove(idKey);
+        if (t.getEpochMinutes() != EpochMinutes.NONE) {
+            tasksByDate.remove(encodeDateKey(t.getEpochMinutes(), id));
+        }
+        tasksByTitle.remove(encodeTitleKey(t.getTitle(), id));
+    }
+
+    /**
+     * Returns the Task whose task-ID makes up the last bytes of a secondary index key.
+     */
+    private Task lookUpTask(byte[] indexKey) {
+        byte[] idKey = Arrays.copyOfRange(indexKey, indexKey.length - Long.BYTES, indexKey.length);
+
+        try {
+            byte[] record = tasksById.get(idKey);
+            return record == null ? null : decodeRecord(record);
+        } catch (IOException | TaskDecodingException e) {
+            return null;
+        }
+    }
+
+    private void createEmptyTrees() throws IOException {
+        tasksById = BPlusTree.create(pages);
+        tasksByDate = BPlusTree.create(pages);
+        tasksByTitle = BPlusTree.create(pages);
+        nextTaskId = 0;
+        flush();
+    }
+
+    private void openTrees() throws IOException, ReadFileException {
+        ByteBuffer header = pages.readHeader();
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+
+        if (Arrays.equals(magic, MAGIC_WITHOUT_INDEXES)) {
+            nextTaskId = header.getLong();
+            tasksById = new BPlusTree(pages, header.getInt());
+            rebuildIndexes();
+            return;
+        }
+
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new ReadFileException();
+        }
+
+        nextTaskId = header.getLong();
+        tasksById = new BPlusTree(pages, header.getInt());
+        tasksByDate = new BPlusTree(pages, header.getInt());
+        tasksByTitle = new BPlusTree(pages, header.getInt());
+    }
+
+    /**
+     * Builds the date and title indexes of a save-file written without them, from its records.
+     */
+    private void rebuildIndexes() throws IOException {
+        tasksByDate = BPlusTree.create(pages);
+        tasksByTitle = BPlusTree.create(pages);
+        List<byte[]> keys = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+
+        tasksById.scan(encodeId(0), NO_PREFIX, (key, value) -> {
+            try {
+                tasks.add(decodeRecord(value));
+                keys.add(key);
+                return true;
+            } catch (TaskDecodingException e) {
+                return false;
+            }
+        });
+
+        for (int i = 0; i < keys.size(); i++) {
+            indexTask(ByteBuffer.wrap(keys.get(i)).getLong(), tasks.get(i));
+        }
+        flush();
+    }
+
+    private void flush() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + Long.BYTES + 3 * Integer.BYTES);
+        header.put(MAGIC);
+        header.putLong(nextTaskId);
+        header.putInt(tasksById.getRootPage());
+        header.putInt(tasksByDate.getRootPage());
+        header.putInt(tasksByTitle.getRootPage());
+
+        pages.flush();
+        pages.writeHeader(header);
+    }
+
+    private static byte[] encodeRecord(Task t) {
+        return t.encodeTask().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Task decodeRecord(byte[] record) throws TaskDecodingException {
+        return TaskDecoder.decodeTask(new String(record, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] encodeId(long id) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+    }
+
+    /**
+     * Encodes the date so that earlier dates are ordered before later ones, followed by the task-ID.
+     */
+    private static byte[] encodeDateKey(long epochMinute, long id) {
+        return ByteBuffer.allocate(2 * Long.BYTES)
+                .putLong(epochMinute ^ Long.MIN_VALUE)
+                .putLong(id)
+                .array();
+    }
+
+    /**
+     * Encodes the (possibly truncated) title, a separator, and then the task-ID.
+     */
+    private static byte[] encodeTitleKey(String title, long id) {
+        byte[] titleKey = truncate(title.getBytes(StandardCharsets.UTF_8), MAX_TITLE_KEY_SIZE);
+
+        return ByteBuffer.allocate(titleKey.length + 1 + Long.BYTES)
+                .put(titleKey)
+                .put((byte) 0)
+                .putLong(id)
+                .array();
+    }
+
+    private static byte[] truncate(byte[] bytes, int maxLength) {
+        return bytes.length <= maxLength ? bytes : Arrays.copyOf(bytes, maxLength);
+    }
+}
@@ -0,0 +1,519 @@
+package spark.storage.backends;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import spark.exceptions.fileexceptions.FileException;
+import spark.exceptions.fileexceptions.ReadFileException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.exceptions.fileexceptions.WriteFileException;
+import spark.exceptions.taskmodificationexceptions.TaskNotFoundException;
+import spark.storage.TaskDecoder;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.RecurringTask;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * A save-file format that lays Tasks out in fixed-size slots within the save-file,
+ * so that marking, adding or deleting a Task only writes the bytes
+ * belonging to that Task instead of rewriting the whole save-file.
+ * <p>
+ * Every record begins at the start of a slot with a small header holding
+ * its state, completion status, slot-count, sequence number and length,
+ * followed by the encoded Task. Records too long for a single slot take up
+ * a run of consecutive slots. Deleted records are tombstoned, their slots
+ * are reused by later additions, and the save-file is compacted in the
+ * background once tombstones outnumber the Tasks still in use.
+ */
+public class SlottedFileBackend implements StorageBackend {
+    /** Save-files ending with this extension are stored in slots. */
+    public static final String FILE_EXTENSION = ".slots";
+
+    private static final byte[] MAGIC = "SPARKSLT".getBytes(StandardCharsets.US_ASCII);
+    private static final int SLOT_SIZE = 128;
+
+    private static final byte STATE_LIVE = 1;
+    private static final byte STATE_TOMBSTONE = 2;
+
+    private static final int STATE_OFFSET = 0;
+    private static final int DONE_OFFSET = 1;
+    private static final int SLOT_COUNT_OFFSET = 2;
+    private static final int SEQUENCE_OFFSET = 4;
+    private static final int LENGTH_OFFSET = 12;
+    private static final int RECORD_HEADER_SIZE = 16;
+
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 64;
+    private static final int COMPACTION_TIMEOUT_SECONDS = 30;
+
+    /** Slot-numbers of the Tasks in the order they appear in the task list. */
+    private final List<Integer> slotsByPosition = new ArrayList<>();
+    /** Tombstoned single-slot records that can be overwritten by new Tasks. */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "spark-slot-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The location of the save-file on the user's hard-disk. */
+    private final Path filePath;
+    private FileChannel channel;
+    private int numberOfSlots;
+    private int numberOfTombstones;
+    private long nextSequenceNumber;
+    private boolean isCompactionScheduled;
+
+    /**
+     * Opens the slotted save-file at the specified relative file-path,
+     * creating and initialising a new one if none exists.
+     *
+     * @throws ReadFileException if the save-file could not be created, read from,
+     *                           or is not a slotted save-file.
+     */
+    public SlottedFileBackend(String filePathString) throws ReadFileException {
+        this.filePath = Paths.get(filePathString);
+
+        try {
+            openChannel();
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+    }
+
+    @Override
+    public synchronized List<Task> readTasks() throws TaskDecodingException, FileException {
+        List<SlotRecord> records = new ArrayList<>();
+        slotsByPosition.clear();
+        freeSlots.clear();
+        numberOfTombstones = 0;
+        nextSequenceNumber = 0;
+
+        try {
+            int slot = 0;
+            while (slot < numberOfSlots) {
+                ByteBuffer header = readBytes(slot, RECORD_HEADER_SIZE);
+                int slotCount = Short.toUnsignedInt(header.getShort(SLOT_COUNT_OFFSET));
+
+                if (slotCount < 1 || slot + slotCount > numberOfSlots) {
+                    throw new TaskDecodingException();
+                }
+
+                if (header.get(STATE_OFFSET) == STATE_LIVE) {
+                    records.add(readRecord(slot, header));
+                } else {
+                    numberOfTombstones++;
+                    if (slotCount == 1) {
+                        freeSlots.push(slot);
+                    }
+                }
+
+                slot += slotCount;
+            }
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+
+        records.sort(Comparator.comparingLong(r -> r.sequenceNumber));
+
+        List<Task> tasks = new ArrayList<>();
+        try {
+            for (SlotRecord r : records) {
+                if (!tasks.isEmpty() && r.sequenceNumber == nextSequenceNumber - 1) {
+                    // left behind by a crash while the record was being moved; keep only one copy
+                    tombstone(r.slot);
+                    continue;
+                }
+
+                tasks.add(r.task);
+                slotsByPosition.add(r.slot);
+                nextSequenceNumber = r.sequenceNumber + 1;
+            }
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public synchronized void writeTasks(String encodedTasks) throws FileException {
+        try {
+            getChannel().truncate(SLOT_SIZE);
+            numberOfSlots = 0;
+            numberOfTombstones = 0;
+            nextSequenceNumber = 0;
+            slotsByPosition.clear();
+            freeSlots.clear();
+
+            for (String encodedTask : encodedTasks.split(System.lineSeparator())) {
+                if (!encodedTask.isBlank()) {
+                    Task t = TaskDecoder.decodeTask(encodedTask);
+                    slotsByPosition.add(appendRecord(t));
+                }
+            }
+        } catch (IOException | TaskDecodingException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Overwrites the single byte holding the completion status of the modified Task,
+     * or the record of a recurring Task, whose completed occurrences are in its record.
+     */
+    @Override
+    public synchronized void writeModifiedTask(TaskList tasks, int index) throws FileException {
+        try {
+            writeModification(tasks, index);
+        } catch (IOException | TaskNotFoundException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Overwrites the single byte holding the completion status of each modified Task,
+     * or the record of each recurring Task.
+     */
+    @Override
+    public synchronized void writeModifiedTasks(TaskList tasks, int[] indexes) throws FileException {
+        try {
+            for (int index : indexes) {
+                writeModification(tasks, index);
+            }
+        } catch (IOException | TaskNotFoundException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Writes the added Task into a free slot, or after the last slot if none are free.
+     */
+    @Override
+    public synchronized void writeAddedTask(TaskList tasks) throws FileException {
+        try {
+            Task t = tasks.getTask(tasks.getNumberOfTasks());
+            slotsByPosition.add(appendRecord(t));
+        } catch (IOException | TaskNotFoundException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Writes each added Task into a free slot, or after the last slot if none are free.
+     */
+    @Override
+    public synchronized void writeAddedTasks(TaskList tasks, int numberOfTasks) throws FileException {
+        List<Task> allTasks = tasks.getTasks();
+
+        try {
+            for (Task t : allTasks.subList(allTasks.size() - numberOfTasks, allTasks.size())) {
+                slotsByPosition.add(appendRecord(t));
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Tombstones the slot of the deleted Task so that it can be reused.
+     */
+    @Override
+    public synchronized void writeDeletedTask(TaskList tasks, int index) throws FileException {
+        try {
+            tombstone(slotsByPosition.remove(index - 1));
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Tombstones the slots of the deleted Tasks, forgetting all of them in a single pass.
+     */
+    @Override
+    public synchronized void writeDeletedTasks(TaskList tasks, int[] indexes) throws FileException {
+        try {
+            int next = 0;
+            int remaining = 0;
+
+            for (int position = 0; position < slotsByPosition.size(); position++) {
+                int slot = slotsByPosition.get(position);
+
+                if (next < indexes.length && indexes[next] == position + 1) {
+                    tombstone(slot);
+                    next++;
+                } else {
+                    slotsByPosition.set(remaining++, slot);
+                }
+            }
+
+            slotsByPosition.subList(remaining, slotsByPosition.size()).clear();
+        } catch (IOException e) {
+            throw new WriteFileException();
+        }
+
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Lets any compaction in progress finish, then forces the save-file onto the hard-disk and closes it.
+     */
+    @Override
+    public void close() throws FileException {
+        compactor.shutdown();
+
+        try {
+            compactor.awaitTermination(COMPACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            synchronized (this) {
+                if (channel.isOpen()) {
+                    channel.force(true);
+                    channel.close();
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    private void writeModification(TaskList tasks, int index) throws IOException, TaskNotFoundException {
+        if (tasks.getTask(index) instanceof RecurringTask) {
+            rewriteRecord(tasks, index);
+        } else {
+            writeDoneFlag(tasks, index);
+        }
+    }
+
+    private void writeDoneFlag(TaskList tasks, int index) throws IOException, TaskNotFoundException {
+        Task t = tasks.getTask(index);
+        int slot = slotsByPosition.get(index - 1);
+        ByteBuffer doneFlag = ByteBuffer.wrap(new byte[] { (byte) (t.isDone() ? 1 : 0) });
+        getChannel().write(doneFlag, getSlotPosition(slot) + DONE_OFFSET);
+    }
+
+    /**
+     * Rewrites the whole record of the Task, keeping its sequence number so that it keeps
+     * its position. The record is overwritten in place if it still takes up as many slots,
+     * or else written to new slots before the old ones are tombstoned; if Spark stops in
+     * between, {@link #readTasks()} keeps only one of the two records.
+     */
+    private void rewriteRecord(TaskList tasks, int index) throws IOException, TaskNotFoundException {
+        Task t = tasks.getTask(index);
+        int slot = slotsByPosition.get(index - 1);
+        ByteBuffer header = readBytes(slot, RECORD_HEADER_SIZE);
+        long sequenceNumber = header.getLong(SEQUENCE_OFFSET);
+        int slotCount = Short.toUnsignedInt(header.getShort(SLOT_COUNT_OFFSET));
+        byte[] payload = t.encodeTask().getBytes(StandardCharsets.UTF_8);
+
+        if (getSlotCount(payload) == slotCount) {
+            writeRecord(slot, t, payload, sequenceNumber);
+        } else {
+            slotsByPosition.set(index - 1, appendRecord(t, sequenceNumber));
+            tombstone(slot);
+            scheduleCompactionIfNeeded();
+        }
+    }
+
+    private void tombstone(int slot) throws IOException {
+        ByteBuffer state = ByteBuffer.wrap(new byte[] { STATE_TOMBSTONE });
+        getChannel().write(state, getSlotPosition(slot) + STATE_OFFSET);
+        numberOfTombstones++;
+
+        if (Short.toUnsignedInt(readBytes(slot, RECORD_HEADER_SIZE).getShort(SLOT_COUNT_OFFSET)) == 1) {
+            freeSlots.push(slot);
+        }
+    }
+
+    /**
+     * Returns the channel to the save-file, opening it again if compaction could not.
+     */
+    private FileChannel getChannel() throws IOException {
+        if (!channel.isOpen()) {
+            openChannel();
+        }
+
+        return channel;
+    }
+
+    private void openChannel() throws IOException {
+        this.channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        if (channel.size() == 0) {
+            ByteBuffer fileHeader = ByteBuffer.allocate(SLOT_SIZE);
+            fileHeader.put(MAGIC);
+            fileHeader.rewind();
+            channel.write(fileHeader, 0);
+        }
+
+        ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+        channel.read(magic, 0);
+        if (!Arrays.equals(magic.array(), MAGIC)) {
+            channel.close();
+            throw new IOException("Not a slotted save-file");
+        }
+
+        this.numberOfSlots = (int) (channel.size() / SLOT_SIZE) - 1;
+    }
+
+    private SlotRecord readRecord(int slot, ByteBuffer header) throws IOException, TaskDecodingException {
+        int length = header.getInt(LENGTH_OFFSET);
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        getChannel().read(payload, getSlotPosition(slot) + RECORD_HEADER_SIZE);
+
+        String encodedTask = new String(payload.array(), StandardCharsets.UTF_8);
+        boolean isDone = header.get(DONE_OFFSET) == 1;
+        long sequenceNumber = header.getLong(SEQUENCE_OFFSET);
+
+        return new SlotRecord(slot, sequenceNumber, TaskDecoder.decodeTask(encodedTask, isDone));
+    }
+
+    private int appendRecord(Task t) throws IOException {
+        return appendRecord(t, nextSequenceNumber++);
+    }
+
+    private int appendRecord(Task t, long sequenceNumber) throws IOException {
+        byte[] payload = t.encodeTask().getBytes(StandardCharsets.UTF_8);
+        int slotCount = getSlotCount(payload);
+
+        int slot;
+        if (slotCount == 1 && !freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+            numberOfTombstones--;
+        } else {
+            slot = numberOfSlots;
+            numberOfSlots += slotCount;
+        }
+
+        writeRecord(slot, t, payload, sequenceNumber);
+
+        return slot;
+    }
+
+    private void writeRecord(int slot, Task t, byte[] payload, long sequenceNumber) throws IOException {
+        int slotCount = getSlotCount(payload);
+        ByteBuffer record = ByteBuffer.allocate(slotCount * SLOT_SIZE);
+        record.put(STATE_OFFSET, STATE_LIVE);
+        record.put(DONE_OFFSET, (byte) (t.isDone() ? 1 : 0));
+        record.putShort(SLOT_COUNT_OFFSET, (short) slotCount);
+        record.putLong(SEQUENCE_OFFSET, sequenceNumber);
+        record.putInt(LENGTH_OFFSET, payload.length);
+        record.position(RECORD_HEADER_SIZE);
+        record.put(payload);
+        record.rewind();
+        getChannel().write(record, getSlotPosition(slot));
+    }
+
+    private static int getSlotCount(byte[] payload) {
+        return (RECORD_HEADER_SIZE + payload.length + SLOT_SIZE - 1) / SLOT_SIZE;
+    }
+
+    private ByteBuffer readBytes(int slot, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        getChannel().read(bytes, getSlotPosition(slot));
+        return bytes;
+    }
+
+    private long getSlotPosition(int slot) {
+        return (long) (slot + 1) * SLOT_SIZE;
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        boolean hasManyTombstones = numberOfTombstones >= MIN_TOMBSTONES_BEFORE_COMPACTION
+                && numberOfTombstones > slotsByPosition.size();
+
+        if (hasManyTombstones && !isCompactionScheduled) {
+            isCompactionScheduled = true;
+            compactor.submit(this::compact);
+        }
+    }
+
+    /**
+     * Rewrites the Tasks still in use into consecutive slots of a new save-file,
+     * in task list order, and replaces the current save-file with it.
+     */
+    private synchronized void compact() {
+        isCompactionScheduled = false;
+        Path compactedFilePath = filePath.resolveSibling(filePath.getFileName() + ".compacting");
+        List<Integer> compactedSlots = new ArrayList<>();
+
+        try (FileChannel compacted = FileChannel.open(compactedFilePath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer fileHeader = ByteBuffer.allocate(SLOT_SIZE);
+            fileHeader.put(MAGIC);
+            fileHeader.rewind();
+            compacted.write(fileHeader, 0);
+
+            int nextSlot = 0;
+            for (int i = 0; i < slotsByPosition.size(); i++) {
+                int slot = slotsByPosition.get(i);
+                int slotCount = Short.toUnsignedInt(readBytes(slot, RECORD_HEADER_SIZE).getShort(SLOT_COUNT_OFFSET));
+                ByteBuffer record = readBytes(slot, slotCount * SLOT_SIZE);
+                record.putLong(SEQUENCE_OFFSET, i);
+                record.rewind();
+                compacted.write(record, getSlotPosition(nextSlot));
+
+                compactedSlots.add(nextSlot);
+                nextSlot += slotCount;
+            }
+            compacted.force(true);
+        } catch (IOException e) {
+            // leave the current save-file as it is; it is still valid without compaction
+            return;
+        }
+
+        boolean isReplaced = false;
+        try {
+            channel.close();
+            Files.move(compactedFilePath, filePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            isReplaced = true;
+        } catch (IOException e) {
+            // keep using the current save-file, which is still valid without compaction
+        } finally {
+            try {
+                openChannel();
+            } catch (IOException e) {
+                // the next read or write opens the save-file again
+            }
+        }
+
+        if (!isReplaced) {
+            return;
+        }
+
+        slotsByPosition.clear();
+        slotsByPosition.addAll(compactedSlots);
+        freeSlots.clear();
+        numberOfTombstones = 0;
+        nextSequenceNumber = compactedSlots.size();
+    }
+
+    private static class SlotRecord {
+        private final int slot;
+        private final long sequenceNumber;
+        private final Task task;
+
+        SlotRecord(int slot, long sequenceNumber, Task task) {
+            this.slot = slot;
+            this.sequenceNumber = sequenceNumber;
+            this.task = task;
+        }
+    }
+}
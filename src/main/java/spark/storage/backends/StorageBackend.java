@@ -0,0 +1,139 @@
+package spark.storage.backends;
+
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import spark.exceptions.fileexceptions.FileException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.exceptions.fileexceptions.WriteFileException;
+import spark.storage.SaveFileLock;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Represents a format in which Tasks can be saved on the user's hard-disk.
+ * All save-file formats supported by Storage implement this interface.
+ * <p>
+ * Formats that cannot update a single Task in-place can rely on the default
+ * methods, which rewrite every Task whenever the task list changes.
+ */
+public interface StorageBackend {
+    /**
+     * Reads and decodes all saved Tasks, in the order they appear in the task list.
+     *
+     * @return                       a list of Tasks stored in the save-file.
+     * @throws TaskDecodingException if the save-file could not be decoded.
+     * @throws FileException         if the save-file could not be found or read from.
+     */
+    List<Task> readTasks() throws TaskDecodingException, FileException;
+
+    /**
+     * Reads and decodes all saved Tasks, reporting how far through the save-file it has got along the way.
+     * Formats that cannot tell how far they have got only report once every Task has been read.
+     *
+     * @param onProgress             receives the fraction of the save-file read so far, from 0 to 1.
+     * @return                       a list of Tasks stored in the save-file.
+     * @throws TaskDecodingException if the save-file could not be decoded.
+     * @throws FileException         if the save-file could not be found or read from.
+     */
+    default List<Task> readTasks(DoubleConsumer onProgress) throws TaskDecodingException, FileException {
+        List<Task> tasks = readTasks();
+        onProgress.accept(1);
+        return tasks;
+    }
+
+    /**
+     * Replaces all saved Tasks with the encoded list of Tasks.
+     *
+     * @param encodedTasks an encoded representation of the task list.
+     * @throws FileException if the save-file could not be modified.
+     */
+    void writeTasks(String encodedTasks) throws FileException;
+
+    /**
+     * Saves the change in completion status of the Task at the specified index.
+     *
+     * @param tasks the task list containing the modified Task.
+     * @param index the one-based index of the modified Task.
+     * @throws FileException if the save-file could not be modified.
+     */
+    default void writeModifiedTask(TaskList tasks, int index) throws FileException {
+        writeTasks(tasks.encodeTasks());
+    }
+
+    /**
+     * Saves the changes in completion status of the Tasks at the specified indexes.
+     *
+     * @param tasks   the task list containing the modified Tasks.
+     * @param indexes the one-based indexes of the modified Tasks, in ascending order.
+     * @throws FileException if the save-file could not be modified.
+     */
+    default void writeModifiedTasks(TaskList tasks, int[] indexes) throws FileException {
+        writeTasks(tasks.encodeTasks());
+    }
+
+    /**
+     * Saves the Task that was most recently added to the end of the task list.
+     *
+     * @param tasks the task list containing the added Task.
+     * @throws FileException if the save-file could not be modified.
+     */
+    default void writeAddedTask(TaskList tasks) throws FileException {
+        writeTasks(tasks.encodeTasks());
+    }
+
+    /**
+     * Saves the given number of Tasks most recently added to the end of the task list.
+     *
+     * @param tasks         the task list containing the added Tasks.
+     * @param numberOfTasks the number of Tasks that were added.
+     * @throws FileException if the save-file could not be modified.
+     */
+    default void writeAddedTasks(TaskList tasks, int numberOfTasks) throws FileException {
+        writeTasks(tasks.encodeTasks());
+    }
+
+    /**
+     * Removes the Task that was deleted from the specified index from the save-file.
+     *
+     * @param tasks the task list that the Task was deleted from.
+     * @param index the one-based index the deleted Task was at.
+     * @throws FileException if the save-file could not be modified.
+     */
+    default void writeDeletedTask(TaskList tasks, int index) throws FileException {
+        writeTasks(tasks.encodeTasks());
+    }
+
+    /**
+     * Removes the Tasks that were deleted from the specified indexes from the save-file.
+     *
+     * @param tasks   the task list that the Tasks were deleted from.
+     * @param indexes the one-based indexes the deleted Tasks were at before any
+     *                of them were deleted, in ascending order.
+     * @throws FileException if the save-file could not be modified.
+     */
+    default void writeDeletedTasks(TaskList tasks, int[] indexes) throws FileException {
+        writeTasks(tasks.encodeTasks());
+    }
+
+    /**
+     * Waits until no other copy of Spark is reading or writing the save-file, and keeps them
+     * from doing so until the lock is closed. Formats that only one program can use at a time
+     * do not lock anything.
+     *
+     * @throws WriteFileException if the save-file could not be locked.
+     */
+    default SaveFileLock lock() throws WriteFileException {
+        return SaveFileLock.NONE;
+    }
+
+    /**
+     * Forces any saved changes still held in memory onto the hard-disk, and releases
+     * the save-file; the backend is not used again afterwards.
+     *
+     * @throws FileException if the save-file could not be written to.
+     */
+    default void close() throws FileException {
+        // every change has already been written to the save-file
+    }
+}
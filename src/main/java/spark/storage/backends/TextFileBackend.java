@@ -0,0 +1,262 @@
+package spark.storage.backends;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.DoubleConsumer;
+
+import spark.exceptions.fileexceptions.FileException;
+import spark.exceptions.fileexceptions.NotFoundException;
+import spark.exceptions.fileexceptions.ReadFileException;
+import spark.exceptions.fileexceptions.SaveFileConflictException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.exceptions.fileexceptions.WriteFileException;
+import spark.storage.SaveFileHeader;
+import spark.storage.SaveFileLock;
+import spark.storage.TaskDecoder;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Saves Tasks as a human-readable text-file with one encoded Task per line.
+ * <p>
+ * The save-file can be shared by several copies of Spark. Each copy only reads or writes
+ * it while holding a {@link SaveFileLock}, and the first line holds the generation of the
+ * save-file, which every write increases. A write only goes ahead if the generation is
+ * still the one this copy last read or wrote, so it never saves over changes it has not
+ * seen; such changes should be merged into the task list first, such as by a
+ * {@link spark.storage.SaveFileWatcher}, and then acknowledged.
+ */
+public class TextFileBackend implements StorageBackend {
+    /** The number of times progress is reported while reading the save-file */
+    private static final int PROGRESS_STEPS = 100;
+
+    /** The location of the save-file on the user's hard-disk. */
+    private final Path filePath;
+    /** Represents the save-file on the user's hard-disk. */
+    private final File tasksFile;
+    /** The generation of the save-file as of the last time this copy of Spark read or wrote it. */
+    private long knownGeneration = SaveFileHeader.NONE;
+
+    /**
+     * Opens the file at the specified relative file-path.
+     * If no file can be found, creates a new file at the
+     * specified file-path.
+     *
+     * @throws ReadFileException if the save-file could not be created or read from.
+     */
+    public TextFileBackend(String filePathString) throws ReadFileException {
+        this.filePath = Paths.get(filePathString);
+        this.tasksFile = new File(filePath.toString());
+
+        if (!tasksFile.exists()) {
+            try {
+                this.tasksFile.createNewFile();
+            } catch (IOException e) {
+                throw new ReadFileException();
+            }
+        }
+    }
+
+    @Override
+    public List<Task> readTasks() throws TaskDecodingException, FileException {
+        return readTasks(progress -> { });
+    }
+
+    /**
+     * Reads and decodes all saved Tasks, reporting progress by the number of characters read
+     * against the size of the save-file, at most a hundred times.
+     */
+    @Override
+    public List<Task> readTasks(DoubleConsumer onProgress) throws TaskDecodingException, FileException {
+        List<Task> tasks = new ArrayList<>();
+        double fileSize = Math.max(tasksFile.length(), 1);
+        long charactersRead = 0;
+        int progressReported = 0;
+
+        try (SaveFileLock lock = lock()) {
+            knownGeneration = readGeneration(lock);
+            Scanner sc = new Scanner(this.tasksFile);
+            while (sc.hasNextLine()) {
+                String encodedTask = sc.nextLine();
+                if (!encodedTask.isBlank() && !SaveFileHeader.isHeader(encodedTask)) {
+                    Task t = TaskDecoder.decodeTask(encodedTask);
+                    tasks.add(t);
+                }
+
+                charactersRead += encodedTask.length() + 1;
+                int progress = (int) Math.min(charactersRead * PROGRESS_STEPS / fileSize, PROGRESS_STEPS);
+                if (progress > progressReported) {
+                    progressReported = progress;
+                    onProgress.accept((double) progress / PROGRESS_STEPS);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new NotFoundException();
+        }
+
+        if (progressReported < PROGRESS_STEPS) {
+            onProgress.accept(1);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Rewrites the save-file with the next generation.
+     *
+     * @throws SaveFileConflictException if another copy of Spark has written the save-file since
+     *                                   this copy last read or wrote it.
+     */
+    @Override
+    public void writeTasks(String encodedTasks) throws FileException {
+        try (SaveFileLock lock = lock()) {
+            rewrite(checkGeneration(lock), encodedTasks);
+        } catch (IOException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Appends the added Task to the end of the save-file, as {@link #writeAddedTasks(TaskList, int)} does.
+     *
+     * @throws SaveFileConflictException if another copy of Spark has written the save-file since
+     *                                   this copy last read or wrote it.
+     */
+    @Override
+    public void writeAddedTask(TaskList tasks) throws FileException {
+        writeAddedTasks(tasks, 1);
+    }
+
+    /**
+     * Appends the added Tasks to the end of the save-file, instead of rewriting it, after updating
+     * the generation in place; so other copies of Spark never see the added Tasks under the old
+     * generation, and at worst re-read an unchanged save-file if Spark stops in between. A save-file
+     * without a generation yet is rewritten with one instead, which only happens the first time.
+     *
+     * @throws SaveFileConflictException if another copy of Spark has written the save-file since
+     *                                   this copy last read or wrote it.
+     */
+    @Override
+    public void writeAddedTasks(TaskList tasks, int numberOfTasks) throws FileException {
+        List<Task> allTasks = tasks.getTasks();
+
+        try (SaveFileLock lock = lock()) {
+            long generation = checkGeneration(lock);
+            if (generation == SaveFileHeader.NONE) {
+                rewrite(generation, tasks.encodeTasks());
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                SaveFileHeader.writeGeneration(channel, generation + 1);
+            }
+            knownGeneration = generation + 1;
+
+            try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath.toString(), true))) {
+                if (!endsWithNewLine()) {
+                    bw.write(System.lineSeparator());
+                }
+
+                for (Task t : allTasks.subList(allTasks.size() - numberOfTasks, allTasks.size())) {
+                    bw.write(t.encodeTask());
+                    bw.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new WriteFileException();
+        }
+    }
+
+    /**
+     * Takes the lock on the save-file shared with every other copy of Spark.
+     */
+    @Override
+    public SaveFileLock lock() throws WriteFileException {
+        return SaveFileLock.acquire(filePath);
+    }
+
+    /**
+     * Takes the generation the save-file is at now as the one this copy of Spark last read,
+     * once every change saved by other copies has been merged into the task list.
+     *
+     * @param lock the lock on the save-file, which must still be held.
+     * @throws ReadFileException if the save-file could not be read from.
+     */
+    public void acknowledgeExternalChanges(SaveFileLock lock) throws ReadFileException {
+        knownGeneration = readGeneration(lock);
+    }
+
+    /**
+     * Returns the location of the save-file on the user's hard-disk.
+     */
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the generation the save-file is at, if it is still the one this copy of Spark
+     * last read or wrote.
+     *
+     * @throws SaveFileConflictException if another copy of Spark has written the save-file since.
+     */
+    private long checkGeneration(SaveFileLock lock) throws ReadFileException, SaveFileConflictException {
+        long generation = readGeneration(lock);
+
+        if (generation != knownGeneration) {
+            throw new SaveFileConflictException();
+        }
+
+        return generation;
+    }
+
+    /**
+     * Returns the generation the save-file is at, which only stays the same while the lock is held.
+     */
+    private long readGeneration(SaveFileLock lock) throws ReadFileException {
+        lock.assertHeld();
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            return SaveFileHeader.readGeneration(channel);
+        } catch (IOException e) {
+            throw new ReadFileException();
+        }
+    }
+
+    /**
+     * Rewrites the whole save-file with the generation after the given one, while the lock is held.
+     */
+    private void rewrite(long generation, String encodedTasks) throws IOException {
+        try (FileWriter fw = new FileWriter(filePath.toString())) {
+            fw.write(SaveFileHeader.encode(generation + 1));
+            fw.write(encodedTasks);
+        }
+
+        knownGeneration = generation + 1;
+    }
+
+    /**
+     * Returns true if the save-file is empty or ends with a line separator,
+     * which it may not if it was edited by hand.
+     */
+    private boolean endsWithNewLine() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(tasksFile, "r")) {
+            if (file.length() == 0) {
+                return true;
+            }
+
+            file.seek(file.length() - 1);
+            return file.read() == '\n';
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package spark.storage.backends.btree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+
+/**
+ * A B+tree mapping unique keys to values, stored in the pages of a PageFile.
+ * <p>
+ * Keys are compared as unsigned bytes, so fixed-width big-endian numbers sort
+ * numerically and UTF-8 strings sort by code-point. Values too large to keep a few
+ * of them in each leaf node are stored in a chain of overflow pages instead, so values
+ * of any size can be stored. Removing a key merges a node that has become less than a
+ * quarter full with a sibling, if both fit in one page, and frees the emptied page.
+ */
+public class BPlusTree {
+    /** The largest key that can be stored, in bytes. */
+    public static final int MAX_KEY_SIZE = 256;
+
+    /** The largest value stored in a leaf node itself, in bytes. */
+    private static final int MAX_INLINE_VALUE_SIZE = PageFile.PAGE_SIZE / 4;
+    /** Nodes smaller than this, in bytes, are merged with a sibling if they can be. */
+    private static final int MIN_NODE_SIZE = PageFile.PAGE_SIZE / 4;
+    /** Marks a value stored in the leaf node itself. */
+    private static final byte INLINE = 0;
+    /** Marks a value stored in overflow pages, followed by its length and its first overflow page. */
+    private static final byte OVERFLOW = 1;
+
+    private final PageFile pages;
+    private int rootPage;
+
+    /**
+     * Opens an existing B+tree whose root node is stored in the given page.
+     *
+     * @param pages    the page-file the B+tree is stored in.
+     * @param rootPage the page holding the root node of the B+tree.
+     */
+    public BPlusTree(PageFile pages, int rootPage) {
+        this.pages = pages;
+        this.rootPage = rootPage;
+    }
+
+    /**
+     * Creates a new, empty B+tree in the given page-file.
+     *
+     * @param pages the page-file the B+tree is stored in.
+     * @return      the newly created B+tree.
+     */
+    public static BPlusTree create(PageFile pages) throws IOException {
+        int rootPage = pages.allocate();
+        pages.write(rootPage, new Node(true));
+        return new BPlusTree(pages, rootPage);
+    }
+
+    /**
+     * Returns the page holding the root node, which changes whenever the root node is split.
+     */
+    public int getRootPage() {
+        return rootPage;
+    }
+
+    /**
+     * Returns the value stored with the key, or null if the key is not in the B+tree.
+     */
+    public byte[] get(byte[] key) throws IOException {
+        Node leaf = findLeaf(key);
+        int index = leaf.search(key);
+        return index >= 0 ? readValue(leaf.values.get(index)) : null;
+    }
+
+    /**
+     * Stores the value with the key, replacing any value previously stored with the key.
+     *
+     * @throws IllegalArgumentException if the key is too large to be stored.
+     */
+    public void put(byte[] key, byte[] value) throws IOException {
+        if (key.length > MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Key is too large to be stored in a B+tree");
+        }
+
+        Split split = insert(rootPage, key, storeValue(value));
+
+        if (split != null) {
+            Node newRoot = new Node(false);
+            newRoot.children.add(rootPage);
+            newRoot.keys.add(split.separator);
+            newRoot.children.add(split.rightPage);
+
+            rootPage = pages.allocate();
+            pages.write(rootPage, newRoot);
+        }
+    }
+
+    /**
+     * Removes the key and its value from the B+tree.
+     *
+     * @return true if the key was in the B+tree.
+     */
+    public boolean remove(byte[] key) throws IOException {
+        if (!remove(rootPage, key)) {
+            return false;
+        }
+
+        Node root = pages.read(rootPage);
+        while (!root.isLeaf && root.keys.isEmpty()) {
+            pages.free(rootPage);
+            rootPage = root.children.get(0);
+            root = pages.read(rootPage);
+        }
+
+        return true;
+    }
+
+    /**
+     * Visits, in order, every key at least {@code from} and starting with {@code prefix},
+     * until the visitor returns false.
+     *
+     * @param from    the smallest key to visit.
+     * @param prefix  the prefix every visited key should start with.
+     * @param visitor receives each key and its value, and returns false to stop scanning.
+     */
+    public void scan(byte[] from, byte[] prefix, BiPredicate<byte[], byte[]> visitor) throws IOException {
+        Node leaf = findLeaf(from);
+        int index = leaf.search(from);
+        index = index >= 0 ? index : -index - 1;
+
+        while (true) {
+            for (; index < leaf.keys.size(); index++) {
+                byte[] key = leaf.keys.get(index);
+
+                if (!startsWith(key, prefix) || !visitor.test(key, readValue(leaf.values.get(index)))) {
+                    return;
+                }
+            }
+
+            if (!leaf.hasNextLeaf()) {
+                return;
+            }
+
+            leaf = pages.read(leaf.nextLeaf);
+            index = 0;
+        }
+    }
+
+    private Node findLeaf(byte[] key) throws IOException {
+        Node node = pages.read(rootPage);
+
+        while (!node.isLeaf) {
+            node = pages.read(node.children.get(node.getChildIndex(key)));
+        }
+
+        return node;
+    }
+
+    private Split insert(int page, byte[] key, byte[] value) throws IOException {
+        Node node = pages.read(page);
+
+        if (node.isLeaf) {
+            int index = node.search(key);
+
+            if (index >= 0) {
+                freeValue(node.values.get(index));
+                node.values.set(index, value);
+            } else {
+                node.keys.add(-index - 1, key);
+                node.values.add(-index - 1, value);
+            }
+        } else {
+            int childIndex = node.getChildIndex(key);
+            Split childSplit = insert(node.children.get(childIndex), key, value);
+
+            if (childSplit != null) {
+                node.keys.add(childIndex, childSplit.separator);
+                node.children.add(childIndex + 1, childSplit.rightPage);
+            }
+        }
+
+        Split split = node.getEncodedSize() > PageFile.PAGE_SIZE
+                ? split(node)
+                : null;
+        pages.write(page, node);
+
+        return split;
+    }
+
+    /**
+     * Removes the key from the subtree rooted at the page, merging any child left
+     * under-full with one of its siblings.
+     *
+     * @return true if the key was in the subtree.
+     */
+    private boolean remove(int page, byte[] key) throws IOException {
+        Node node = pages.read(page);
+
+        if (node.isLeaf) {
+            int index = node.search(key);
+            if (index < 0) {
+                return false;
+            }
+
+            freeValue(node.values.get(index));
+            node.keys.remove(index);
+            node.values.remove(index);
+        } else {
+            int childIndex = node.getChildIndex(key);
+            int childPage = node.children.get(childIndex);
+
+            if (!remove(childPage, key)) {
+                return false;
+            }
+            if (pages.read(childPage).getEncodedSize() < MIN_NODE_SIZE) {
+                mergeChildren(node, childIndex > 0 ? childIndex - 1 : childIndex);
+            }
+        }
+
+        pages.write(page, node);
+        return true;
+    }
+
+    /**
+     * Merges the child at the index with the child to its right, if both fit in one page,
+     * and frees the page of the right child.
+     */
+    private void mergeChildren(Node parent, int leftIndex) throws IOException {
+        if (leftIndex + 1 >= parent.children.size()) {
+            return;
+        }
+
+        int leftPage = parent.children.get(leftIndex);
+        int rightPage = parent.children.get(leftIndex + 1);
+        Node merged = pages.read(leftPage).mergeWith(parent.keys.get(leftIndex), pages.read(rightPage));
+
+        if (merged.getEncodedSize() > PageFile.PAGE_SIZE) {
+            return;
+        }
+
+        pages.write(leftPage, merged);
+        pages.free(rightPage);
+        parent.keys.remove(leftIndex);
+        parent.children.remove(leftIndex + 1);
+    }
+
+    /**
+     * Returns what is kept in a leaf node for the value: the value itself if it is small enough,
+     * or else where the value was written to in a chain of overflow pages.
+     */
+    private byte[] storeValue(byte[] value) throws IOException {
+        if (value.length <= MAX_INLINE_VALUE_SIZE) {
+            return ByteBuffer.allocate(1 + value.length).put(INLINE).put(value).array();
+        }
+
+        // the chain is written from its last page, so that each page knows the page after it
+        int nextPage = Node.NO_PAGE;
+        int lastPartStart = (value.length - 1) / Node.OVERFLOW_CAPACITY * Node.OVERFLOW_CAPACITY;
+
+        for (int start = lastPartStart; start >= 0; start -= Node.OVERFLOW_CAPACITY) {
+            int end = Math.min(start + Node.OVERFLOW_CAPACITY, value.length);
+            int page = pages.allocate();
+            pages.write(page, Node.overflow(Arrays.copyOfRange(value, start, end), nextPage));
+            nextPage = page;
+        }
+
+        return ByteBuffer.allocate(1 + Integer.BYTES + Integer.BYTES)
+                .put(OVERFLOW)
+                .putInt(value.length)
+                .putInt(nextPage)
+                .array();
+    }
+
+    /**
+     * Returns the value kept in a leaf node, reading it from its overflow pages if it was too large.
+     */
+    private byte[] readValue(byte[] storedValue) throws IOException {
+        ByteBuffer stored = ByteBuffer.wrap(storedValue);
+
+        if (stored.get() == INLINE) {
+            return Arrays.copyOfRange(storedValue, 1, storedValue.length);
+        }
+
+        ByteBuffer value = ByteBuffer.allocate(stored.getInt());
+        int page = stored.getInt();
+
+        while (page != Node.NO_PAGE) {
+            Node overflow = pages.read(page);
+            value.put(overflow.overflow);
+            page = overflow.nextLeaf;
+        }
+
+        return value.array();
+    }
+
+    /**
+     * Frees the overflow pages of a value kept in a leaf node that is being removed or replaced.
+     */
+    private void freeValue(byte[] storedValue) throws IOException {
+        ByteBuffer stored = ByteBuffer.wrap(storedValue);
+
+        if (stored.get() == INLINE) {
+            return;
+        }
+
+        stored.getInt(); // the length of the value
+        int page = stored.getInt();
+
+        while (page != Node.NO_PAGE) {
+            int nextPage = pages.read(page).nextLeaf;
+            pages.free(page);
+            page = nextPage;
+        }
+    }
+
+    /**
+     * Moves the upper half (by size) of an over-full node into a new node.
+     */
+    private Split split(Node node) throws IOException {
+        int middle = getMiddleIndex(node);
+        Node right = new Node(node.isLeaf);
+        int rightPage = pages.allocate();
+        byte[] separator;
+
+        if (node.isLeaf) {
+            right.keys.addAll(node.keys.subList(middle, node.keys.size()));
+            right.values.addAll(node.values.subList(middle, node.values.size()));
+            node.keys.subList(middle, node.keys.size()).clear();
+            node.values.subList(middle, node.values.size()).clear();
+
+            right.nextLeaf = node.nextLeaf;
+            node.nextLeaf = rightPage;
+            separator = right.keys.get(0);
+        } else {
+            separator = node.keys.get(middle);
+            right.keys.addAll(node.keys.subList(middle + 1, node.keys.size()));
+            right.children.addAll(node.children.subList(middle + 1, node.children.size()));
+            node.keys.subList(middle, node.keys.size()).clear();
+            node.children.subList(middle + 1, node.children.size()).clear();
+        }
+
+        pages.write(rightPage, right);
+
+        return new Split(separator, rightPage);
+    }
+
+    private int getMiddleIndex(Node node) {
+        int halfSize = node.getEncodedSize() / 2;
+        int size = 0;
+
+        for (int i = 0; i < node.keys.size() - 1; i++) {
+            size += node.getEntrySize(i);
+            if (size >= halfSize) {
+                return Math.max(i, 1);
+            }
+        }
+
+        return node.keys.size() - 1;
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length
+                && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Describes a node that was split in two during an insertion.
+     */
+    private static class Split {
+        private final byte[] separator;
+        private final int rightPage;
+
+        Split(byte[] separator, int rightPage) {
+            this.separator = separator;
+            this.rightPage = rightPage;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package spark.storage.backends.btree;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a single page of a B+tree once it has been read from the page-file.
+ * <p>
+ * Leaf nodes hold keys together with their values and are chained to the next
+ * leaf so that ranges of keys can be scanned in order. Internal nodes hold
+ * separator keys together with the pages of their children. Overflow pages hold
+ * part of a value too large to fit in a leaf node, and are chained to the page
+ * holding the rest of the value.
+ */
+class Node {
+    private static final byte LEAF = 0;
+    private static final byte INTERNAL = 1;
+    private static final byte OVERFLOW = 2;
+    private static final int NODE_HEADER_SIZE = 7;
+
+    /** The page number that stands for no page at all. */
+    static final int NO_PAGE = -1;
+    /** The largest number of bytes of a value an overflow page can hold. */
+    static final int OVERFLOW_CAPACITY = PageFile.PAGE_SIZE - NODE_HEADER_SIZE;
+
+    final boolean isLeaf;
+    final List<byte[]> keys = new ArrayList<>();
+    /** Values stored alongside the keys of a leaf node. */
+    final List<byte[]> values = new ArrayList<>();
+    /** Pages of the children of an internal node; there is always one more child than keys. */
+    final List<Integer> children = new ArrayList<>();
+    /** The next leaf node, or the page holding the rest of the value of an overflow page. */
+    int nextLeaf = NO_PAGE;
+    /** The part of a value held by an overflow page, or null if this is not an overflow page. */
+    byte[] overflow;
+
+    Node(boolean isLeaf) {
+        this.isLeaf = isLeaf;
+    }
+
+    /**
+     * Creates an overflow page holding part of a value, followed by the page holding the rest of it.
+     */
+    static Node overflow(byte[] part, int nextPage) {
+        Node node = new Node(true);
+        node.overflow = part;
+        node.nextLeaf = nextPage;
+        return node;
+    }
+
+    /**
+     * Returns a new node holding the entries of this node followed by those of its right sibling.
+     * The separator between the two nodes in their parent is moved down into a merged internal node.
+     */
+    Node mergeWith(byte[] separator, Node right) {
+        Node merged = new Node(isLeaf);
+        merged.keys.addAll(keys);
+
+        if (isLeaf) {
+            merged.values.addAll(values);
+            merged.values.addAll(right.values);
+            merged.nextLeaf = right.nextLeaf;
+        } else {
+            merged.keys.add(separator);
+            merged.children.addAll(children);
+            merged.children.addAll(right.children);
+        }
+
+        merged.keys.addAll(right.keys);
+        return merged;
+    }
+
+    /**
+     * Returns the index of the key in this node, or (-(insertion point) - 1)
+     * if the key is not in this node.
+     */
+    int search(byte[] key) {
+        int low = 0;
+        int high = keys.size() - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = Arrays.compareUnsigned(keys.get(mid), key);
+
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child of an internal node whose subtree may contain the key.
+     */
+    int getChildIndex(byte[] key) {
+        int index = search(key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    boolean hasNextLeaf() {
+        return nextLeaf != NO_PAGE;
+    }
+
+    int getEncodedSize() {
+        if (overflow != null) {
+            return NODE_HEADER_SIZE + overflow.length;
+        }
+
+        int size = NODE_HEADER_SIZE;
+
+        for (int i = 0; i < keys.size(); i++) {
+            size += getEntrySize(i);
+        }
+
+        return isLeaf ? size : size + Integer.BYTES;
+    }
+
+    /**
+     * Returns the number of bytes the key (and value or right-child) at the index takes up in a page.
+     */
+    int getEntrySize(int index) {
+        int keySize = Short.BYTES + keys.get(index).length;
+
+        return isLeaf
+                ? keySize + Short.BYTES + values.get(index).length
+                : keySize + Integer.BYTES;
+    }
+
+    void encode(ByteBuffer page) {
+        if (overflow != null) {
+            page.put(OVERFLOW);
+            page.putShort((short) overflow.length);
+            page.putInt(nextLeaf);
+            page.put(overflow);
+            return;
+        }
+
+        page.put(isLeaf ? LEAF : INTERNAL);
+        page.putShort((short) keys.size());
+        page.putInt(nextLeaf);
+
+        if (!isLeaf) {
+            page.putInt(children.get(0));
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            page.putShort((short) keys.get(i).length);
+            page.put(keys.get(i));
+
+            if (isLeaf) {
+                page.putShort((short) values.get(i).length);
+                page.put(values.get(i));
+            } else {
+                page.putInt(children.get(i + 1));
+            }
+        }
+    }
+
+    static Node decode(ByteBuffer page) {
+        byte type = page.get();
+
+        if (type == OVERFLOW) {
+            byte[] part = new byte[Short.toUnsignedInt(page.getShort())];
+            int nextPage = page.getInt();
+            page.get(part);
+            return overflow(part, nextPage);
+        }
+
+        Node node = new Node(type == LEAF);
+        int numberOfKeys = Short.toUnsignedInt(page.getShort());
+        node.nextLeaf = page.getInt();
+
+        if (!node.isLeaf) {
+            node.children.add(page.getInt());
+        }
+
+        for (int i = 0; i < numberOfKeys; i++) {
+            node.keys.add(readBytes(page));
+
+            if (node.isLeaf) {
+                node.values.add(readBytes(page));
+            } else {
+                node.children.add(page.getInt());
+            }
+        }
+
+        return node;
+    }
+
+    private static byte[] readBytes(ByteBuffer page) {
+        byte[] bytes = new byte[Short.toUnsignedInt(page.getShort())];
+        page.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,199 @@
+package spark.storage.backends.btree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A file made up of fixed-size pages, read and written with positional NIO I/O.
+ * <p>
+ * Page 0 is a header page owned by whoever opens the file, apart from its last few
+ * bytes; all other pages hold B+tree nodes or overflow pages. Recently used nodes
+ * are kept in a least-recently-used cache and modified nodes are only written back
+ * to the file when they are evicted from the cache or the file is flushed.
+ * <p>
+ * Pages that are no longer needed are kept in a chain of free pages, whose first page
+ * is stored in the last bytes of the header page, and are handed out again before the
+ * file is made any longer.
+ */
+public class PageFile implements AutoCloseable {
+    /** The number of bytes in every page of the file. */
+    public static final int PAGE_SIZE = 4096;
+    /** The number of bytes of the header page that can be used by whoever opens the file. */
+    public static final int HEADER_SIZE = PAGE_SIZE - Integer.BYTES;
+
+    /** The header page is never freed, so it stands for there being no free pages. */
+    private static final int NO_FREE_PAGES = 0;
+    private static final byte[] NO_DATA = new byte[0];
+
+    private final FileChannel channel;
+    private final int cacheCapacity;
+    /** Nodes ordered from least to most recently used. */
+    private final LinkedHashMap<Integer, Node> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Integer> dirtyPages = new HashSet<>();
+    private int numberOfPages;
+    private int firstFreePage = NO_FREE_PAGES;
+    private long hits;
+    private long misses;
+
+    /**
+     * Opens the page-file at the given path, creating it if it does not exist.
+     *
+     * @param filePath      the location of the page-file.
+     * @param cacheCapacity the maximum number of pages to keep in memory.
+     * @throws IOException  if the page-file could not be opened.
+     */
+    public PageFile(Path filePath, int cacheCapacity) throws IOException {
+        this.channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.cacheCapacity = cacheCapacity;
+        this.numberOfPages = (int) Math.max(1, channel.size() / PAGE_SIZE);
+
+        if (!isEmpty()) {
+            ByteBuffer freePage = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(freePage, HEADER_SIZE);
+            this.firstFreePage = freePage.getInt(0);
+        }
+    }
+
+    /**
+     * Returns true if the page-file has nothing but an empty header page.
+     */
+    public boolean isEmpty() throws IOException {
+        return channel.size() == 0;
+    }
+
+    /**
+     * Reads the contents of the header page that can be used by whoever opens the file.
+     */
+    public ByteBuffer readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.rewind();
+        return header;
+    }
+
+    /**
+     * Overwrites the contents of the header page, along with the first free page.
+     */
+    public void writeHeader(ByteBuffer header) throws IOException {
+        ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE);
+        header.rewind();
+        page.put(header);
+        page.putInt(HEADER_SIZE, firstFreePage);
+        page.rewind();
+        channel.write(page, 0);
+    }
+
+    /**
+     * Discards every page except the header page.
+     */
+    public void clear() throws IOException {
+        cache.clear();
+        dirtyPages.clear();
+        channel.truncate(PAGE_SIZE);
+        numberOfPages = 1;
+        firstFreePage = NO_FREE_PAGES;
+    }
+
+    /**
+     * Returns a page that is not in use, reusing a free page if there is one.
+     */
+    int allocate() throws IOException {
+        if (firstFreePage == NO_FREE_PAGES) {
+            return numberOfPages++;
+        }
+
+        int page = firstFreePage;
+        firstFreePage = read(page).nextLeaf;
+        return page;
+    }
+
+    /**
+     * Adds a page that is no longer in use to the chain of free pages.
+     */
+    void free(int page) throws IOException {
+        write(page, Node.overflow(NO_DATA, firstFreePage));
+        firstFreePage = page;
+    }
+
+    Node read(int page) throws IOException {
+        Node node = cache.get(page);
+
+        if (node != null) {
+            hits++;
+            return node;
+        }
+
+        misses++;
+        ByteBuffer bytes = ByteBuffer.allocate(PAGE_SIZE);
+        channel.read(bytes, (long) page * PAGE_SIZE);
+        bytes.rewind();
+        node = Node.decode(bytes);
+
+        cache.put(page, node);
+        evictIfFull();
+
+        return node;
+    }
+
+    void write(int page, Node node) throws IOException {
+        cache.put(page, node);
+        dirtyPages.add(page);
+        evictIfFull();
+    }
+
+    /**
+     * Writes every modified page back to the file.
+     */
+    public void flush() throws IOException {
+        for (int page : dirtyPages) {
+            writePage(page, cache.get(page));
+        }
+
+        dirtyPages.clear();
+        channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, firstFreePage), HEADER_SIZE);
+        channel.force(false);
+    }
+
+    /**
+     * Returns a human-readable summary of how effective the page cache has been.
+     */
+    public String getCacheStatistics() {
+        return String.format("%d pages cached, %d hits, %d misses", cache.size(), hits, misses);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void evictIfFull() throws IOException {
+        Iterator<Map.Entry<Integer, Node>> leastRecentlyUsed = cache.entrySet().iterator();
+
+        while (cache.size() > cacheCapacity) {
+            Map.Entry<Integer, Node> eldest = leastRecentlyUsed.next();
+
+            if (dirtyPages.remove(eldest.getKey())) {
+                writePage(eldest.getKey(), eldest.getValue());
+            }
+
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private void writePage(int page, Node node) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(PAGE_SIZE);
+        node.encode(bytes);
+        bytes.rewind();
+        channel.write(bytes, (long) page * PAGE_SIZE);
+    }
+}
@@ -0,0 +1,59 @@
+package spark.storage.sync;
+
+/**
+ * Describes the outcome of syncing the task list with another save-file.
+ */
+public class SyncReport {
+    private final int numberOfDifferingChunks;
+    private final int numberOfTasksAddedHere;
+    private final int numberOfTasksAddedThere;
+    private final int numberOfTasksUpdatedHere;
+    private final int numberOfTasksUpdatedThere;
+
+    /**
+     * Creates a report of a sync.
+     *
+     * @param numberOfDifferingChunks   the number of chunks of Tasks that differed, and were compared Task by Task.
+     * @param numberOfTasksAddedHere    the number of Tasks added to the task list from the other save-file.
+     * @param numberOfTasksAddedThere   the number of Tasks added to the other save-file from the task list.
+     * @param numberOfTasksUpdatedHere  the number of Tasks in the task list replaced by their version in the other
+     *                                  save-file.
+     * @param numberOfTasksUpdatedThere the number of Tasks in the other save-file replaced by their version in the
+     *                                  task list.
+     */
+    public SyncReport(int numberOfDifferingChunks, int numberOfTasksAddedHere, int numberOfTasksAddedThere,
+            int numberOfTasksUpdatedHere, int numberOfTasksUpdatedThere) {
+        this.numberOfDifferingChunks = numberOfDifferingChunks;
+        this.numberOfTasksAddedHere = numberOfTasksAddedHere;
+        this.numberOfTasksAddedThere = numberOfTasksAddedThere;
+        this.numberOfTasksUpdatedHere = numberOfTasksUpdatedHere;
+        this.numberOfTasksUpdatedThere = numberOfTasksUpdatedThere;
+    }
+
+    /**
+     * Returns true if both sides already had the same Tasks.
+     */
+    public boolean isAlreadyInSync() {
+        return numberOfDifferingChunks == 0;
+    }
+
+    public int getNumberOfDifferingChunks() {
+        return numberOfDifferingChunks;
+    }
+
+    public int getNumberOfTasksAddedHere() {
+        return numberOfTasksAddedHere;
+    }
+
+    public int getNumberOfTasksAddedThere() {
+        return numberOfTasksAddedThere;
+    }
+
+    public int getNumberOfTasksUpdatedHere() {
+        return numberOfTasksUpdatedHere;
+    }
+
+    public int getNumberOfTasksUpdatedThere() {
+        return numberOfTasksUpdatedThere;
+    }
+}
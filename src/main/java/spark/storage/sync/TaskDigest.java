@@ -0,0 +1,187 @@
+package spark.storage.sync;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A two-level hash tree over the encoded Tasks of a task list, so two task lists can
+ * tell which of their Tasks differ by comparing a single hash, then the hashes of the
+ * chunks that differ, and only then the Tasks in those chunks.
+ * <p>
+ * Each Task is identified by its key: its encoded-representation without its completion
+ * status, so the same Task marked as done in one task list and not in the other has the
+ * same key in both. A Task whose key appears more than once is told apart by how many
+ * times the key came before it. Tasks are put into chunks by the hash of their key, so
+ * the same Task is in the same chunk in both task lists, wherever it is in the list; the
+ * hash of a chunk does not depend on the order of its Tasks either.
+ */
+public class TaskDigest {
+    /** The number of bits of the hash of a key that choose its chunk. */
+    private static final int CHUNK_BITS = 10;
+    /** The number of chunks the Tasks are split into. */
+    public static final int NUMBER_OF_CHUNKS = 1 << CHUNK_BITS;
+
+    private static final String SEPARATOR = " @@@ ";
+    private static final int COMPLETION_STATUS_TOKEN = 1;
+    private static final int COMPLETED_OCCURRENCES_TOKEN = 6;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] keyHashes;
+    private final long[] recordHashes;
+    private final long[] chunkHashes = new long[NUMBER_OF_CHUNKS];
+    /** The positions of the Tasks, grouped by chunk. */
+    private final int[] positionsByChunk;
+    /** Where the positions of the Tasks in each chunk start in {@link #positionsByChunk}. */
+    private final int[] chunkStarts = new int[NUMBER_OF_CHUNKS + 1];
+    private final long rootHash;
+
+    /**
+     * Hashes the encoded Tasks.
+     *
+     * @param encodedTasks the encoded-representation of each Task, in the order of the task list.
+     */
+    public TaskDigest(List<String> encodedTasks) {
+        int numberOfTasks = encodedTasks.size();
+        Map<String, Integer> numberOfTimesSeen = new HashMap<>();
+        keyHashes = new long[numberOfTasks];
+        recordHashes = new long[numberOfTasks];
+        positionsByChunk = new int[numberOfTasks];
+
+        for (int i = 0; i < numberOfTasks; i++) {
+            String encodedTask = encodedTasks.get(i);
+            String key = getKey(encodedTask);
+            int timesSeen = numberOfTimesSeen.merge(key, 1, Integer::sum) - 1;
+
+            keyHashes[i] = mix(hash(key) + timesSeen);
+            recordHashes[i] = hash(encodedTask);
+            int chunk = getChunk(keyHashes[i]);
+            chunkHashes[chunk] += mix(keyHashes[i] ^ recordHashes[i]);
+            chunkStarts[chunk + 1]++;
+        }
+
+        for (int chunk = 0; chunk < NUMBER_OF_CHUNKS; chunk++) {
+            chunkStarts[chunk + 1] += chunkStarts[chunk];
+        }
+
+        int[] nextPositionInChunk = chunkStarts.clone();
+        for (int i = 0; i < numberOfTasks; i++) {
+            positionsByChunk[nextPositionInChunk[getChunk(keyHashes[i])]++] = i;
+        }
+
+        long root = FNV_OFFSET_BASIS;
+        for (long chunkHash : chunkHashes) {
+            root = mix(root * FNV_PRIME + chunkHash);
+        }
+        rootHash = root;
+    }
+
+    /**
+     * Returns the key identifying an encoded Task: its encoded-representation without
+     * its completion status, or the completed occurrences of a recurring Task.
+     */
+    public static String getKey(String encodedTask) {
+        boolean isRecurring = encodedTask.startsWith("R" + SEPARATOR);
+        StringBuilder key = new StringBuilder(encodedTask.length());
+        int start = 0;
+
+        for (int i = 0; start <= encodedTask.length(); i++) {
+            int end = encodedTask.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = encodedTask.length();
+            }
+
+            if (!isStatusToken(i, isRecurring)) {
+                key.append(encodedTask, start, end).append(SEPARATOR);
+            }
+            start = end + SEPARATOR.length();
+        }
+
+        return key.toString();
+    }
+
+    public long getRootHash() {
+        return rootHash;
+    }
+
+    /**
+     * Returns the chunks whose Tasks differ from those of the same chunk in the other digest,
+     * in ascending order; there are none if the root hashes match.
+     */
+    public List<Integer> getDifferingChunks(TaskDigest other) {
+        List<Integer> differingChunks = new ArrayList<>();
+
+        if (rootHash == other.rootHash) {
+            return differingChunks;
+        }
+
+        for (int chunk = 0; chunk < NUMBER_OF_CHUNKS; chunk++) {
+            if (chunkHashes[chunk] != other.chunkHashes[chunk]) {
+                differingChunks.add(chunk);
+            }
+        }
+
+        return differingChunks;
+    }
+
+    /**
+     * Returns the zero-based positions of the Tasks in the chunk, by the hash of their keys.
+     */
+    public Map<Long, Integer> getTasksInChunk(int chunk) {
+        Map<Long, Integer> tasksInChunk = new HashMap<>();
+
+        for (int i = chunkStarts[chunk]; i < chunkStarts[chunk + 1]; i++) {
+            tasksInChunk.put(keyHashes[positionsByChunk[i]], positionsByChunk[i]);
+        }
+
+        return tasksInChunk;
+    }
+
+    /**
+     * Returns the hash of the whole encoded-representation of the Task at the zero-based position.
+     */
+    public long getRecordHash(int position) {
+        return recordHashes[position];
+    }
+
+    /**
+     * Returns true if the token at the index holds the completion status, or the completed occurrences
+     * of a recurring Task.
+     */
+    private static boolean isStatusToken(int i, boolean isRecurring) {
+        if (i == COMPLETION_STATUS_TOKEN) {
+            return true;
+        }
+
+        return isRecurring && i == COMPLETED_OCCURRENCES_TOKEN;
+    }
+
+    private static int getChunk(long keyHash) {
+        return (int) (keyHash >>> (Long.SIZE - CHUNK_BITS));
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of the characters of the text.
+     */
+    private static long hash(String text) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Spreads the bits of the value over the whole hash, so nearby values land in different chunks.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
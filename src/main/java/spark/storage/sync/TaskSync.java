@@ -0,0 +1,175 @@
+package spark.storage.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import spark.exceptions.SparkException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.storage.SaveFileLock;
+import spark.storage.Storage;
+import spark.storage.TaskDecoder;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.RecurringTask;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Holds methods for syncing the task list with another save-file, such as a copy of it
+ * kept on another computer, so that both end up with the same Tasks.
+ * <p>
+ * Both sides are hashed into a {@link TaskDigest}, and only the Tasks in chunks whose
+ * hashes differ are compared. A Task only one side has is added to the other; a Task
+ * both sides have in different states, such as done on one side and not the other, is
+ * replaced on one side by the version that has made the most progress, so syncing in
+ * either direction gives the same result. Only the Tasks that differ are decoded and
+ * saved, and a side's save-file is left alone if it already had every Task. As neither
+ * side keeps track of deletions, a Task deleted on only one side is added back to it.
+ */
+public class TaskSync {
+    /**
+     * Syncs the task list with the save-file at the file-path, in any format Spark can save
+     * in; the save-file is created if it does not exist yet. The other save-file is locked
+     * while it is synced.
+     *
+     * @param tasks         the task list.
+     * @param storage       the save-file the task list is stored in.
+     * @param otherFilePath the file-path of the other save-file.
+     * @throws SparkException if either save-file could not be read from or written to.
+     */
+    public static SyncReport sync(TaskList tasks, Storage storage, String otherFilePath) throws SparkException {
+        Storage otherStorage = new Storage(otherFilePath);
+
+        try {
+            SaveFileLock lock = otherStorage.lock();
+
+            try {
+                Side here = new Side(tasks);
+                Side there = new Side(new TaskList(otherStorage.readTasksFile()));
+                int numberOfDifferingChunks = compare(here, there);
+
+                here.applyAndSave(storage);
+                there.applyAndSave(otherStorage);
+
+                return new SyncReport(numberOfDifferingChunks, here.tasksToAdd.size(), there.tasksToAdd.size(),
+                        here.replacements.size(), there.replacements.size());
+            } finally {
+                lock.close();
+            }
+        } finally {
+            otherStorage.close();
+        }
+    }
+
+    /**
+     * Works out what each side is missing from the chunks that differ, returning the number of such chunks.
+     */
+    private static int compare(Side here, Side there) throws TaskDecodingException {
+        TaskDigest ourDigest = new TaskDigest(here.encodedTasks);
+        TaskDigest theirDigest = new TaskDigest(there.encodedTasks);
+        List<Integer> differingChunks = ourDigest.getDifferingChunks(theirDigest);
+
+        for (int chunk : differingChunks) {
+            Map<Long, Integer> ourTasks = ourDigest.getTasksInChunk(chunk);
+            Map<Long, Integer> theirTasks = theirDigest.getTasksInChunk(chunk);
+
+            for (Map.Entry<Long, Integer> ourTask : ourTasks.entrySet()) {
+                Integer theirPosition = theirTasks.get(ourTask.getKey());
+                int ourPosition = ourTask.getValue();
+
+                if (theirPosition == null) {
+                    there.tasksToAdd.put(ourPosition, here.encodedTasks.get(ourPosition));
+                } else if (ourDigest.getRecordHash(ourPosition) != theirDigest.getRecordHash(theirPosition)) {
+                    resolveConflict(here, ourPosition, there, theirPosition);
+                }
+            }
+
+            for (Map.Entry<Long, Integer> theirTask : theirTasks.entrySet()) {
+                if (!ourTasks.containsKey(theirTask.getKey())) {
+                    here.tasksToAdd.put(theirTask.getValue(), there.encodedTasks.get(theirTask.getValue()));
+                }
+            }
+        }
+
+        return differingChunks.size();
+    }
+
+    /**
+     * Replaces the version of a Task on one side with the version on the other that has made
+     * the most progress; if both have made as much progress, the version whose encoded-representation
+     * comes last wins, so the result does not depend on which side is which.
+     */
+    private static void resolveConflict(Side here, int ourPosition, Side there, int theirPosition)
+            throws TaskDecodingException {
+        String ourVersion = here.encodedTasks.get(ourPosition);
+        String theirVersion = there.encodedTasks.get(theirPosition);
+        int comparison = Integer.compare(getProgress(ourVersion), getProgress(theirVersion));
+
+        if (comparison == 0) {
+            comparison = ourVersion.compareTo(theirVersion);
+        }
+
+        if (comparison > 0) {
+            there.replacements.put(theirPosition, ourVersion);
+        } else {
+            here.replacements.put(ourPosition, theirVersion);
+        }
+    }
+
+    /**
+     * Returns how much of the Task has been done: the number of completed occurrences of
+     * a recurring Task, or whether any other Task is done.
+     */
+    private static int getProgress(String encodedTask) throws TaskDecodingException {
+        Task t = TaskDecoder.decodeTask(encodedTask);
+
+        if (t instanceof RecurringTask) {
+            return ((RecurringTask) t).getNumberOfCompletedOccurrences();
+        }
+
+        return t.isDone() ? 1 : 0;
+    }
+
+    /**
+     * One of the task lists being synced, and the changes it needs to match the other.
+     */
+    private static class Side {
+        private final TaskList tasks;
+        private final List<String> encodedTasks = new ArrayList<>();
+        /** The encoded-representations of the Tasks only the other side has, by their zero-based positions there. */
+        private final Map<Integer, String> tasksToAdd = new TreeMap<>();
+        /** The encoded-representations to replace Tasks with, by their zero-based positions. */
+        private final Map<Integer, String> replacements = new TreeMap<>();
+
+        Side(TaskList tasks) {
+            this.tasks = tasks;
+            for (Task t : tasks.getTasks()) {
+                encodedTasks.add(t.encodeTask());
+            }
+        }
+
+        /**
+         * Replaces the Tasks that lost a conflict, then adds the missing Tasks to the end of the task
+         * list, in the order the other side had them, saving only the Tasks that were replaced or added.
+         */
+        void applyAndSave(Storage storage) throws SparkException {
+            if (!replacements.isEmpty()) {
+                for (Map.Entry<Integer, String> replacement : replacements.entrySet()) {
+                    tasks.replaceTasks(replacement.getKey() + 1, 1,
+                            List.of(TaskDecoder.decodeTask(replacement.getValue())));
+                }
+                storage.writeModifiedTasks(tasks, replacements.keySet().stream()
+                        .mapToInt(position -> position + 1).toArray());
+            }
+
+            if (!tasksToAdd.isEmpty()) {
+                List<Task> addedTasks = new ArrayList<>();
+                for (String encodedTask : tasksToAdd.values()) {
+                    addedTasks.add(TaskDecoder.decodeTask(encodedTask));
+                }
+                tasks.addTasks(addedTasks);
+                storage.writeAddedTasks(tasks, addedTasks.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package spark.storage.transfer;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Stores Tasks as comma-separated values with a "type,done,title,date" header row.
+ * Titles containing commas or quotes are quoted, with quotes inside them doubled.
+ */
+class CsvTaskCodec implements TaskRecordCodec {
+    private static final String HEADER = "type,done,title,date";
+    private static final int NUMBER_OF_FIELDS = 4;
+
+    @Override
+    public void writeHeader(Writer out) throws IOException {
+        out.write(HEADER);
+        out.write(System.lineSeparator());
+    }
+
+    @Override
+    public void writeRecord(Task t, Writer out) throws IOException {
+        out.write(TaskRecordCodec.encodeType(t));
+        out.write(',');
+        out.write(String.valueOf(t.isDone()));
+        out.write(',');
+        writeField(t.getTitle(), out);
+        out.write(',');
+        out.write(TaskRecordCodec.encodeDate(t));
+        out.write(System.lineSeparator());
+    }
+
+    @Override
+    public Task readRecord(LineNumberReader in) throws IOException, TaskDecodingException {
+        String line = in.readLine();
+
+        while (line != null && (line.isBlank() || line.equals(HEADER))) {
+            line = in.readLine();
+        }
+
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = splitFields(line);
+
+        // a Todo may leave out its empty date
+        if (fields.size() < NUMBER_OF_FIELDS - 1 || fields.size() > NUMBER_OF_FIELDS) {
+            throw new TaskDecodingException();
+        }
+
+        return TaskRecordCodec.decodeTask(fields.get(0).trim(), fields.get(1).trim(), fields.get(2),
+                fields.size() == NUMBER_OF_FIELDS ? fields.get(3) : "");
+    }
+
+    private static void writeField(String field, Writer out) throws IOException {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            out.write(field);
+            return;
+        }
+
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * Splits a line into its fields, removing the quotes around quoted fields.
+     *
+     * @throws TaskDecodingException if a quoted field is not closed on the same line.
+     */
+    private static List<String> splitFields(String line) throws TaskDecodingException {
+        List<String> fields = new ArrayList<>(NUMBER_OF_FIELDS);
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (isQuoted) {
+            throw new TaskDecodingException();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
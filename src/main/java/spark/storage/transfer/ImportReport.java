@@ -0,0 +1,42 @@
+package spark.storage.transfer;
+
+/**
+ * Describes the outcome of importing Tasks from a file.
+ */
+public class ImportReport {
+    private final TransferFormat format;
+    private final int numberOfTasks;
+    private final int numberOfSkippedRecords;
+    private final int firstSkippedLine;
+
+    /**
+     * Creates a report of an import.
+     *
+     * @param format                 the format the file was read as.
+     * @param numberOfTasks          the number of Tasks added to the task list.
+     * @param numberOfSkippedRecords the number of records that were not valid Tasks.
+     * @param firstSkippedLine       the line number of the first record that was skipped, if any.
+     */
+    public ImportReport(TransferFormat format, int numberOfTasks, int numberOfSkippedRecords, int firstSkippedLine) {
+        this.format = format;
+        this.numberOfTasks = numberOfTasks;
+        this.numberOfSkippedRecords = numberOfSkippedRecords;
+        this.firstSkippedLine = firstSkippedLine;
+    }
+
+    public TransferFormat getFormat() {
+        return format;
+    }
+
+    public int getNumberOfTasks() {
+        return numberOfTasks;
+    }
+
+    public int getNumberOfSkippedRecords() {
+        return numberOfSkippedRecords;
+    }
+
+    public int getFirstSkippedLine() {
+        return firstSkippedLine;
+    }
+}
@@ -0,0 +1,241 @@
+package spark.storage.transfer;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Stores each Task as a JSON object on its own line, such as
+ * {@code {"type":"deadline","done":false,"title":"return book","date":"2022-02-22T18:00"}}.
+ * <p>
+ * Only flat objects are read; keys other than the four fields of a Task are ignored,
+ * so files written by other tools with extra fields can still be imported.
+ */
+class JsonLinesTaskCodec implements TaskRecordCodec {
+    @Override
+    public void writeHeader(Writer out) {
+        // every line stands on its own, so there is no header
+    }
+
+    @Override
+    public void writeRecord(Task t, Writer out) throws IOException {
+        String date = TaskRecordCodec.encodeDate(t);
+
+        out.write("{\"type\":\"");
+        out.write(TaskRecordCodec.encodeType(t));
+        out.write("\",\"done\":");
+        out.write(String.valueOf(t.isDone()));
+        out.write(",\"title\":");
+        writeString(t.getTitle(), out);
+        out.write(",\"date\":");
+        if (date.isEmpty()) {
+            out.write("null");
+        } else {
+            writeString(date, out);
+        }
+        out.write('}');
+        out.write(System.lineSeparator());
+    }
+
+    @Override
+    public Task readRecord(LineNumberReader in) throws IOException, TaskDecodingException {
+        String line = in.readLine();
+
+        while (line != null && line.isBlank()) {
+            line = in.readLine();
+        }
+
+        if (line == null) {
+            return null;
+        }
+
+        Map<String, String> fields = new ObjectParser(line.trim()).parse();
+        return TaskRecordCodec.decodeTask(fields.get("type"), fields.get("done"), fields.get("title"),
+                fields.get("date"));
+    }
+
+    private static void writeString(String s, Writer out) throws IOException {
+        out.write('"');
+
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            default:
+                if (c < ' ') {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+
+        out.write('"');
+    }
+
+    /**
+     * Reads the keys and values of a flat JSON object; strings are unescaped,
+     * other values are kept as they are written, and null values are left out.
+     */
+    private static class ObjectParser {
+        private final String json;
+        private int position;
+
+        ObjectParser(String json) {
+            this.json = json;
+        }
+
+        Map<String, String> parse() throws TaskDecodingException {
+            Map<String, String> fields = new HashMap<>();
+
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+            } else {
+                do {
+                    skipWhitespace();
+                    String key = readString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    String value = readValue();
+                    if (value != null) {
+                        fields.put(key, value);
+                    }
+                    skipWhitespace();
+                } while (tryConsume(','));
+                expect('}');
+            }
+
+            skipWhitespace();
+            if (position != json.length()) {
+                throw new TaskDecodingException();
+            }
+
+            return fields;
+        }
+
+        private String readValue() throws TaskDecodingException {
+            if (peek() == '"') {
+                return readString();
+            }
+
+            int start = position;
+            while (position < json.length() && ",} \t".indexOf(json.charAt(position)) < 0) {
+                char c = json.charAt(position);
+                if (c == '{' || c == '[' || c == '"') {
+                    throw new TaskDecodingException();
+                }
+                position++;
+            }
+
+            String literal = json.substring(start, position);
+            if (literal.isEmpty()) {
+                throw new TaskDecodingException();
+            }
+
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() throws TaskDecodingException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+
+            while (true) {
+                char c = next();
+
+                if (c == '"') {
+                    return value.toString();
+                } else if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+
+                char escaped = next();
+                switch (escaped) {
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    value.append(readCodeUnit());
+                    break;
+                default:
+                    value.append(escaped);
+                }
+            }
+        }
+
+        private char readCodeUnit() throws TaskDecodingException {
+            if (position + 4 > json.length()) {
+                throw new TaskDecodingException();
+            }
+
+            try {
+                char c = (char) Integer.parseInt(json.substring(position, position + 4), 16);
+                position += 4;
+                return c;
+            } catch (NumberFormatException e) {
+                throw new TaskDecodingException();
+            }
+        }
+
+        private char peek() throws TaskDecodingException {
+            if (position >= json.length()) {
+                throw new TaskDecodingException();
+            }
+
+            return json.charAt(position);
+        }
+
+        private char next() throws TaskDecodingException {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private void expect(char c) throws TaskDecodingException {
+            if (next() != c) {
+                throw new TaskDecodingException();
+            }
+        }
+
+        private boolean tryConsume(char c) {
+            if (position < json.length() && json.charAt(position) == c) {
+                position++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
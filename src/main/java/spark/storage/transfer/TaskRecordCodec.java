@@ -0,0 +1,102 @@
+package spark.storage.transfer;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.tasks.TitlePool;
+import spark.tasks.tasktypes.Deadline;
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Event;
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.Todo;
+
+/**
+ * Writes Tasks to, and reads Tasks from, a file of a TransferFormat one record at a time,
+ * so that files of any size can be exchanged without holding them in memory.
+ * <p>
+ * Every format stores the same four fields: the type of the Task ("todo", "deadline"
+ * or "event"), whether it is done, its title, and its date as an ISO-8601 local date
+ * and time such as "2022-02-22T18:00", which is empty for Todos.
+ */
+interface TaskRecordCodec {
+    /** Separates the fields of a saved Task, so it cannot appear in an imported title. */
+    String TITLE_SEPARATOR = " @@@ ";
+
+    /**
+     * Writes anything that must come before the first record, such as a header row.
+     */
+    void writeHeader(Writer out) throws IOException;
+
+    /**
+     * Writes the Task as a single record, followed by a line separator.
+     */
+    void writeRecord(Task t, Writer out) throws IOException;
+
+    /**
+     * Reads the next record, skipping any header row and blank lines.
+     *
+     * @return                       the decoded Task, or null if there are no more records.
+     * @throws TaskDecodingException if the record is not a valid Task; the rest of
+     *                               the file can still be read after this is thrown.
+     */
+    Task readRecord(LineNumberReader in) throws IOException, TaskDecodingException;
+
+    /**
+     * Returns the name of the type of the Task, as it is stored in every format.
+     */
+    static String encodeType(Task t) {
+        return t.getTaskType().name().toLowerCase();
+    }
+
+    /**
+     * Returns the date of the Task in ISO-8601 form, or an empty String if it has none.
+     */
+    static String encodeDate(Task t) {
+        long epochMinutes = t.getEpochMinutes();
+
+        return epochMinutes == EpochMinutes.NONE ? "" : EpochMinutes.toLocalDateTime(epochMinutes).toString();
+    }
+
+    /**
+     * Creates the Task described by the fields of a record. Records take up a single line,
+     * so titles never contain line separators.
+     *
+     * @throws TaskDecodingException if the fields do not describe a valid Task.
+     */
+    static Task decodeTask(String type, String isDone, String title, String date) throws TaskDecodingException {
+        if (type == null || title == null || title.isBlank() || title.contains(TITLE_SEPARATOR)
+                || !("true".equalsIgnoreCase(isDone) || "false".equalsIgnoreCase(isDone))) {
+            throw new TaskDecodingException();
+        }
+
+        String sharedTitle = TitlePool.getDefault().intern(title.trim());
+        boolean isCompleted = Boolean.parseBoolean(isDone);
+
+        switch (type.toLowerCase()) {
+        case "todo":
+            return new Todo(isCompleted, sharedTitle);
+        case "deadline":
+            return new Deadline(isCompleted, sharedTitle, decodeDate(date));
+        case "event":
+            return new Event(isCompleted, sharedTitle, decodeDate(date));
+        default:
+            throw new TaskDecodingException();
+        }
+    }
+
+    private static LocalDateTime decodeDate(String date) throws TaskDecodingException {
+        if (date == null) {
+            throw new TaskDecodingException();
+        }
+
+        try {
+            return LocalDateTime.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new TaskDecodingException();
+        }
+    }
+}
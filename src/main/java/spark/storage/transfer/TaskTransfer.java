@@ -0,0 +1,120 @@
+package spark.storage.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Holds methods for exporting Tasks to, and importing Tasks from, files that
+ * other tools can read and write.
+ * <p>
+ * Files are streamed through a buffered channel one record at a time, so exporting
+ * takes the same amount of memory however many Tasks there are, and importing only
+ * holds one batch of records before adding them to the task list.
+ */
+public class TaskTransfer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** The number of imported Tasks added to the task list at once. */
+    private static final int BATCH_SIZE = 8192;
+
+    /**
+     * Writes every Task in the task list to the file, replacing anything already in it.
+     *
+     * @return the number of Tasks written.
+     * @throws IOException if the file could not be written to.
+     */
+    public static int exportTasks(TaskList tasks, Path filePath, TransferFormat format) throws IOException {
+        TaskRecordCodec codec = format.getCodec();
+        int numberOfTasks = 0;
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            codec.writeHeader(out);
+
+            for (Task t : tasks.getTasks()) {
+                codec.writeRecord(t, out);
+                numberOfTasks++;
+            }
+        }
+
+        return numberOfTasks;
+    }
+
+    /**
+     * Reads every Task in the file and adds them to the end of the task list, in batches.
+     * Records that are not valid Tasks are skipped and counted in the report.
+     *
+     * @param format the format of the file, or null to tell from its contents.
+     * @throws IOException if the file could not be read from.
+     */
+    public static ImportReport importTasks(Path filePath, TransferFormat format, TaskList tasks)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+                LineNumberReader in = new LineNumberReader(Channels.newReader(channel, StandardCharsets.UTF_8),
+                        BUFFER_SIZE)) {
+            TransferFormat fileFormat = format != null ? format : detectFormat(in);
+            TaskRecordCodec codec = fileFormat.getCodec();
+            List<Task> batch = new ArrayList<>(BATCH_SIZE);
+            int numberOfTasks = 0;
+            int numberOfSkippedRecords = 0;
+            int firstSkippedLine = 0;
+
+            while (true) {
+                Task t;
+
+                try {
+                    t = codec.readRecord(in);
+                } catch (TaskDecodingException e) {
+                    if (numberOfSkippedRecords++ == 0) {
+                        firstSkippedLine = in.getLineNumber();
+                    }
+                    continue;
+                }
+
+                if (t == null) {
+                    break;
+                }
+
+                batch.add(t);
+                if (batch.size() == BATCH_SIZE) {
+                    tasks.addTasks(batch);
+                    numberOfTasks += batch.size();
+                    batch.clear();
+                }
+            }
+
+            tasks.addTasks(batch);
+            numberOfTasks += batch.size();
+
+            return new ImportReport(fileFormat, numberOfTasks, numberOfSkippedRecords, firstSkippedLine);
+        }
+    }
+
+    /**
+     * Tells the format of a file from its first non-blank character; JSON objects start with '{'.
+     */
+    private static TransferFormat detectFormat(LineNumberReader in) throws IOException {
+        in.mark(BUFFER_SIZE);
+
+        int c = in.read();
+        for (int i = 1; i < BUFFER_SIZE && c != -1 && Character.isWhitespace(c); i++) {
+            c = in.read();
+        }
+
+        in.reset();
+        return c == '{' ? TransferFormat.JSONL : TransferFormat.CSV;
+    }
+}
@@ -0,0 +1,50 @@
+package spark.storage.transfer;
+
+/**
+ * File formats that Tasks can be exported to, and imported from,
+ * to exchange task lists with other tools.
+ */
+public enum TransferFormat {
+    /** Comma-separated values, with a header row. */
+    CSV("csv", new CsvTaskCodec()),
+    /** One JSON object per line. */
+    JSONL("jsonl", new JsonLinesTaskCodec());
+
+    private final String name;
+    private final TaskRecordCodec codec;
+
+    TransferFormat(String name, TaskRecordCodec codec) {
+        this.name = name;
+        this.codec = codec;
+    }
+
+    /**
+     * Returns the format with the given name, such as "csv", or null if there is none.
+     */
+    public static TransferFormat fromName(String name) {
+        for (TransferFormat format : values()) {
+            if (format.name.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the format matching the file-extension of the file, or null if there is none.
+     */
+    public static TransferFormat fromFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+
+        return dot < 0 ? null : fromName(fileName.substring(dot + 1));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    TaskRecordCodec getCodec() {
+        return codec;
+    }
+}
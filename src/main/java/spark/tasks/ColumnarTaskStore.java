@@ -0,0 +1,451 @@
+package spark.tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import spark.exceptions.taskmodificationexceptions.TaskAlreadyMarked;
+import spark.exceptions.taskmodificationexceptions.TaskAlreadyUnMarked;
+import spark.tasks.arena.HeapTitleArena;
+import spark.tasks.arena.TitleArena;
+import spark.tasks.tasktypes.Deadline;
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Event;
+import spark.tasks.tasktypes.RecurringTask;
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
+import spark.tasks.tasktypes.Todo;
+
+/**
+ * Stores Tasks column by column in primitive arrays instead of as separate objects:
+ * task types in a byte array, completion statuses in a bitset, dates as epoch minutes
+ * in a long array, and titles as UTF-8 bytes in a single shared TitleArena, which may be
+ * kept outside of the Java heap.
+ * <p>
+ * Each Task takes up a few dozen bytes plus its title, so very large task lists fit
+ * in a small heap. Tasks are read through lightweight views created on demand, which
+ * read from and write to the columns directly; marking a view marks the stored Task,
+ * and a title is only decoded into a String when the title of a view is asked for.
+ * <p>
+ * Every Task is kept in a row that does not move while the Task is in the store, and
+ * rows freed by deleted Tasks are reused. The order of the Tasks in the task list is
+ * kept separately, as the row of the Task at each position. A view of a deleted Task
+ * can still be read until the next Task is added to, or replaced in, the store.
+ * <p>
+ * Recurring Tasks also keep the occurrences they have completed, which do not fit in
+ * the columns, so they are kept as they are, by row, alongside their columns.
+ */
+public class ColumnarTaskStore extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_GARBAGE_BYTES_TO_COMPACT = 64 * 1024;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    /** The row holding the Task at each position of the task list. */
+    private int[] rowsByPosition = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] doneBits = new long[(INITIAL_CAPACITY + Long.SIZE - 1) / Long.SIZE];
+    private long[] epochMinutes = new long[INITIAL_CAPACITY];
+    private int[] titleOffsets = new int[INITIAL_CAPACITY];
+    private int[] titleLengths = new int[INITIAL_CAPACITY];
+    /** Changes whenever the Task in a row is modified or replaced, so that stale renderings are not reused. */
+    private int[] versions = new int[INITIAL_CAPACITY];
+    private int numberOfRows;
+    /** The recurring Tasks stored, by row; their columns are kept up to date for searching by title. */
+    private final Map<Integer, RecurringTask> recurringTasksByRow = new HashMap<>();
+
+    /** Rows freed by deleted Tasks, to be reused by the next Tasks added. */
+    private int[] freeRows = new int[INITIAL_CAPACITY];
+    private int numberOfFreeRows;
+
+    private final TitleArena titleArena;
+    /** Bytes in the title arena that belong to Tasks that have since been deleted. */
+    private int garbageBytes;
+
+    /**
+     * Creates an empty store that keeps titles on the Java heap.
+     */
+    public ColumnarTaskStore() {
+        this(new HeapTitleArena());
+    }
+
+    /**
+     * Creates an empty store that keeps titles in the given arena.
+     */
+    public ColumnarTaskStore(TitleArena titleArena) {
+        this.titleArena = titleArena;
+    }
+
+    /**
+     * Creates a store holding the given Tasks, in the same order, that keeps titles on the Java heap.
+     */
+    public ColumnarTaskStore(Collection<? extends Task> tasks) {
+        this(tasks, new HeapTitleArena());
+    }
+
+    /**
+     * Creates a store holding the given Tasks, in the same order, that keeps titles in the given arena.
+     */
+    public ColumnarTaskStore(Collection<? extends Task> tasks, TitleArena titleArena) {
+        this(titleArena);
+
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    /**
+     * Returns a view of the Task at the position, which reflects later changes to the Task.
+     */
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        return getTask(rowsByPosition[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stores the Task at the position, returning a copy of the Task it replaces.
+     */
+    @Override
+    public Task set(int index, Task t) {
+        Objects.checkIndex(index, size);
+        int row = rowsByPosition[index];
+
+        boolean isViewOfRow = t instanceof TaskView && ((TaskView) t).getStore() == this
+                && ((TaskView) t).row == row;
+        if (isViewOfRow || t == recurringTasksByRow.get(row)) {
+            return t;
+        }
+
+        compactIfMostlyGarbage();
+        Task replaced = copyRow(row);
+        garbageBytes += titleLengths[row];
+        writeRow(row, t);
+
+        return replaced;
+    }
+
+    @Override
+    public void add(int index, Task t) {
+        Objects.checkIndex(index, size + 1);
+
+        compactIfMostlyGarbage();
+        int row = allocateRow();
+        writeRow(row, t);
+
+        if (size == rowsByPosition.length) {
+            rowsByPosition = Arrays.copyOf(rowsByPosition, size * 2);
+        }
+        System.arraycopy(rowsByPosition, index, rowsByPosition, index + 1, size - index);
+        rowsByPosition[index] = row;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the Task at the position, returning a copy of the removed Task.
+     */
+    @Override
+    public Task remove(int index) {
+        Objects.checkIndex(index, size);
+        int row = rowsByPosition[index];
+        Task removed = copyRow(row);
+
+        freeRow(row);
+        System.arraycopy(rowsByPosition, index + 1, rowsByPosition, index, size - index - 1);
+        size--;
+        modCount++;
+
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            freeRow(rowsByPosition[i]);
+        }
+
+        System.arraycopy(rowsByPosition, toIndex, rowsByPosition, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Removes every Task satisfying the filter in a single pass over the task list.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int remaining = 0;
+
+        for (int i = 0; i < size; i++) {
+            int row = rowsByPosition[i];
+
+            if (filter.test(getTask(row))) {
+                freeRow(row);
+            } else {
+                rowsByPosition[remaining++] = row;
+            }
+        }
+
+        boolean isModified = remaining < size;
+        if (isModified) {
+            size = remaining;
+            modCount++;
+        }
+
+        return isModified;
+    }
+
+    /**
+     * Returns views of the Tasks, in task list order, with titles containing the search-term.
+     * Titles are compared as UTF-8 bytes in the title arena, without decoding them into Strings.
+     */
+    public List<Task> findTasksWithTitleContaining(String searchTerm) {
+        byte[] encodedSearchTerm = searchTerm.getBytes(StandardCharsets.UTF_8);
+        List<Task> results = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            int row = rowsByPosition[i];
+
+            if (titleArena.contains(titleOffsets[row], titleLengths[row], encodedSearchTerm)) {
+                results.add(getTask(row));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the number of bytes used by the columns and title arena, excluding unused capacity.
+     */
+    public long getUsedBytes() {
+        long bytesPerRow = Byte.BYTES + 2L * Long.BYTES + 4L * Integer.BYTES;
+        return numberOfRows * bytesPerRow + numberOfRows / Byte.SIZE + titleArena.getSize();
+    }
+
+    private int allocateRow() {
+        if (numberOfFreeRows > 0) {
+            return freeRows[--numberOfFreeRows];
+        }
+
+        if (numberOfRows == types.length) {
+            int capacity = numberOfRows * 2;
+            types = Arrays.copyOf(types, capacity);
+            doneBits = Arrays.copyOf(doneBits, (capacity + Long.SIZE - 1) / Long.SIZE);
+            epochMinutes = Arrays.copyOf(epochMinutes, capacity);
+            titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+
+        return numberOfRows++;
+    }
+
+    private void freeRow(int row) {
+        garbageBytes += titleLengths[row];
+        recurringTasksByRow.remove(row);
+        versions[row]++;
+
+        if (numberOfFreeRows == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, numberOfFreeRows * 2);
+        }
+        freeRows[numberOfFreeRows++] = row;
+    }
+
+    private void writeRow(int row, Task t) {
+        byte[] title = t.getTitle().getBytes(StandardCharsets.UTF_8);
+
+        types[row] = (byte) t.getTaskType().ordinal();
+        setDone(row, t.isDone());
+        epochMinutes[row] = t.getEpochMinutes();
+        titleOffsets[row] = titleArena.append(title);
+        titleLengths[row] = title.length;
+        versions[row]++;
+
+        if (t instanceof RecurringTask) {
+            recurringTasksByRow.put(row, (RecurringTask) t);
+        } else {
+            recurringTasksByRow.remove(row);
+        }
+    }
+
+    /**
+     * Returns the recurring Task stored in the row, or a view of the row otherwise.
+     */
+    private Task getTask(int row) {
+        Task t = recurringTasksByRow.get(row);
+        return t != null ? t : new TaskView(row);
+    }
+
+    private Task copyRow(int row) {
+        RecurringTask recurringTask = recurringTasksByRow.get(row);
+        if (recurringTask != null) {
+            return recurringTask;
+        }
+
+        String title = getTitle(row);
+        boolean isDone = isDone(row);
+
+        switch (TASK_TYPES[types[row]]) {
+        case DEADLINE:
+            return new Deadline(isDone, title, epochMinutes[row]);
+        case EVENT:
+            return new Event(isDone, title, epochMinutes[row]);
+        default:
+            return new Todo(isDone, title);
+        }
+    }
+
+    /**
+     * Moves the titles of the Tasks still in the store towards the start of the arena,
+     * in place, once most of the arena belongs to deleted or replaced Tasks; the titles
+     * of deleted Tasks are discarded.
+     */
+    private void compactIfMostlyGarbage() {
+        if (garbageBytes < MIN_GARBAGE_BYTES_TO_COMPACT || garbageBytes < titleArena.getSize() / 2) {
+            return;
+        }
+
+        // titles are moved in the order they appear in the arena, so no title overwrites another
+        long[] rowsByOffset = new long[size];
+        for (int i = 0; i < size; i++) {
+            int row = rowsByPosition[i];
+            rowsByOffset[i] = ((long) titleOffsets[row] << Integer.SIZE) | row;
+        }
+        Arrays.sort(rowsByOffset);
+
+        int compactedSize = 0;
+        for (long rowByOffset : rowsByOffset) {
+            int row = (int) rowByOffset;
+            titleArena.move(titleOffsets[row], compactedSize, titleLengths[row]);
+            titleOffsets[row] = compactedSize;
+            compactedSize += titleLengths[row];
+        }
+
+        for (int i = 0; i < numberOfFreeRows; i++) {
+            titleOffsets[freeRows[i]] = 0;
+            titleLengths[freeRows[i]] = 0;
+        }
+
+        titleArena.truncate(compactedSize);
+        garbageBytes = 0;
+    }
+
+    private String getTitle(int row) {
+        return titleArena.decode(titleOffsets[row], titleLengths[row]);
+    }
+
+    private boolean isDone(int row) {
+        return (doneBits[row / Long.SIZE] & (1L << row)) != 0;
+    }
+
+    private void setDone(int row, boolean isDone) {
+        if (isDone) {
+            doneBits[row / Long.SIZE] |= 1L << row;
+        } else {
+            doneBits[row / Long.SIZE] &= ~(1L << row);
+        }
+    }
+
+    /**
+     * A Task that reads from, and writes to, a row of the store. Views of the same
+     * row are equal to each other, so they can be used as keys in hash-based caches.
+     */
+    private class TaskView extends Task {
+        private final int row;
+
+        TaskView(int row) {
+            super(null);
+            this.row = row;
+        }
+
+        ColumnarTaskStore getStore() {
+            return ColumnarTaskStore.this;
+        }
+
+        @Override
+        public String getTitle() {
+            return ColumnarTaskStore.this.getTitle(row);
+        }
+
+        @Override
+        public LocalDateTime getDateTime() {
+            return EpochMinutes.toLocalDateTime(epochMinutes[row]);
+        }
+
+        @Override
+        public long getEpochMinutes() {
+            return epochMinutes[row];
+        }
+
+        @Override
+        public boolean isDone() {
+            return ColumnarTaskStore.this.isDone(row);
+        }
+
+        @Override
+        public void mark() throws TaskAlreadyMarked {
+            if (isDone()) {
+                throw new TaskAlreadyMarked(this);
+            }
+
+            setDone(row, true);
+            versions[row]++;
+        }
+
+        @Override
+        public void unMark() throws TaskAlreadyUnMarked {
+            if (!isDone()) {
+                throw new TaskAlreadyUnMarked(this);
+            }
+
+            setDone(row, false);
+            versions[row]++;
+        }
+
+        @Override
+        public int getVersion() {
+            return versions[row];
+        }
+
+        @Override
+        public TaskType getTaskType() {
+            return TASK_TYPES[types[row]];
+        }
+
+        @Override
+        public String encodeTask() {
+            return copyRow(row).encodeTask();
+        }
+
+        @Override
+        public String toString() {
+            return copyRow(row).toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TaskView && ((TaskView) o).getStore() == getStore() && ((TaskView) o).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+    }
+}
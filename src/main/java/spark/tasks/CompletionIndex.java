@@ -0,0 +1,132 @@
+package spark.tasks;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of which Tasks in the task list are completed, one bit per Task
+ * in task list order, so that completed and incomplete Tasks can be counted
+ * without checking every Task and found 64 Tasks at a time.
+ */
+public class CompletionIndex {
+    private static final int BITS_PER_WORD = Long.SIZE;
+    private static final int INITIAL_NUMBER_OF_WORDS = 4;
+
+    /** Bit i of word j is set if the Task at position (64 * j + i) is completed. */
+    private long[] words = new long[INITIAL_NUMBER_OF_WORDS];
+    private int size;
+    private int numberOfDoneTasks;
+
+    /**
+     * Adds the completion status of a Task added to the end of the task list.
+     */
+    public void add(boolean isDone) {
+        ensureCapacity(size + 1);
+        size++;
+        set(size - 1, isDone);
+    }
+
+    /**
+     * Updates the completion status of the Task at the zero-based position.
+     */
+    public void set(int position, boolean isDone) {
+        checkPosition(position);
+
+        long mask = 1L << position;
+        int wordIndex = position / BITS_PER_WORD;
+        boolean wasDone = (words[wordIndex] & mask) != 0;
+
+        if (isDone && !wasDone) {
+            words[wordIndex] |= mask;
+            numberOfDoneTasks++;
+        } else if (!isDone && wasDone) {
+            words[wordIndex] &= ~mask;
+            numberOfDoneTasks--;
+        }
+    }
+
+    /**
+     * Removes the completion status of the Task deleted from the zero-based position,
+     * moving the statuses of all Tasks after it one position forward.
+     */
+    public void remove(int position) {
+        set(position, false);
+
+        int wordIndex = position / BITS_PER_WORD;
+        int lastWordIndex = (size - 1) / BITS_PER_WORD;
+        long word = words[wordIndex];
+        long lowerBits = word & ((1L << position) - 1);
+        long upperBits = (word >>> 1) & ~((1L << position) - 1);
+        words[wordIndex] = lowerBits | upperBits;
+
+        for (int i = wordIndex; i < lastWordIndex; i++) {
+            words[i] |= (words[i + 1] & 1L) << (BITS_PER_WORD - 1);
+            words[i + 1] >>>= 1;
+        }
+
+        size--;
+    }
+
+    /**
+     * Returns true if the Task at the zero-based position is completed.
+     */
+    public boolean isDone(int position) {
+        checkPosition(position);
+        return (words[position / BITS_PER_WORD] & (1L << position)) != 0;
+    }
+
+    /**
+     * Returns the zero-based position of the first Task at or after {@code from}
+     * with the given completion status, or -1 if there is no such Task.
+     */
+    public int next(boolean isDone, int from) {
+        if (from >= size) {
+            return -1;
+        }
+
+        int wordIndex = from / BITS_PER_WORD;
+        long word = getWordWithStatus(isDone, wordIndex) & (-1L << from);
+
+        while (true) {
+            if (word != 0) {
+                int position = wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+                return position < size ? position : -1;
+            }
+
+            wordIndex++;
+            if (wordIndex * BITS_PER_WORD >= size) {
+                return -1;
+            }
+
+            word = getWordWithStatus(isDone, wordIndex);
+        }
+    }
+
+    public int getNumberOfDoneTasks() {
+        return numberOfDoneTasks;
+    }
+
+    public int getNumberOfPendingTasks() {
+        return size - numberOfDoneTasks;
+    }
+
+    /**
+     * Returns the word at the index with a bit set for each Task with the given completion status.
+     */
+    private long getWordWithStatus(boolean isDone, int wordIndex) {
+        return isDone ? words[wordIndex] : ~words[wordIndex];
+    }
+
+    private void ensureCapacity(int capacity) {
+        int numberOfWords = (capacity + BITS_PER_WORD - 1) / BITS_PER_WORD;
+
+        if (numberOfWords > words.length) {
+            words = Arrays.copyOf(words, Math.max(numberOfWords, 2 * words.length));
+        }
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException(position);
+        }
+    }
+}
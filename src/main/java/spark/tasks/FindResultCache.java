@@ -0,0 +1,172 @@
+package spark.tasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Remembers the results of recent searches for Tasks by title, so that
+ * repeating a search, or extending a previous search-term, does not require
+ * looking through every Task in the task list again.
+ * <p>
+ * Every result is tagged with the generation of the task list it was computed
+ * from; the task list moves on to a new generation whenever Tasks are added,
+ * deleted or renamed, which makes all older results stale. Marking a Task does
+ * not change which Tasks match a search, so it leaves results intact.
+ */
+public class FindResultCache {
+    /** The default maximum number of searches to remember. */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+    /** The default maximum number of Tasks, across all searches, to remember. */
+    public static final int DEFAULT_MAX_RESULTS = 100_000;
+
+    private final int maxEntries;
+    private final int maxResults;
+    /** Results of recent searches by normalised search-term, from least to most recently used. */
+    private final LinkedHashMap<String, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long numberOfCachedResults;
+    private long hits;
+    private long refinements;
+    private long misses;
+
+    /**
+     * Creates a cache with the default limits.
+     */
+    public FindResultCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_RESULTS);
+    }
+
+    /**
+     * Creates a cache that remembers at most the given number of searches,
+     * holding at most the given number of Tasks across all searches.
+     */
+    public FindResultCache(int maxEntries, int maxResults) {
+        this.maxEntries = maxEntries;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Returns the Tasks with titles containing the search-term.
+     * <p>
+     * If the search-term was searched for in the same generation, the previous
+     * result is returned. If a shorter search-term that the search-term starts with
+     * was searched for in the same generation, only the Tasks in that result are
+     * checked. Otherwise, the whole task list is searched using {@code searchAll}.
+     *
+     * @param searchTerm the search-term to look for in Task titles.
+     * @param generation the current generation of the task list.
+     * @param searchAll  searches the whole task list for a search-term.
+     * @return           an unmodifiable list of the matching Tasks, in task list order.
+     */
+    public synchronized List<Task> find(String searchTerm, long generation,
+            Function<String, List<Task>> searchAll) {
+        String normalisedTerm = normalise(searchTerm);
+        CachedResult cached = getIfCurrent(normalisedTerm, generation);
+
+        if (cached != null) {
+            hits++;
+            return cached.tasks;
+        }
+
+        List<Task> matches;
+        CachedResult shorterTermResult = findShorterTermResult(normalisedTerm, generation);
+
+        if (shorterTermResult != null) {
+            refinements++;
+            matches = new ArrayList<>();
+            for (Task t : shorterTermResult.tasks) {
+                if (t.getTitle().contains(normalisedTerm)) {
+                    matches.add(t);
+                }
+            }
+        } else {
+            misses++;
+            matches = searchAll.apply(normalisedTerm);
+        }
+
+        List<Task> unmodifiableMatches = Collections.unmodifiableList(matches);
+        remember(normalisedTerm, new CachedResult(generation, unmodifiableMatches));
+
+        return unmodifiableMatches;
+    }
+
+    /**
+     * Returns a human-readable summary of how effective the cache has been.
+     */
+    public synchronized String getStatistics() {
+        return String.format("%d searches cached, %d hits, %d refined from shorter searches, %d misses",
+                results.size(), hits, refinements, misses);
+    }
+
+    private String normalise(String searchTerm) {
+        return searchTerm.trim();
+    }
+
+    private CachedResult getIfCurrent(String normalisedTerm, long generation) {
+        CachedResult cached = results.get(normalisedTerm);
+
+        if (cached == null) {
+            return null;
+        } else if (cached.generation != generation) {
+            forget(normalisedTerm);
+            return null;
+        } else {
+            return cached;
+        }
+    }
+
+    /**
+     * Returns the current result of the longest shorter search-term that the search-term starts with.
+     */
+    private CachedResult findShorterTermResult(String normalisedTerm, long generation) {
+        for (int length = normalisedTerm.length() - 1; length > 0; length--) {
+            CachedResult cached = getIfCurrent(normalisedTerm.substring(0, length), generation);
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        return null;
+    }
+
+    private void remember(String normalisedTerm, CachedResult result) {
+        if (result.tasks.size() > maxResults) {
+            return;
+        }
+
+        forget(normalisedTerm);
+        results.put(normalisedTerm, result);
+        numberOfCachedResults += result.tasks.size();
+
+        Iterator<Map.Entry<String, CachedResult>> leastRecentlyUsed = results.entrySet().iterator();
+        while (results.size() > maxEntries || numberOfCachedResults > maxResults) {
+            numberOfCachedResults -= leastRecentlyUsed.next().getValue().tasks.size();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private void forget(String normalisedTerm) {
+        CachedResult removed = results.remove(normalisedTerm);
+
+        if (removed != null) {
+            numberOfCachedResults -= removed.tasks.size();
+        }
+    }
+
+    private static class CachedResult {
+        private final long generation;
+        private final List<Task> tasks;
+
+        CachedResult(long generation, List<Task> tasks) {
+            this.generation = generation;
+            this.tasks = tasks;
+        }
+    }
+}
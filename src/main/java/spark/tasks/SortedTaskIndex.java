@@ -0,0 +1,272 @@
+package spark.tasks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Keeps the Tasks of a task list sorted in some order, as an order-statistic tree, so
+ * the sorted Tasks can be listed without sorting the task list every time.
+ * <p>
+ * The tree is a treap: a binary search tree by the order, in which every node also has
+ * a random priority no higher than its parent's, which keeps the tree balanced on average.
+ * Every node knows the number of nodes under it, so the Task at any position in the sorted
+ * order, and the position of any Task, can be found in O(log n). The index listens to the
+ * task list, and moves a single node whenever a Task is added, removed or changed; Tasks in
+ * the same place in the order are kept in the order they were added.
+ */
+public class SortedTaskIndex implements TaskListListener {
+    private final TaskOrder order;
+    private final Random random = new Random();
+    /** The node of every Task in the index, so it can be moved without being looked for. */
+    private final Map<Task, Node> nodes = new HashMap<>();
+    private Node root;
+    /** Breaks ties between Tasks in the same place in the order. */
+    private long nextSequence;
+    /** The number of times a Task has been added, removed or moved to another place in the order. */
+    private long modificationCount;
+
+    /**
+     * Creates an index of the Tasks in the task list, in the given order.
+     */
+    public SortedTaskIndex(TaskOrder order, Iterable<Task> tasks) {
+        this.order = order;
+
+        for (Task t : tasks) {
+            taskAdded(t);
+        }
+    }
+
+    public TaskOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the number of Tasks in the index.
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns the number of times a Task has been added to, removed from, or moved within the
+     * sorted order, so that something going through the sorted Tasks can tell if they have moved.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns the Task at the zero-based position in the sorted order.
+     *
+     * @throws IndexOutOfBoundsException if there is no Task at the position.
+     */
+    public Task get(int position) {
+        Objects.checkIndex(position, size());
+        Node node = root;
+
+        while (true) {
+            int leftSize = sizeOf(node.left);
+
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position > leftSize) {
+                position -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.task;
+            }
+        }
+    }
+
+    /**
+     * Returns the zero-based position of the Task in the sorted order, or -1 if it is not in the index.
+     */
+    public int indexOf(Task t) {
+        Node node = nodes.get(t);
+
+        if (node == null) {
+            return -1;
+        }
+
+        int position = sizeOf(node.left);
+        for (Node child = node; child.parent != null; child = child.parent) {
+            if (child == child.parent.right) {
+                position += sizeOf(child.parent.left) + 1;
+            }
+        }
+
+        return position;
+    }
+
+    @Override
+    public void taskAdded(Task t) {
+        Node node = new Node(t, nextSequence++, random.nextInt());
+        nodes.put(t, node);
+        insert(node);
+        modificationCount++;
+    }
+
+    @Override
+    public void taskRemoved(Task t) {
+        Node node = nodes.remove(t);
+
+        if (node != null) {
+            unlink(node);
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Moves the Task to its new place in the order, keeping its place among equal Tasks.
+     */
+    @Override
+    public void taskChanged(Task t) {
+        Node node = nodes.get(t);
+
+        if (node != null) {
+            int oldPosition = indexOf(t);
+            unlink(node);
+            node.task = t;
+            insert(node);
+
+            if (indexOf(t) != oldPosition) {
+                modificationCount++;
+            }
+        }
+    }
+
+    private int compare(Node a, Node b) {
+        int comparison = order.getComparator().compare(a.task, b.task);
+        return comparison != 0 ? comparison : Long.compare(a.sequence, b.sequence);
+    }
+
+    /**
+     * Adds the node as a leaf in its place in the order, then rotates it up above any parent
+     * with a lower priority.
+     */
+    private void insert(Node node) {
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+
+        if (root == null) {
+            node.parent = null;
+            root = node;
+            return;
+        }
+
+        Node parent = root;
+        while (true) {
+            parent.size++;
+            Node next = compare(node, parent) < 0 ? parent.left : parent.right;
+            if (next == null) {
+                break;
+            }
+            parent = next;
+        }
+
+        node.parent = parent;
+        if (compare(node, parent) < 0) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+
+        while (node.parent != null && node.parent.priority < node.priority) {
+            rotateUp(node);
+        }
+    }
+
+    /**
+     * Rotates the node down below whichever child has the higher priority until it is a leaf,
+     * then removes it.
+     */
+    private void unlink(Node node) {
+        while (node.left != null || node.right != null) {
+            rotateUp(getHigherPriorityChild(node));
+        }
+
+        Node parent = node.parent;
+        if (parent == null) {
+            root = null;
+        } else if (parent.left == node) {
+            parent.left = null;
+        } else {
+            parent.right = null;
+        }
+        node.parent = null;
+
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size--;
+        }
+    }
+
+    private static Node getHigherPriorityChild(Node node) {
+        if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            return node.left.priority > node.right.priority ? node.left : node.right;
+        }
+    }
+
+    /**
+     * Swaps the node with its parent, keeping the order of the nodes.
+     */
+    private void rotateUp(Node node) {
+        Node parent = node.parent;
+        Node grandparent = parent.parent;
+
+        if (parent.left == node) {
+            parent.left = node.right;
+            if (node.right != null) {
+                node.right.parent = parent;
+            }
+            node.right = parent;
+        } else {
+            parent.right = node.left;
+            if (node.left != null) {
+                node.left.parent = parent;
+            }
+            node.left = parent;
+        }
+        parent.parent = node;
+        node.parent = grandparent;
+
+        if (grandparent == null) {
+            root = node;
+        } else if (grandparent.left == parent) {
+            grandparent.left = node;
+        } else {
+            grandparent.right = node;
+        }
+
+        parent.size = sizeOf(parent.left) + sizeOf(parent.right) + 1;
+        node.size = sizeOf(node.left) + sizeOf(node.right) + 1;
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static class Node {
+        private Task task;
+        private final long sequence;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private Node parent;
+        private int size = 1;
+
+        Node(Task task, long sequence, int priority) {
+            this.task = task;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+}
@@ -2,14 +2,27 @@ package spark.tasks;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import spark.exceptions.taskmodificationexceptions.TaskAlreadyMarked;
 import spark.exceptions.taskmodificationexceptions.TaskAlreadyUnMarked;
 import spark.exceptions.taskmodificationexceptions.TaskNotFoundException;
+import spark.tasks.arena.HeapTitleArena;
+import spark.tasks.arena.TitleArena;
 import spark.tasks.tasktypes.Deadline;
 import spark.tasks.tasktypes.Event;
+import spark.tasks.tasktypes.Recurrence;
+import spark.tasks.tasktypes.RecurringTask;
 import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
 import spark.tasks.tasktypes.Todo;
 
 /**
@@ -20,47 +33,136 @@ public class TaskList {
     protected Task lastAddedTask;
     protected Task lastDeletedTask;
     protected Task lastModifiedTask;
+    protected TaskRenderCache renderCache;
+    protected FindResultCache findResultCache = new FindResultCache();
+    /** Incremented whenever Tasks are added to, or deleted from, the task list. */
+    protected long generation;
+    protected CompletionIndex completionIndex = new CompletionIndex();
+    /** The same list as {@code tasks} if it is a ColumnarTaskStore, or null otherwise. */
+    protected ColumnarTaskStore columnarTasks;
+    /** Indexes the words in the titles of the Tasks, or null if titles are not indexed. */
+    protected TitleWordIndex titleWordIndex;
+    protected TitlePool titlePool = TitlePool.getDefault();
+    protected List<TaskListListener> listeners = new ArrayList<>();
+    /** The Tasks sorted in other orders, each only kept up to date once it has been asked for. */
+    protected Map<TaskOrder, SortedTaskIndex> sortedIndexes = new EnumMap<>(TaskOrder.class);
+    /** Counts of the Tasks, only kept up to date once they have been asked for, or null until then. */
+    protected TaskSummary summary;
+    /**
+     * The zero-based position of every Task, or null until asked for; kept up to date as Tasks are
+     * added to the end of the task list, and forgotten whenever other Tasks move.
+     */
+    protected Map<Task, Integer> positions;
 
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     public TaskList(List<Task> tasks) {
+        this(tasks, new TaskRenderCache());
+    }
+
+    /**
+     * Creates a task list that remembers how its Tasks were last displayed
+     * using the given cache.
+     */
+    public TaskList(List<Task> tasks, TaskRenderCache renderCache) {
+        this(tasks, renderCache, new TitleWordIndex());
+    }
+
+    private TaskList(List<Task> tasks, TaskRenderCache renderCache, TitleWordIndex titleWordIndex) {
         this.tasks = tasks;
+        this.renderCache = renderCache;
+        this.titleWordIndex = titleWordIndex;
+
+        for (Task t : tasks) {
+            completionIndex.add(t.isDone());
+            if (titleWordIndex != null) {
+                titleWordIndex.add(t);
+            }
+        }
+    }
+
+    /**
+     * Creates a task list that stores its Tasks column by column in a ColumnarTaskStore,
+     * which takes up much less memory for very large task lists.
+     * <p>
+     * Titles are not indexed word by word, as the index would hold on to a Task for every
+     * Task in the list; finding Tasks with typos in their titles checks every Task instead.
+     */
+    public static TaskList withColumnarStorage(List<Task> tasks) {
+        return withColumnarStorage(tasks, new HeapTitleArena());
+    }
+
+    /**
+     * Creates a task list that stores its Tasks column by column in a ColumnarTaskStore,
+     * keeping their titles in the given arena; a DirectTitleArena keeps titles off the Java heap.
+     */
+    public static TaskList withColumnarStorage(List<Task> tasks, TitleArena titleArena) {
+        ColumnarTaskStore store = new ColumnarTaskStore(tasks, titleArena);
+        TaskList taskList = new TaskList(store, new TaskRenderCache(), null);
+        taskList.columnarTasks = store;
+
+        return taskList;
     }
 
     /**
      * Adds a Todo with a non-empty title.
      */
     public void addTodo(String title) {
-        Todo toDo = new Todo(title);
-        tasks.add(toDo);
-
-        this.lastAddedTask = toDo;
+        addTask(new Todo(titlePool.intern(title)));
     }
 
     /**
      * Adds a Deadline with a non-empty title and date.
      */
     public void addDeadline(String title, LocalDateTime by) {
-        Deadline deadline = new Deadline(title, by);
-        tasks.add(deadline);
-
-        this.lastAddedTask = deadline;
+        addTask(new Deadline(titlePool.intern(title), by));
     }
 
     /**
      * Adds an Event with a non-empty title and date.
      */
     public void addEvent(String title, LocalDateTime at) {
-        Event event = new Event(title, at);
-        tasks.add(event);
+        addTask(new Event(titlePool.intern(title), at));
+    }
+
+    /**
+     * Adds a recurring deadline or event with a non-empty title, the date of its
+     * first occurrence, and how often it repeats.
+     *
+     * @param occurrenceType either {@link TaskType#DEADLINE} or {@link TaskType#EVENT}.
+     */
+    public void addRecurringTask(TaskType occurrenceType, String title, LocalDateTime firstOccurrence,
+            Recurrence recurrence) {
+        addTask(new RecurringTask(occurrenceType, titlePool.intern(title), firstOccurrence, recurrence));
+    }
+
+    /**
+     * Adds the Tasks to the end of the task list all at once, such as when importing
+     * a batch of Tasks from a file.
+     */
+    public void addTasks(List<Task> tasksToAdd) {
+        if (tasksToAdd.isEmpty()) {
+            return;
+        }
+
+        for (Task t : tasksToAdd) {
+            tasks.add(t);
+            completionIndex.add(t.isDone());
+            if (titleWordIndex != null) {
+                titleWordIndex.add(t);
+            }
+        }
 
-        this.lastAddedTask = event;
+        this.lastAddedTask = tasksToAdd.get(tasksToAdd.size() - 1);
+        this.generation++;
+        notifyAdded(tasks.size() - tasksToAdd.size(), tasks.size());
     }
 
     /**
-     * Marks an incomplete Task as complete.
+     * Marks an incomplete Task as complete; for a recurring Task, only its
+     * earliest incomplete occurrence is completed.
      *
      * @throws TaskNotFoundException  if the specified-index does not match any Task.
      * @throws TaskAlreadyMarked      if the Task is already complete.
@@ -68,8 +170,10 @@ public class TaskList {
     public void markTask(int index) throws TaskNotFoundException, TaskAlreadyMarked {
         Task t = getTaskByOneIndex(index);
         t.mark();
+        completionIndex.set(index - 1, t.isDone());
 
         this.lastModifiedTask = t;
+        listeners.forEach(listener -> listener.taskChanged(t));
     }
 
     /**
@@ -79,11 +183,12 @@ public class TaskList {
      * @throws TaskAlreadyUnMarked   if the Task is not complete.
      */
     public void unMarkTask(int index) throws TaskNotFoundException, TaskAlreadyUnMarked {
-
         Task t = getTaskByOneIndex(index);
         t.unMark();
+        completionIndex.set(index - 1, t.isDone());
 
         this.lastModifiedTask = t;
+        listeners.forEach(listener -> listener.taskChanged(t));
     }
 
     /**
@@ -92,12 +197,163 @@ public class TaskList {
      * @throws TaskNotFoundException if the specified-index does not match any Task.
      */
     public void deleteTask(int index) throws TaskNotFoundException {
-        try {
-            this.lastDeletedTask = tasks.get(index - 1);
-            tasks.remove(index - 1);
-        } catch (IndexOutOfBoundsException e) {
+        Task t = getTaskByOneIndex(index);
+
+        this.lastDeletedTask = tasks.remove(index - 1);
+        completionIndex.remove(index - 1);
+        if (titleWordIndex != null) {
+            titleWordIndex.remove(lastDeletedTask);
+        }
+        renderCache.invalidate(lastDeletedTask);
+        this.generation++;
+        this.positions = null;
+        listeners.forEach(listener -> listener.taskRemoved(t));
+    }
+
+    /**
+     * Marks every incomplete Task at the specified indexes as complete,
+     * leaving Tasks that are already complete unchanged.
+     *
+     * @param indexes one-based indexes in ascending order.
+     * @return        the Tasks that were marked as complete.
+     * @throws TaskNotFoundException if any specified-index does not match a Task.
+     */
+    public List<Task> markTasks(int[] indexes) throws TaskNotFoundException {
+        checkIndexes(indexes);
+        List<Task> markedTasks = new ArrayList<>();
+
+        for (int index : indexes) {
+            try {
+                markTask(index);
+                markedTasks.add(lastModifiedTask);
+            } catch (TaskAlreadyMarked e) {
+                // already complete, so there is nothing to change
+            }
+        }
+
+        return markedTasks;
+    }
+
+    /**
+     * Marks every completed Task at the specified indexes as incomplete,
+     * leaving Tasks that are already incomplete unchanged.
+     *
+     * @param indexes one-based indexes in ascending order.
+     * @return        the Tasks that were marked as incomplete.
+     * @throws TaskNotFoundException if any specified-index does not match a Task.
+     */
+    public List<Task> unMarkTasks(int[] indexes) throws TaskNotFoundException {
+        checkIndexes(indexes);
+        List<Task> unMarkedTasks = new ArrayList<>();
+
+        for (int index : indexes) {
+            try {
+                unMarkTask(index);
+                unMarkedTasks.add(lastModifiedTask);
+            } catch (TaskAlreadyUnMarked e) {
+                // already incomplete, so there is nothing to change
+            }
+        }
+
+        return unMarkedTasks;
+    }
+
+    /**
+     * Permanently removes the Tasks at the specified indexes from the user's list,
+     * moving the remaining Tasks forward in a single pass.
+     *
+     * @param indexes one-based indexes in ascending order.
+     * @return        the Tasks that were removed, in the order they appeared.
+     * @throws TaskNotFoundException if any specified-index does not match a Task.
+     */
+    public List<Task> deleteTasks(int[] indexes) throws TaskNotFoundException {
+        checkIndexes(indexes);
+        List<Task> deletedTasks = new ArrayList<>(indexes.length);
+
+        for (int index : indexes) {
+            Task t = tasks.get(index - 1);
+            deletedTasks.add(t);
+            if (titleWordIndex != null) {
+                titleWordIndex.remove(t);
+            }
+            renderCache.invalidate(t);
+        }
+
+        Set<Task> tasksToDelete = new HashSet<>(deletedTasks);
+        tasks.removeIf(tasksToDelete::contains);
+
+        if (!deletedTasks.isEmpty()) {
+            completionIndex = new CompletionIndex();
+            for (Task t : tasks) {
+                completionIndex.add(t.isDone());
+            }
+
+            this.lastDeletedTask = deletedTasks.get(deletedTasks.size() - 1);
+            this.generation++;
+            this.positions = null;
+        }
+
+        for (Task t : deletedTasks) {
+            listeners.forEach(listener -> listener.taskRemoved(t));
+        }
+
+        return deletedTasks;
+    }
+
+    /**
+     * Replaces a run of consecutive Tasks with other Tasks, such as when only part
+     * of the save-file was changed by another program.
+     *
+     * @param index         the one-based index of the first Task to replace.
+     * @param numberOfTasks the number of Tasks to replace, which may be zero to only insert Tasks.
+     * @param replacements  the Tasks to put in their place, which may be empty to only remove Tasks.
+     * @throws TaskNotFoundException if the run of Tasks does not fit in the task list.
+     */
+    public void replaceTasks(int index, int numberOfTasks, List<Task> replacements) throws TaskNotFoundException {
+        if (index < 1 || numberOfTasks < 0 || index - 1 + numberOfTasks > tasks.size()) {
             throw new TaskNotFoundException();
         }
+
+        List<Task> replacedTasks = tasks.subList(index - 1, index - 1 + numberOfTasks);
+        List<Task> removedTasks = new ArrayList<>(replacedTasks);
+        for (Task t : replacedTasks) {
+            if (titleWordIndex != null) {
+                titleWordIndex.remove(t);
+            }
+            renderCache.invalidate(t);
+        }
+        replacedTasks.clear();
+
+        tasks.addAll(index - 1, replacements);
+        if (titleWordIndex != null) {
+            replacements.forEach(titleWordIndex::add);
+        }
+
+        completionIndex = new CompletionIndex();
+        for (Task t : tasks) {
+            completionIndex.add(t.isDone());
+        }
+
+        this.generation++;
+        this.positions = null;
+        for (Task t : removedTasks) {
+            listeners.forEach(listener -> listener.taskRemoved(t));
+        }
+        notifyAdded(index - 1, index - 1 + replacements.size());
+    }
+
+    /**
+     * Starts notifying the listener of every Task added to, removed from, or changed in the task list.
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops notifying the listener of changes to the task list.
+     */
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -113,13 +369,159 @@ public class TaskList {
             listOfTasks.append("Here are your tasks:" + "\n");
 
             for (int i = 0; i < tasks.size(); i++) {
-                listOfTasks.append(String.format("%d. %s\n", i + 1, tasks.get(i)));
+                listOfTasks.append(i + 1).append(". ").append(renderTask(tasks.get(i))).append("\n");
             }
 
             return listOfTasks.toString();
         }
     }
 
+    /**
+     * Returns the Task at the specified one-based index.
+     *
+     * @throws TaskNotFoundException if the specified-index does not match any Task.
+     */
+    public Task getTask(int index) throws TaskNotFoundException {
+        return getTaskByOneIndex(index);
+    }
+
+    /**
+     * Returns a string with details of the Tasks with the given completion status,
+     * numbered by their position in the user's list.
+     */
+    public String getTaskList(boolean isDone) {
+        int position = completionIndex.next(isDone, 0);
+
+        if (position < 0) {
+            return "";
+        }
+
+        StringBuilder listOfTasks = new StringBuilder();
+        listOfTasks.append(isDone ? "Here are your completed tasks:" : "Here are your pending tasks:").append("\n");
+
+        while (position >= 0) {
+            listOfTasks.append(position + 1).append(". ").append(renderTask(tasks.get(position))).append("\n");
+            position = completionIndex.next(isDone, position + 1);
+        }
+
+        return listOfTasks.toString();
+    }
+
+    /**
+     * Returns the Tasks sorted in the given order. The first time an order is asked for, the Tasks
+     * are sorted once; from then on, they are kept sorted as the task list changes.
+     */
+    public SortedTaskIndex getSortedIndex(TaskOrder order) {
+        SortedTaskIndex index = sortedIndexes.get(order);
+
+        if (index == null) {
+            index = new SortedTaskIndex(order, tasks);
+            sortedIndexes.put(order, index);
+            addListener(index);
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the zero-based position of the Task in the task list, or -1 if it is not in the task list.
+     * The first time a position is asked for after Tasks have moved, every Task is looked at once.
+     */
+    public int getPosition(Task t) {
+        if (positions == null) {
+            positions = new HashMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                positions.put(tasks.get(i), i);
+            }
+        }
+
+        return positions.getOrDefault(t, -1);
+    }
+
+    /**
+     * Returns counts of the Tasks in the task list. The first time they are asked for, every
+     * Task is counted once; from then on, the counts are kept up to date as the task list changes.
+     */
+    public TaskSummary getSummary() {
+        if (summary == null) {
+            summary = new TaskSummary(tasks);
+            addListener(summary);
+        }
+
+        return summary;
+    }
+
+    /**
+     * Returns a read-only view of every Task, in the order they appear in the task list.
+     */
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Returns, in task list order, the Tasks with the given completion status.
+     */
+    public List<Task> getTasksWithCompletionStatus(boolean isDone) {
+        List<Task> results = new ArrayList<>();
+
+        for (int i = completionIndex.next(isDone, 0); i >= 0; i = completionIndex.next(isDone, i + 1)) {
+            results.add(tasks.get(i));
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the zero-based position of the first Task at or after the given position
+     * with the given completion status, or -1 if there is none.
+     */
+    public int getNextPosition(int position, boolean isDone) {
+        return completionIndex.next(isDone, position);
+    }
+
+    /**
+     * Returns the number of completed Tasks in the user's list.
+     */
+    public int getNumberOfDoneTasks() {
+        return completionIndex.getNumberOfDoneTasks();
+    }
+
+    /**
+     * Returns the number of incomplete Tasks in the user's list.
+     */
+    public int getNumberOfPendingTasks() {
+        return completionIndex.getNumberOfPendingTasks();
+    }
+
+    /**
+     * Returns the String representation of a Task, reusing the previous
+     * rendering of the Task if it has not changed since.
+     */
+    public String renderTask(Task t) {
+        return renderCache.render(t);
+    }
+
+    /**
+     * Returns the cache used to remember how Tasks were last displayed.
+     */
+    public TaskRenderCache getRenderCache() {
+        return renderCache;
+    }
+
+    /**
+     * Returns the cache used to remember the results of recent searches by title.
+     */
+    public FindResultCache getFindResultCache() {
+        return findResultCache;
+    }
+
+    /**
+     * Returns the pool that Tasks added to the task list share their titles through.
+     */
+    public TitlePool getTitlePool() {
+        return titlePool;
+    }
+
     /**
      * Returns the number of Tasks in the user's list.
      */
@@ -129,11 +531,33 @@ public class TaskList {
 
     /**
      * Returns a list of Tasks with titles that contain the given keyword(s).
+     * Repeated searches are answered from a FindResultCache where possible.
      */
     public List<Task> findTask(String searchTerm) {
+        return findResultCache.find(searchTerm, generation, this::findAllTasksContaining);
+    }
+
+    /**
+     * Returns the Tasks with a title word within the given number of typos of the search-term,
+     * ordered from the closest match to the furthest.
+     */
+    public List<Task> findTasksWithWordsNear(String searchTerm, int maxDistance) {
+        if (titleWordIndex == null) {
+            String term = searchTerm.toLowerCase();
+            return findTasksMatching(t -> TitleWordIndex.getWords(t.getTitle()).stream()
+                    .anyMatch(word -> TitleWordIndex.getEditDistance(term, word) <= maxDistance));
+        }
+
+        return titleWordIndex.find(searchTerm, maxDistance);
+    }
+
+    /**
+     * Returns a list of Tasks that satisfy the given condition, by checking every Task.
+     */
+    public List<Task> findTasksMatching(Predicate<Task> condition) {
         List<Task> results = new ArrayList<>();
         for (Task t : tasks) {
-            if (t.getTitle().contains(searchTerm)) {
+            if (condition.test(t)) {
                 results.add(t);
             }
         }
@@ -141,6 +565,41 @@ public class TaskList {
         return results;
     }
 
+    /**
+     * Returns, in ascending order, the one-based indexes of the Tasks with the given completion status.
+     */
+    public int[] getIndexesWithCompletionStatus(boolean isDone) {
+        int[] indexes = new int[isDone ? getNumberOfDoneTasks() : getNumberOfPendingTasks()];
+        int count = 0;
+
+        for (int i = completionIndex.next(isDone, 0); i >= 0; i = completionIndex.next(isDone, i + 1)) {
+            indexes[count++] = i + 1;
+        }
+
+        return indexes;
+    }
+
+    /**
+     * Returns, in ascending order, the one-based indexes of the given Tasks in the task list.
+     */
+    public int[] getIndexesOf(List<Task> tasksInList) {
+        int[] indexes = new int[tasksInList.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = getPosition(tasksInList.get(i)) + 1;
+        }
+
+        Arrays.sort(indexes);
+        return indexes;
+    }
+
+    /**
+     * Returns the generation of the task list, which changes whenever
+     * Tasks are added to, or deleted from, the task list.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
     /**
      * Returns true if list already contains a Task with the given title
      */
@@ -196,6 +655,55 @@ public class TaskList {
         return encodedTasks.toString();
     }
 
+    private void addTask(Task t) {
+        tasks.add(t);
+        completionIndex.add(t.isDone());
+        if (titleWordIndex != null) {
+            titleWordIndex.add(t);
+        }
+
+        this.lastAddedTask = t;
+        this.generation++;
+        notifyAdded(tasks.size() - 1, tasks.size());
+    }
+
+    /**
+     * Notifies the listeners of the Tasks from {@code from} (inclusive) to {@code to} (exclusive),
+     * as they are stored in the task list, which may not be the objects that were added.
+     */
+    private void notifyAdded(int from, int to) {
+        if (positions != null) {
+            for (int i = from; i < to; i++) {
+                positions.put(tasks.get(i), i);
+            }
+        }
+
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            Task t = tasks.get(i);
+            listeners.forEach(listener -> listener.taskAdded(t));
+        }
+    }
+
+    private List<Task> findAllTasksContaining(String searchTerm) {
+        if (columnarTasks != null) {
+            return columnarTasks.findTasksWithTitleContaining(searchTerm);
+        }
+
+        return findTasksMatching(t -> t.getTitle().contains(searchTerm));
+    }
+
+    private void checkIndexes(int[] indexes) throws TaskNotFoundException {
+        for (int index : indexes) {
+            if (index < 1 || index > tasks.size()) {
+                throw new TaskNotFoundException();
+            }
+        }
+    }
+
     private Task getTaskByOneIndex(int index) throws TaskNotFoundException {
         try {
             return tasks.get(index - 1);
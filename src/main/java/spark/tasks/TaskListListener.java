@@ -0,0 +1,28 @@
+package spark.tasks;
+
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Receives a notice whenever a Task is added to, removed from, or changed in a task list,
+ * so that structures kept outside of the task list can be updated one Task at a time.
+ * <p>
+ * Each Task is passed as it is stored in the task list, so the same Task passed when it is
+ * added is equal to the one passed when it is changed or removed. Notices are given on the
+ * thread changing the task list, after the change has been made.
+ */
+public interface TaskListListener {
+    /**
+     * Called after the Task has been added to the task list.
+     */
+    void taskAdded(Task t);
+
+    /**
+     * Called after the Task has been removed from the task list.
+     */
+    void taskRemoved(Task t);
+
+    /**
+     * Called after the Task has been marked, or unmarked.
+     */
+    void taskChanged(Task t);
+}
@@ -0,0 +1,49 @@
+package spark.tasks;
+
+import java.util.Comparator;
+
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Task;
+
+/**
+ * An order in which Tasks can be listed, other than the order of the task list.
+ */
+public enum TaskOrder {
+    /** Earliest date first; Tasks without a date come last. */
+    DATE("date", Comparator.comparingLong(t -> t.getEpochMinutes() == EpochMinutes.NONE
+            ? Long.MAX_VALUE
+            : t.getEpochMinutes())),
+    /** Alphabetical order of titles, ignoring case. */
+    TITLE("title", Comparator.comparing(Task::getTitle, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Task::getTitle)),
+    /** Incomplete Tasks first, then completed Tasks. */
+    STATUS("status", Comparator.comparing(Task::isDone));
+
+    private final String name;
+    private final Comparator<Task> comparator;
+
+    TaskOrder(String name, Comparator<Task> comparator) {
+        this.name = name;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the order with the given name, such as "date", or null if there is none.
+     */
+    public static TaskOrder fromName(String name) {
+        for (TaskOrder order : values()) {
+            if (order.name.equals(name)) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Comparator<Task> getComparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,131 @@
+package spark.tasks;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Remembers how recently displayed Tasks were rendered, so that listing or
+ * finding Tasks that have not changed since they were last displayed does not
+ * format them all over again.
+ * <p>
+ * Rendered Tasks are looked up by the Task itself and are only reused while the
+ * version of the Task is unchanged. The least-recently displayed Tasks are
+ * forgotten once either the number of rendered Tasks or their estimated size
+ * grows past the configured limits.
+ */
+public class TaskRenderCache {
+    /** The default maximum number of rendered Tasks to remember. */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    /** The default maximum estimated size, in bytes, of all rendered Tasks remembered. */
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    /** A rough estimate of the memory used by each cache entry apart from its characters. */
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    /** Rendered Tasks, ordered from least to most recently displayed. */
+    private final LinkedHashMap<Task, RenderedTask> renderedTasks = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache with the default limits.
+     */
+    public TaskRenderCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a cache that remembers at most the given number of rendered Tasks,
+     * taking up at most (approximately) the given number of bytes.
+     *
+     * @param maxEntries the maximum number of rendered Tasks to remember.
+     * @param maxBytes   the maximum estimated size of all rendered Tasks remembered.
+     */
+    public TaskRenderCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the String representation of the Task, reusing the previous
+     * rendering if the Task has not changed since.
+     */
+    public synchronized String render(Task t) {
+        RenderedTask rendered = renderedTasks.get(t);
+
+        if (rendered != null && rendered.version == t.getVersion()) {
+            hits++;
+            return rendered.text;
+        }
+
+        misses++;
+        if (rendered != null) {
+            usedBytes -= rendered.getEstimatedSize();
+        }
+
+        rendered = new RenderedTask(t.getVersion(), t.toString());
+        renderedTasks.put(t, rendered);
+        usedBytes += rendered.getEstimatedSize();
+        evictIfFull();
+
+        return rendered.text;
+    }
+
+    /**
+     * Forgets the rendering of a Task, such as one that has been deleted.
+     */
+    public synchronized void invalidate(Task t) {
+        RenderedTask rendered = renderedTasks.remove(t);
+
+        if (rendered != null) {
+            usedBytes -= rendered.getEstimatedSize();
+        }
+    }
+
+    /**
+     * Returns a human-readable summary of how effective the cache has been.
+     */
+    public synchronized String getStatistics() {
+        return String.format("%d rendered tasks cached (~%d KB), %d hits, %d misses, %d evictions",
+                renderedTasks.size(), usedBytes / 1024, hits, misses, evictions);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private void evictIfFull() {
+        Iterator<Map.Entry<Task, RenderedTask>> leastRecentlyUsed = renderedTasks.entrySet().iterator();
+
+        while (renderedTasks.size() > maxEntries || (usedBytes > maxBytes && leastRecentlyUsed.hasNext())) {
+            usedBytes -= leastRecentlyUsed.next().getValue().getEstimatedSize();
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    private static class RenderedTask {
+        private final int version;
+        private final String text;
+
+        RenderedTask(int version, String text) {
+            this.version = version;
+            this.text = text;
+        }
+
+        long getEstimatedSize() {
+            return ENTRY_OVERHEAD_BYTES + 2L * text.length();
+        }
+    }
+}
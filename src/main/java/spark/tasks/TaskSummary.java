@@ -0,0 +1,212 @@
+package spark.tasks;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
+
+/**
+ * Keeps counts of the Tasks in a task list by type and completion status, along with the
+ * number of overdue deadlines and the number of events in each week, so a summary of the
+ * task list can be given without looking at every Task.
+ * <p>
+ * The summary listens to the task list, and updates the counts by a single Task whenever a
+ * Task is added, removed or changed. Counts that depend on the time are brought up to date
+ * only when they are asked for: incomplete deadlines that are not due yet wait in a queue
+ * ordered by when they are due, and are counted as overdue once that time has passed; events
+ * are counted by the week they are in, so the events of the current week are a single lookup.
+ */
+public class TaskSummary implements TaskListListener {
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final long MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    /** The epoch was on a Thursday; weeks start on the Monday three days before it. */
+    private static final long MINUTES_FROM_START_OF_WEEK_TO_EPOCH = 3 * MINUTES_PER_DAY;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    private final LongSupplier clock;
+    /** The number of Tasks by type, then by whether they are done. */
+    private final int[][] counts = new int[TASK_TYPES.length][2];
+    /** The number of events in each week, by the number of weeks from the epoch. */
+    private final Map<Long, Integer> eventsByWeek = new HashMap<>();
+    /** What each Task is counted as, so it can be uncounted after it has changed. */
+    private final Map<Task, CountedTask> countedTasks = new HashMap<>();
+    /** Incomplete deadlines that were not due yet when they were last looked at, soonest first. */
+    private final PriorityQueue<CountedTask> upcomingDeadlines = new PriorityQueue<>(
+            (a, b) -> Long.compare(a.epochMinutes, b.epochMinutes));
+    /** Deadlines in the queue that have since been uncounted, and are skipped when they come up. */
+    private int numberOfUncountedDeadlines;
+    private int numberOfOverdueDeadlines;
+
+    /**
+     * Creates a summary of the Tasks in the task list, going by the system clock.
+     */
+    public TaskSummary(Iterable<Task> tasks) {
+        this(tasks, () -> EpochMinutes.of(LocalDateTime.now()));
+    }
+
+    /**
+     * Creates a summary of the Tasks in the task list.
+     *
+     * @param clock returns the current time, in minutes from the epoch.
+     */
+    public TaskSummary(Iterable<Task> tasks, LongSupplier clock) {
+        this.clock = clock;
+
+        for (Task t : tasks) {
+            taskAdded(t);
+        }
+    }
+
+    /**
+     * Returns the number of Tasks of the type.
+     */
+    public int getNumberOfTasks(TaskType type) {
+        return counts[type.ordinal()][0] + counts[type.ordinal()][1];
+    }
+
+    /**
+     * Returns the number of Tasks of the type with the completion status.
+     */
+    public int getNumberOfTasks(TaskType type, boolean isDone) {
+        return counts[type.ordinal()][isDone ? 1 : 0];
+    }
+
+    /**
+     * Returns the number of Tasks with the completion status.
+     */
+    public int getNumberOfTasks(boolean isDone) {
+        int total = 0;
+        for (TaskType type : TASK_TYPES) {
+            total += getNumberOfTasks(type, isDone);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of incomplete deadlines that are past due, counting the deadlines
+     * that have become due since this was last asked.
+     */
+    public int getNumberOfOverdueDeadlines() {
+        long currentTime = clock.getAsLong();
+
+        while (!upcomingDeadlines.isEmpty() && upcomingDeadlines.peek().epochMinutes < currentTime) {
+            CountedTask deadline = upcomingDeadlines.poll();
+
+            if (deadline.isUncounted) {
+                numberOfUncountedDeadlines--;
+            } else {
+                deadline.isOverdue = true;
+                numberOfOverdueDeadlines++;
+            }
+        }
+
+        return numberOfOverdueDeadlines;
+    }
+
+    /**
+     * Returns the number of events in the current week, from Monday to Sunday.
+     */
+    public int getNumberOfEventsThisWeek() {
+        return eventsByWeek.getOrDefault(getWeek(clock.getAsLong()), 0);
+    }
+
+    @Override
+    public void taskAdded(Task t) {
+        CountedTask counted = new CountedTask(t.getTaskType(), t.isDone(), t.getEpochMinutes());
+        countedTasks.put(t, counted);
+        count(counted);
+    }
+
+    @Override
+    public void taskRemoved(Task t) {
+        CountedTask counted = countedTasks.remove(t);
+
+        if (counted != null) {
+            uncount(counted);
+        }
+    }
+
+    @Override
+    public void taskChanged(Task t) {
+        taskRemoved(t);
+        taskAdded(t);
+    }
+
+    private void count(CountedTask counted) {
+        counts[counted.type.ordinal()][counted.isDone ? 1 : 0]++;
+
+        if (counted.type == TaskType.EVENT && counted.epochMinutes != EpochMinutes.NONE) {
+            eventsByWeek.merge(getWeek(counted.epochMinutes), 1, Integer::sum);
+        }
+
+        if (counted.isPendingDeadline()) {
+            if (counted.epochMinutes < clock.getAsLong()) {
+                counted.isOverdue = true;
+                numberOfOverdueDeadlines++;
+            } else {
+                upcomingDeadlines.add(counted);
+            }
+        }
+    }
+
+    private void uncount(CountedTask counted) {
+        counts[counted.type.ordinal()][counted.isDone ? 1 : 0]--;
+
+        if (counted.type == TaskType.EVENT && counted.epochMinutes != EpochMinutes.NONE) {
+            eventsByWeek.computeIfPresent(getWeek(counted.epochMinutes), (week, n) -> n > 1 ? n - 1 : null);
+        }
+
+        if (counted.isOverdue) {
+            numberOfOverdueDeadlines--;
+        } else if (counted.isPendingDeadline()) {
+            counted.isUncounted = true;
+            numberOfUncountedDeadlines++;
+            dropUncountedDeadlines();
+        }
+    }
+
+    /**
+     * Rebuilds the queue of upcoming deadlines once most of it is deadlines that have been
+     * uncounted, so that it does not keep growing as deadlines are changed over and over.
+     */
+    private void dropUncountedDeadlines() {
+        if (numberOfUncountedDeadlines <= upcomingDeadlines.size() / 2) {
+            return;
+        }
+
+        upcomingDeadlines.removeIf(deadline -> deadline.isUncounted);
+        numberOfUncountedDeadlines = 0;
+    }
+
+    private static long getWeek(long epochMinutes) {
+        return Math.floorDiv(epochMinutes + MINUTES_FROM_START_OF_WEEK_TO_EPOCH, MINUTES_PER_WEEK);
+    }
+
+    /**
+     * What a Task was counted as when it was last added or changed.
+     */
+    private static class CountedTask {
+        private final TaskType type;
+        private final boolean isDone;
+        private final long epochMinutes;
+        /** True if the Task is an incomplete deadline counted as overdue. */
+        private boolean isOverdue;
+        /** True if the Task has since been uncounted, while it was waiting in the queue of upcoming deadlines. */
+        private boolean isUncounted;
+
+        CountedTask(TaskType type, boolean isDone, long epochMinutes) {
+            this.type = type;
+            this.isDone = isDone;
+            this.epochMinutes = epochMinutes;
+        }
+
+        boolean isPendingDeadline() {
+            return type == TaskType.DEADLINE && !isDone && epochMinutes != EpochMinutes.NONE;
+        }
+    }
+}
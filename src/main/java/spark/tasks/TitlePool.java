@@ -0,0 +1,87 @@
+package spark.tasks;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Shares a single String between all Tasks with the same title, so that a task
+ * list with many repeated titles (such as a weekly "buy milk") only keeps one
+ * copy of each title in memory.
+ * <p>
+ * Titles are only weakly held by the pool, so once every Task with a title has
+ * been deleted, the title can be garbage-collected as usual.
+ */
+public class TitlePool {
+    /** A rough estimate of the memory used by a String apart from its characters. */
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final TitlePool DEFAULT_POOL = new TitlePool();
+
+    /** Maps each pooled title to a weak reference to itself, its canonical copy. */
+    private final WeakHashMap<String, WeakReference<String>> titles = new WeakHashMap<>();
+    private long lookups;
+    private long duplicates;
+    /**
+     * The estimated memory saved by every duplicate shared so far; it is not reduced when
+     * Tasks are deleted, as the pool is not told which Tasks still hold each title.
+     */
+    private long savedBytes;
+
+    /**
+     * Returns the pool shared by everything that creates Tasks.
+     */
+    public static TitlePool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * Returns the canonical copy of the title, adding the title to the pool
+     * if no Task currently has the same title.
+     */
+    public synchronized String intern(String title) {
+        lookups++;
+
+        WeakReference<String> reference = titles.get(title);
+        String canonical = reference == null ? null : reference.get();
+
+        if (canonical == null) {
+            titles.put(title, new WeakReference<>(title));
+            return title;
+        }
+
+        if (canonical != title) {
+            duplicates++;
+            savedBytes += getEstimatedSize(title);
+        }
+
+        return canonical;
+    }
+
+    /**
+     * Returns the number of distinct titles currently in the pool.
+     */
+    public synchronized int getNumberOfTitles() {
+        return titles.size();
+    }
+
+    /**
+     * Returns a human-readable summary of how much memory the pool has saved since Spark started.
+     */
+    public synchronized String getStatistics() {
+        return String.format("%d distinct titles pooled, %d lookups, %d duplicates shared "
+                + "(~%d KB saved since starting)", titles.size(), lookups, duplicates, savedBytes / 1024);
+    }
+
+    /**
+     * Returns the estimated size of a String, which stores one byte per character
+     * if every character is Latin-1 and two bytes per character otherwise.
+     */
+    private static long getEstimatedSize(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return STRING_OVERHEAD_BYTES + 2L * s.length();
+            }
+        }
+
+        return STRING_OVERHEAD_BYTES + s.length();
+    }
+}
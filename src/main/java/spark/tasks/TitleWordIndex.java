@@ -0,0 +1,235 @@
+package spark.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import spark.tasks.tasktypes.Task;
+
+/**
+ * Indexes the words in the titles of Tasks in a sorted array, so that Tasks with
+ * title words that are a few typos away from a search-term can be found without
+ * comparing the search-term against every word in the task list.
+ * <p>
+ * The sorted words are walked as if they were a trie, one character at a time,
+ * carrying along the row of the edit distance table for the prefix walked so far;
+ * this simulates a Levenshtein automaton for the search-term. Words sharing a prefix
+ * are next to each other in the array, so as soon as every entry in the row exceeds
+ * the allowed number of typos, all words with that prefix are skipped at once.
+ */
+public class TitleWordIndex {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The Tasks whose titles contain each word. */
+    private final Map<String, Set<Task>> tasksByWord = new HashMap<>();
+    /** Every word in {@code tasksByWord}, in sorted order. */
+    private String[] sortedWords = new String[INITIAL_CAPACITY];
+    private int numberOfWords;
+
+    /**
+     * Indexes the words in the title of a Task added to the task list.
+     */
+    public void add(Task t) {
+        for (String word : getWords(t.getTitle())) {
+            tasksByWord.computeIfAbsent(word, w -> {
+                insertSortedWord(w);
+                return Collections.newSetFromMap(new IdentityHashMap<>());
+            }).add(t);
+        }
+    }
+
+    /**
+     * Stops indexing the words in the title of a Task deleted from the task list.
+     */
+    public void remove(Task t) {
+        for (String word : getWords(t.getTitle())) {
+            Set<Task> tasks = tasksByWord.get(word);
+
+            if (tasks != null) {
+                tasks.remove(t);
+                if (tasks.isEmpty()) {
+                    tasksByWord.remove(word);
+                    removeSortedWord(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the Tasks with a title word within the given edit distance of the search-term,
+     * ordered from the closest match to the furthest.
+     *
+     * @param searchTerm  a single word, compared without regard to case.
+     * @param maxDistance the largest number of single-character insertions, deletions
+     *                    or substitutions that a title word may differ from the search-term by.
+     */
+    public List<Task> find(String searchTerm, int maxDistance) {
+        String term = searchTerm.toLowerCase();
+        List<List<String>> wordsByDistance = new ArrayList<>();
+        for (int d = 0; d <= maxDistance; d++) {
+            wordsByDistance.add(new ArrayList<>());
+        }
+
+        int[] firstRow = new int[term.length() + 1];
+        for (int j = 0; j <= term.length(); j++) {
+            firstRow[j] = j;
+        }
+        if (numberOfWords > 0) {
+            findWordsNear(term, maxDistance, 0, 0, numberOfWords, firstRow, wordsByDistance);
+        }
+
+        Set<Task> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Task> results = new ArrayList<>();
+        for (List<String> words : wordsByDistance) {
+            for (String word : words) {
+                for (Task t : tasksByWord.get(word)) {
+                    if (matches.add(t)) {
+                        results.add(t);
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the number of distinct words in the titles of the indexed Tasks.
+     */
+    public int getNumberOfWords() {
+        return numberOfWords;
+    }
+
+    /**
+     * Returns the distinct words, in lower case, that make up a title.
+     */
+    public static Set<String> getWords(String title) {
+        Set<String> words = new LinkedHashSet<>();
+
+        for (String word : title.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words.
+     */
+    public static int getEditDistance(String a, String b) {
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            row[j] = j;
+        }
+
+        for (int i = 0; i < a.length(); i++) {
+            row = getNextRow(b, row, a.charAt(i));
+        }
+
+        return row[b.length()];
+    }
+
+    /**
+     * Collects the words in {@code sortedWords[from, to)}, which all share the same prefix of
+     * the given length, that are within the maximum distance of the term; given the edit
+     * distances between that prefix and every prefix of the term.
+     */
+    private void findWordsNear(String term, int maxDistance, int prefixLength, int from, int to, int[] row,
+            List<List<String>> wordsByDistance) {
+        int i = from;
+        int distance = row[term.length()];
+
+        // a word that is just the prefix itself sorts before every longer word with that prefix
+        if (sortedWords[i].length() == prefixLength) {
+            if (distance <= maxDistance) {
+                wordsByDistance.get(distance).add(sortedWords[i]);
+            }
+            i++;
+        }
+
+        while (i < to) {
+            char c = sortedWords[i].charAt(prefixLength);
+            int end = findEndOfRun(prefixLength, c, i, to);
+            int[] nextRow = getNextRow(term, row, c);
+
+            if (getMinimum(nextRow) <= maxDistance) {
+                findWordsNear(term, maxDistance, prefixLength + 1, i, end, nextRow, wordsByDistance);
+            }
+
+            i = end;
+        }
+    }
+
+    /**
+     * Returns the index of the first word in {@code sortedWords[from, to)} that has a character
+     * after {@code c} at the position, given that the words are sorted by that character.
+     */
+    private int findEndOfRun(int position, char c, int from, int to) {
+        int low = from;
+        int high = to;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (sortedWords[mid].charAt(position) <= c) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private void insertSortedWord(String word) {
+        int index = -Arrays.binarySearch(sortedWords, 0, numberOfWords, word) - 1;
+
+        if (numberOfWords == sortedWords.length) {
+            sortedWords = Arrays.copyOf(sortedWords, numberOfWords * 2);
+        }
+
+        System.arraycopy(sortedWords, index, sortedWords, index + 1, numberOfWords - index);
+        sortedWords[index] = word;
+        numberOfWords++;
+    }
+
+    private void removeSortedWord(String word) {
+        int index = Arrays.binarySearch(sortedWords, 0, numberOfWords, word);
+
+        System.arraycopy(sortedWords, index + 1, sortedWords, index, numberOfWords - index - 1);
+        numberOfWords--;
+        sortedWords[numberOfWords] = null;
+    }
+
+    /**
+     * Returns the row of the edit distance table after appending a character to the prefix.
+     */
+    private static int[] getNextRow(String term, int[] row, char c) {
+        int[] nextRow = new int[row.length];
+        nextRow[0] = row[0] + 1;
+
+        for (int j = 1; j < row.length; j++) {
+            int substitution = row[j - 1] + (term.charAt(j - 1) == c ? 0 : 1);
+            nextRow[j] = Math.min(substitution, Math.min(row[j], nextRow[j - 1]) + 1);
+        }
+
+        return nextRow;
+    }
+
+    private static int getMinimum(int[] row) {
+        int minimum = row[0];
+        for (int value : row) {
+            minimum = Math.min(minimum, value);
+        }
+
+        return minimum;
+    }
+}
@@ -0,0 +1,57 @@
+package spark.tasks.arena;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A TitleArena backed by a direct ByteBuffer outside of the Java heap, so that
+ * titles add nothing to the work the garbage collector has to do, however many
+ * Tasks there are.
+ */
+public class DirectTitleArena extends TitleArena {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_CHUNK_SIZE = 8 * 1024;
+
+    private ByteBuffer bytes = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+    @Override
+    protected int getCapacity() {
+        return bytes.capacity();
+    }
+
+    @Override
+    protected void grow(int minCapacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(minCapacity);
+        grown.put(bytes.duplicate().position(0).limit(getSize()));
+        bytes = grown;
+    }
+
+    @Override
+    protected byte getByte(int offset) {
+        return bytes.get(offset);
+    }
+
+    @Override
+    protected void read(int offset, byte[] destination) {
+        bytes.get(offset, destination);
+    }
+
+    @Override
+    protected void write(int offset, byte[] source) {
+        bytes.put(offset, source);
+    }
+
+    /**
+     * Copies the bytes through a small buffer on the heap, so that overlapping
+     * source and destination ranges are handled correctly.
+     */
+    @Override
+    protected void moveDown(int from, int to, int length) {
+        byte[] chunk = new byte[Math.min(length, MAX_CHUNK_SIZE)];
+
+        for (int copied = 0; copied < length; copied += chunk.length) {
+            int chunkLength = Math.min(chunk.length, length - copied);
+            bytes.get(from + copied, chunk, 0, chunkLength);
+            bytes.put(to + copied, chunk, 0, chunkLength);
+        }
+    }
+}
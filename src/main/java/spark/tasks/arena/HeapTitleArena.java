@@ -0,0 +1,42 @@
+package spark.tasks.arena;
+
+import java.util.Arrays;
+
+/**
+ * A TitleArena backed by a byte array on the Java heap.
+ */
+public class HeapTitleArena extends TitleArena {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+    @Override
+    protected int getCapacity() {
+        return bytes.length;
+    }
+
+    @Override
+    protected void grow(int minCapacity) {
+        bytes = Arrays.copyOf(bytes, minCapacity);
+    }
+
+    @Override
+    protected byte getByte(int offset) {
+        return bytes[offset];
+    }
+
+    @Override
+    protected void read(int offset, byte[] destination) {
+        System.arraycopy(bytes, offset, destination, 0, destination.length);
+    }
+
+    @Override
+    protected void write(int offset, byte[] source) {
+        System.arraycopy(source, 0, bytes, offset, source.length);
+    }
+
+    @Override
+    protected void moveDown(int from, int to, int length) {
+        System.arraycopy(bytes, from, bytes, to, length);
+    }
+}
@@ -0,0 +1,114 @@
+package spark.tasks.arena;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A growable region of memory that the UTF-8 encoded titles of Tasks are appended to,
+ * each title being identified by its offset and length.
+ * <p>
+ * Titles can be searched for a sequence of UTF-8 bytes without decoding them into
+ * Strings, and titles that are no longer needed can be squeezed out by moving the
+ * remaining titles towards the start of the arena.
+ */
+public abstract class TitleArena {
+    private int size;
+
+    /**
+     * Returns the number of bytes the arena can hold before it has to grow.
+     */
+    protected abstract int getCapacity();
+
+    /**
+     * Grows the arena to hold at least the given number of bytes, keeping its contents.
+     */
+    protected abstract void grow(int minCapacity);
+
+    /**
+     * Returns the byte at the offset.
+     */
+    protected abstract byte getByte(int offset);
+
+    /**
+     * Copies bytes from the arena, starting at the offset, into the destination array.
+     */
+    protected abstract void read(int offset, byte[] destination);
+
+    /**
+     * Copies all of the source bytes into the arena, starting at the offset.
+     */
+    protected abstract void write(int offset, byte[] source);
+
+    /**
+     * Copies bytes within the arena to a lower offset.
+     */
+    protected abstract void moveDown(int from, int to, int length);
+
+    /**
+     * Appends a UTF-8 encoded title to the end of the arena and returns its offset.
+     */
+    public int append(byte[] title) {
+        if (size + title.length > getCapacity()) {
+            grow(Math.max(getCapacity() * 2, size + title.length));
+        }
+
+        write(size, title);
+        size += title.length;
+
+        return size - title.length;
+    }
+
+    /**
+     * Decodes the title with the given offset and length into a String.
+     */
+    public String decode(int offset, int length) {
+        byte[] title = new byte[length];
+        read(offset, title);
+        return new String(title, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns true if the title with the given offset and length contains
+     * the UTF-8 encoded search-term.
+     */
+    public boolean contains(int offset, int length, byte[] searchTerm) {
+        int lastStart = offset + length - searchTerm.length;
+
+        for (int start = offset; start <= lastStart; start++) {
+            int i = 0;
+            while (i < searchTerm.length && getByte(start + i) == searchTerm[i]) {
+                i++;
+            }
+
+            if (i == searchTerm.length) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves the title with the given offset and length down to a lower offset,
+     * which must not overlap any title still in use after it is moved.
+     */
+    public void move(int from, int to, int length) {
+        if (from != to) {
+            moveDown(from, to, length);
+        }
+    }
+
+    /**
+     * Discards every byte from the given offset onwards, after the titles still in use
+     * have been moved below it.
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    /**
+     * Returns the number of bytes appended to the arena that have not been discarded.
+     */
+    public int getSize() {
+        return size;
+    }
+}
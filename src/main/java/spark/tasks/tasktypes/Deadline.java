@@ -7,9 +7,9 @@ import java.time.format.DateTimeFormatter;
  * Represents a deadline in the task list.
  */
 public class Deadline extends Task {
-    private static final DateTimeFormatter inputDateTimeFormatter = DateTimeFormatter.ofPattern("M-d-yyyy Hmm");
     private static final DateTimeFormatter outputDateTimeFormatter = DateTimeFormatter.ofPattern("d MMM yyyy, h:mm a");
-    private LocalDateTime by;
+    /** Minutes since the epoch, see {@link EpochMinutes}. */
+    private long by;
 
     /**
      * Creates a new Deadline.
@@ -19,7 +19,7 @@ public class Deadline extends Task {
      */
     public Deadline (String name, LocalDateTime by) {
         super(name);
-        this.by = by;
+        this.by = EpochMinutes.of(by);
     }
 
     /**
@@ -32,14 +32,53 @@ public class Deadline extends Task {
      */
     public Deadline (boolean isDone, String title, String by) {
         super(isDone, title);
-        this.by = LocalDateTime.parse(by, inputDateTimeFormatter);
+        this.by = EpochMinutes.parseInput(by);
+    }
+
+    /**
+     * Generates a new Deadline with the given completion status.
+     *
+     * @param isDone whether the Deadline is completed.
+     * @param title  the title of the Deadline.
+     * @param by     the date and time the Deadline is due by.
+     */
+    public Deadline(boolean isDone, String title, LocalDateTime by) {
+        super(isDone, title);
+        this.by = EpochMinutes.of(by);
+    }
+
+    /**
+     * Generates a new Deadline with the given completion status.
+     *
+     * @param isDone whether the Deadline is completed.
+     * @param title  the title of the Deadline.
+     * @param by     the number of minutes from the epoch to when the Deadline is due by.
+     */
+    public Deadline(boolean isDone, String title, long by) {
+        super(isDone, title);
+        this.by = by;
+    }
+
+    @Override
+    public LocalDateTime getDateTime() {
+        return EpochMinutes.toLocalDateTime(this.by);
+    }
+
+    @Override
+    public long getEpochMinutes() {
+        return this.by;
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.DEADLINE;
     }
 
     @Override
     public String toString() {
         return String.format("[D]%s (by: %s)",
                 super.toString(),
-                this.by.format(outputDateTimeFormatter));
+                EpochMinutes.format(this.by, outputDateTimeFormatter));
     }
 
     /**
@@ -53,6 +92,6 @@ public class Deadline extends Task {
         return String.format("D @@@ %b @@@ %s @@@ %s",
                 super.isDone(),
                 super.getTitle(),
-                this.by.format(inputDateTimeFormatter));
+                EpochMinutes.formatInput(this.by));
     }
 }
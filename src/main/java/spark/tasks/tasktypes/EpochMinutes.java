@@ -0,0 +1,128 @@
+package spark.tasks.tasktypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Holds methods for converting between dates and times, and the number of minutes
+ * since 1 January 1970, 00:00 that dated Tasks store them as.
+ * <p>
+ * Dates and times are only turned into date objects when they are displayed, saved,
+ * read or handed to code outside of the Task, so comparing, sorting and checking the dates
+ * of Tasks only ever compares two longs.
+ */
+public class EpochMinutes {
+    /** Stands for the date of a Task without a date. */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final int MIN_YEAR_DIGITS = 4;
+    /** The most digits a year can have, as LocalDate only goes up to year 999,999,999. */
+    private static final int MAX_YEAR_DIGITS = 9;
+
+    private EpochMinutes() {
+    }
+
+    /**
+     * Returns the number of minutes from the epoch to the date and time, or {@link #NONE} if it is null.
+     */
+    public static long of(LocalDateTime dateTime) {
+        return dateTime == null ? NONE : Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Returns the date and time the given number of minutes from the epoch, or null if it is {@link #NONE}.
+     */
+    public static LocalDateTime toLocalDateTime(long epochMinutes) {
+        return epochMinutes == NONE
+                ? null
+                : LocalDateTime.ofEpochSecond(epochMinutes * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Formats the given number of minutes from the epoch as a date and time.
+     */
+    public static String format(long epochMinutes, DateTimeFormatter formatter) {
+        return toLocalDateTime(epochMinutes).format(formatter);
+    }
+
+    /**
+     * Formats the given number of minutes from the epoch in the same "M-d-yyyy Hmm" form
+     * that dates and times are typed in and saved as. The year is padded to four digits,
+     * and a year before year 0 is written with a minus sign, so it can be parsed back.
+     */
+    public static String formatInput(long epochMinutes) {
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochMinutes, MINUTES_PER_DAY));
+        long minuteOfDay = Math.floorMod(epochMinutes, MINUTES_PER_DAY);
+        int year = date.getYear();
+
+        return String.format("%d-%d-%s%04d %d%02d", date.getMonthValue(), date.getDayOfMonth(),
+                year < 0 ? "-" : "", Math.abs(year), minuteOfDay / MINUTES_PER_HOUR, minuteOfDay % MINUTES_PER_HOUR);
+    }
+
+    /**
+     * Parses a date and time typed in, or saved as, "M-d-yyyy Hmm" straight into
+     * the number of minutes from the epoch. Like a DateTimeFormatter with that pattern,
+     * the year has at least four digits, a day past the end of the month is taken to be
+     * the last day of the month, and 2400 is taken to be midnight at the end of the day.
+     * A year before year 0 may also be given with a minus sign.
+     *
+     * @throws DateTimeParseException if the text is not a valid date and time in that form.
+     */
+    public static long parseInput(String text) {
+        try {
+            int firstDash = text.indexOf('-');
+            int secondDash = text.indexOf('-', firstDash + 1);
+            int space = text.indexOf(' ', secondDash + 1);
+
+            if (firstDash < 1 || firstDash > 2 || secondDash < 0 || space < 0 || text.length() - space - 1 < 3) {
+                throw new DateTimeParseException("Expected M-d-yyyy Hmm", text, 0);
+            }
+
+            boolean isBeforeYearZero = text.charAt(secondDash + 1) == '-';
+            int yearStart = isBeforeYearZero ? secondDash + 2 : secondDash + 1;
+            int month = parseDigits(text, 0, firstDash);
+            int day = parseDigits(text, firstDash + 1, secondDash);
+            int year = parseDigits(text, yearStart, space);
+            int hour = parseDigits(text, space + 1, text.length() - 2);
+            int minute = parseDigits(text, text.length() - 2, text.length());
+
+            if (secondDash - firstDash > 3 || space - yearStart < MIN_YEAR_DIGITS || space - yearStart > MAX_YEAR_DIGITS
+                    || text.length() - space - 1 > 4 || month < 1 || month > 12 || day < 1 || day > 31
+                    || minute > 59 || hour > 24 || (hour == 24 && minute != 0)) {
+                throw new DateTimeParseException("Invalid date or time", text, 0);
+            }
+
+            int signedYear = isBeforeYearZero ? -year : year;
+            int lastDayOfMonth = Month.of(month).length(Year.isLeap(signedYear));
+            long epochDay = LocalDate.of(signedYear, month, Math.min(day, lastDayOfMonth)).toEpochDay();
+            return epochDay * MINUTES_PER_DAY + hour * MINUTES_PER_HOUR + minute;
+        } catch (NumberFormatException e) {
+            throw new DateTimeParseException("Expected M-d-yyyy Hmm", text, 0, e);
+        }
+    }
+
+    private static int parseDigits(String text, int from, int to) {
+        if (from >= to) {
+            throw new NumberFormatException();
+        }
+
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException();
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+}
@@ -7,9 +7,9 @@ import java.time.format.DateTimeFormatter;
  * Represents an event on the user's task list.
  */
 public class Event extends Task {
-    private static final DateTimeFormatter inputDateTimeFormatter = DateTimeFormatter.ofPattern("M-d-yyyy Hmm");
     private static final DateTimeFormatter outputDateTimeFormatter = DateTimeFormatter.ofPattern("d MMM yyyy, h:mm a");
-    private LocalDateTime eventDateTime;
+    /** Minutes since the epoch, see {@link EpochMinutes}. */
+    private long eventDateTime;
 
     /**
      * Creates a new Event.
@@ -19,7 +19,7 @@ public class Event extends Task {
      */
     public Event(String title, LocalDateTime at) {
         super(title);
-        this.eventDateTime = at;
+        this.eventDateTime = EpochMinutes.of(at);
     }
 
     /**
@@ -31,12 +31,53 @@ public class Event extends Task {
      */
     public Event(boolean isDone, String title, String at) {
         super(isDone, title);
-        this.eventDateTime = LocalDateTime.parse(at, inputDateTimeFormatter);
+        this.eventDateTime = EpochMinutes.parseInput(at);
+    }
+
+    /**
+     * Generates a new Event with the given completion status.
+     *
+     * @param isDone whether the Event is completed.
+     * @param title  the title of the Event.
+     * @param at     when the Event is taking place.
+     */
+    public Event(boolean isDone, String title, LocalDateTime at) {
+        super(isDone, title);
+        this.eventDateTime = EpochMinutes.of(at);
+    }
+
+    /**
+     * Generates a new Event with the given completion status.
+     *
+     * @param isDone whether the Event is completed.
+     * @param title  the title of the Event.
+     * @param at     the number of minutes from the epoch to when the Event is taking place.
+     */
+    public Event(boolean isDone, String title, long at) {
+        super(isDone, title);
+        this.eventDateTime = at;
+    }
+
+    @Override
+    public LocalDateTime getDateTime() {
+        return EpochMinutes.toLocalDateTime(this.eventDateTime);
+    }
+
+    @Override
+    public long getEpochMinutes() {
+        return this.eventDateTime;
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.EVENT;
     }
 
     @Override
     public String toString() {
-        return String.format("[E]%s (at: %s)", super.toString(), this.eventDateTime.format(outputDateTimeFormatter));
+        return String.format("[E]%s (at: %s)",
+                super.toString(),
+                EpochMinutes.format(this.eventDateTime, outputDateTimeFormatter));
     }
 
     /**
@@ -48,6 +89,6 @@ public class Event extends Task {
     @Override
     public String encodeTask() {
         return String.format("E @@@ %b @@@ %s @@@ %s", super.isDone(), super.getTitle(),
-                this.eventDateTime.format(inputDateTimeFormatter));
+                EpochMinutes.formatInput(this.eventDateTime));
     }
 }
@@ -0,0 +1,186 @@
+package spark.tasks.tasktypes;
+
+import java.util.Arrays;
+
+/**
+ * A set of occurrence numbers, stored as sorted runs of consecutive numbers.
+ * <p>
+ * Occurrences of a recurring Task are usually completed in order, so the completed
+ * occurrences of a Task repeating every day for years take up a single run, and
+ * are saved as "0-1095" instead of a thousand separate numbers.
+ */
+class OccurrenceSet {
+    private static final String RUN_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
+
+    /** The first and one past the last number of each run, in ascending order; runs never touch. */
+    private int[] bounds = new int[0];
+    private int numberOfRuns;
+
+    /**
+     * Returns true if the number is in the set.
+     */
+    boolean contains(int occurrence) {
+        int run = findRun(occurrence);
+        return run >= 0 && occurrence < bounds[2 * run + 1];
+    }
+
+    /**
+     * Returns the smallest number that is not in the set and not less than the given number.
+     */
+    int nextAbsent(int occurrence) {
+        int run = findRun(occurrence);
+        return run >= 0 && occurrence < bounds[2 * run + 1] ? bounds[2 * run + 1] : occurrence;
+    }
+
+    /**
+     * Returns the largest number in the set, or -1 if the set is empty.
+     */
+    int last() {
+        return numberOfRuns == 0 ? -1 : bounds[2 * numberOfRuns - 1] - 1;
+    }
+
+    /**
+     * Returns the number of numbers in the set.
+     */
+    int size() {
+        int size = 0;
+        for (int run = 0; run < numberOfRuns; run++) {
+            size += bounds[2 * run + 1] - bounds[2 * run];
+        }
+
+        return size;
+    }
+
+    /**
+     * Adds the number to the set, joining it to the runs on either side if it touches them.
+     */
+    void add(int occurrence) {
+        if (contains(occurrence)) {
+            return;
+        }
+
+        int before = findRun(occurrence);
+        boolean extendsBefore = before >= 0 && bounds[2 * before + 1] == occurrence;
+        boolean extendsAfter = before + 1 < numberOfRuns && bounds[2 * (before + 1)] == occurrence + 1;
+
+        if (extendsBefore && extendsAfter) {
+            bounds[2 * before + 1] = bounds[2 * (before + 1) + 1];
+            removeRun(before + 1);
+        } else if (extendsBefore) {
+            bounds[2 * before + 1] = occurrence + 1;
+        } else if (extendsAfter) {
+            bounds[2 * (before + 1)] = occurrence;
+        } else {
+            insertRun(before + 1, occurrence, occurrence + 1);
+        }
+    }
+
+    /**
+     * Removes the number from the set, splitting its run in two if needed.
+     */
+    void remove(int occurrence) {
+        if (!contains(occurrence)) {
+            return;
+        }
+
+        int run = findRun(occurrence);
+        int start = bounds[2 * run];
+        int end = bounds[2 * run + 1];
+
+        if (start == occurrence && end == occurrence + 1) {
+            removeRun(run);
+        } else if (start == occurrence) {
+            bounds[2 * run] = occurrence + 1;
+        } else if (end == occurrence + 1) {
+            bounds[2 * run + 1] = occurrence;
+        } else {
+            bounds[2 * run + 1] = occurrence;
+            insertRun(run + 1, occurrence + 1, end);
+        }
+    }
+
+    /**
+     * Returns the runs of the set written as "0-4,6", or an empty String if the set is empty.
+     */
+    String encode() {
+        StringBuilder encoded = new StringBuilder();
+
+        for (int run = 0; run < numberOfRuns; run++) {
+            int start = bounds[2 * run];
+            int last = bounds[2 * run + 1] - 1;
+
+            if (run > 0) {
+                encoded.append(RUN_SEPARATOR);
+            }
+            encoded.append(start);
+            if (last > start) {
+                encoded.append(RANGE_SEPARATOR).append(last);
+            }
+        }
+
+        return encoded.toString();
+    }
+
+    /**
+     * Reads runs written by {@link #encode()}.
+     *
+     * @throws NumberFormatException if the text is not a list of runs in that form.
+     */
+    static OccurrenceSet decode(String encoded) {
+        OccurrenceSet set = new OccurrenceSet();
+
+        if (encoded.isEmpty()) {
+            return set;
+        }
+
+        for (String run : encoded.split(RUN_SEPARATOR)) {
+            int separator = run.indexOf(RANGE_SEPARATOR);
+            int start = Integer.parseInt(separator < 0 ? run : run.substring(0, separator));
+            int last = separator < 0 ? start : Integer.parseInt(run.substring(separator + 1));
+
+            boolean touchesPreviousRun = set.numberOfRuns > 0 && start <= set.last() + 1;
+            if (start < 0 || last < start || last == Integer.MAX_VALUE || touchesPreviousRun) {
+                throw new NumberFormatException("Runs must be ascending and must not touch: " + encoded);
+            }
+            set.insertRun(set.numberOfRuns, start, last + 1);
+        }
+
+        return set;
+    }
+
+    /**
+     * Returns the last run starting at or before the number, or -1 if there is none.
+     */
+    private int findRun(int occurrence) {
+        int low = 0;
+        int high = numberOfRuns - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[2 * middle] <= occurrence) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+    }
+
+    private void insertRun(int run, int start, int end) {
+        if (2 * numberOfRuns == bounds.length) {
+            bounds = Arrays.copyOf(bounds, Math.max(2, bounds.length * 2));
+        }
+
+        System.arraycopy(bounds, 2 * run, bounds, 2 * run + 2, 2 * (numberOfRuns - run));
+        bounds[2 * run] = start;
+        bounds[2 * run + 1] = end;
+        numberOfRuns++;
+    }
+
+    private void removeRun(int run) {
+        System.arraycopy(bounds, 2 * run + 2, bounds, 2 * run, 2 * (numberOfRuns - run - 1));
+        numberOfRuns--;
+    }
+}
@@ -0,0 +1,99 @@
+package spark.tasks.tasktypes;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How often a recurring Task repeats.
+ * <p>
+ * Occurrences are always counted from the first occurrence rather than from the one
+ * before, so a Task repeating every month from 31 January falls on the last day of
+ * shorter months without drifting to the 28th for the rest of the year.
+ */
+public enum Recurrence {
+    /** Repeats at the same time every day. */
+    DAY(24 * 60),
+    /** Repeats at the same time on the same day of every week. */
+    WEEK(7 * 24 * 60),
+    /** Repeats at the same time on the same day of every month. */
+    MONTH(0),
+    /** Repeats at the same time on the same day of every year. */
+    YEAR(0);
+
+    /** The number of minutes between occurrences, or 0 if it depends on the calendar. */
+    private final long minutesBetweenOccurrences;
+
+    Recurrence(long minutesBetweenOccurrences) {
+        this.minutesBetweenOccurrences = minutesBetweenOccurrences;
+    }
+
+    /**
+     * Returns the Recurrence with the given name, such as "week", ignoring case,
+     * or null if there is no such Recurrence.
+     */
+    public static Recurrence fromName(String name) {
+        for (Recurrence recurrence : values()) {
+            if (recurrence.getName().equalsIgnoreCase(name)) {
+                return recurrence;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the name the Recurrence is typed in and saved as.
+     */
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Returns the date of an occurrence, in minutes from the epoch.
+     *
+     * @param firstOccurrence the date of the first occurrence, in minutes from the epoch.
+     * @param occurrence      the zero-based number of the occurrence.
+     */
+    public long getOccurrence(long firstOccurrence, int occurrence) {
+        switch (this) {
+        case MONTH:
+            return EpochMinutes.of(EpochMinutes.toLocalDateTime(firstOccurrence).plusMonths(occurrence));
+        case YEAR:
+            return EpochMinutes.of(EpochMinutes.toLocalDateTime(firstOccurrence).plusYears(occurrence));
+        default:
+            return firstOccurrence + occurrence * minutesBetweenOccurrences;
+        }
+    }
+
+    /**
+     * Returns the number of the first occurrence dated at or after {@code from},
+     * computed directly instead of stepping through the occurrences before it.
+     *
+     * @param firstOccurrence the date of the first occurrence, in minutes from the epoch.
+     * @param from            a date in minutes from the epoch.
+     */
+    public int getFirstOccurrenceFrom(long firstOccurrence, long from) {
+        if (from <= firstOccurrence) {
+            return 0;
+        }
+
+        long estimate;
+        if (minutesBetweenOccurrences > 0) {
+            estimate = Math.floorDiv(from - firstOccurrence, minutesBetweenOccurrences);
+        } else {
+            LocalDateTime first = EpochMinutes.toLocalDateTime(firstOccurrence);
+            LocalDateTime to = EpochMinutes.toLocalDateTime(from);
+            estimate = this == MONTH ? ChronoUnit.MONTHS.between(first, to) : ChronoUnit.YEARS.between(first, to);
+        }
+
+        int occurrence = (int) Math.min(estimate, Integer.MAX_VALUE - 1);
+        while (occurrence > 0 && getOccurrence(firstOccurrence, occurrence - 1) >= from) {
+            occurrence--;
+        }
+        while (getOccurrence(firstOccurrence, occurrence) < from) {
+            occurrence++;
+        }
+
+        return occurrence;
+    }
+}
@@ -0,0 +1,174 @@
+package spark.tasks.tasktypes;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import spark.exceptions.taskmodificationexceptions.TaskAlreadyUnMarked;
+
+/**
+ * Represents a deadline or event that repeats, such as a meeting every week.
+ * <p>
+ * Only the date of the first occurrence and how often the Task repeats are stored;
+ * the date of any other occurrence is worked out when it is asked for. Marking the
+ * Task completes its earliest incomplete occurrence, and only the numbers of the
+ * completed occurrences are kept, as runs of consecutive numbers. So a Task that
+ * repeats forever takes up a single entry in the task list and a single line in
+ * the save-file.
+ * <p>
+ * The date of the Task is the date of its earliest incomplete occurrence, and as
+ * there is always a later occurrence to do, the Task itself is never complete.
+ */
+public class RecurringTask extends Task {
+    private static final DateTimeFormatter outputDateTimeFormatter = DateTimeFormatter.ofPattern("d MMM yyyy, h:mm a");
+
+    /** Either {@link TaskType#DEADLINE} or {@link TaskType#EVENT}. */
+    private final TaskType occurrenceType;
+    /** Minutes since the epoch, see {@link EpochMinutes}. */
+    private final long firstOccurrence;
+    private final Recurrence recurrence;
+    private final OccurrenceSet completedOccurrences;
+
+    /**
+     * Creates a new recurring Task with no completed occurrences.
+     *
+     * @param occurrenceType  whether each occurrence is a deadline or an event.
+     * @param title           the title of the Task.
+     * @param firstOccurrence the date and time of the first occurrence.
+     * @param recurrence      how often the Task repeats.
+     */
+    public RecurringTask(TaskType occurrenceType, String title, LocalDateTime firstOccurrence,
+            Recurrence recurrence) {
+        this(occurrenceType, title, EpochMinutes.of(firstOccurrence), recurrence, new OccurrenceSet());
+    }
+
+    /**
+     * Generates a recurring Task from its saved form.
+     *
+     * @param occurrenceType       whether each occurrence is a deadline or an event.
+     * @param title                the title of the Task.
+     * @param firstOccurrence      the date and time of the first occurrence, as "M-d-yyyy Hmm".
+     * @param recurrence           how often the Task repeats.
+     * @param completedOccurrences the numbers of the completed occurrences, such as "0-4,6".
+     * @throws NumberFormatException if the completed occurrences are not in that form.
+     */
+    public RecurringTask(TaskType occurrenceType, String title, String firstOccurrence, Recurrence recurrence,
+            String completedOccurrences) {
+        this(occurrenceType, title, EpochMinutes.parseInput(firstOccurrence), recurrence,
+                OccurrenceSet.decode(completedOccurrences));
+    }
+
+    private RecurringTask(TaskType occurrenceType, String title, long firstOccurrence, Recurrence recurrence,
+            OccurrenceSet completedOccurrences) {
+        super(title);
+        assert occurrenceType == TaskType.DEADLINE || occurrenceType == TaskType.EVENT;
+
+        this.occurrenceType = occurrenceType;
+        this.firstOccurrence = firstOccurrence;
+        this.recurrence = recurrence;
+        this.completedOccurrences = completedOccurrences;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns the number of occurrences that have been completed.
+     */
+    public int getNumberOfCompletedOccurrences() {
+        return completedOccurrences.size();
+    }
+
+    /**
+     * Returns the date of an occurrence, in minutes from the epoch.
+     *
+     * @param occurrence the zero-based number of the occurrence.
+     */
+    public long getOccurrence(int occurrence) {
+        return recurrence.getOccurrence(firstOccurrence, occurrence);
+    }
+
+    @Override
+    public LocalDateTime getDateTime() {
+        return EpochMinutes.toLocalDateTime(getEpochMinutes());
+    }
+
+    @Override
+    public long getEpochMinutes() {
+        return getOccurrence(completedOccurrences.nextAbsent(0));
+    }
+
+    /**
+     * Returns true if any incomplete occurrence is dated in the range. Only the occurrences
+     * from the first one in the range onwards are looked at, skipping over completed ones
+     * a run at a time.
+     */
+    @Override
+    public boolean hasDateBetween(long from, long to) {
+        int occurrence = recurrence.getFirstOccurrenceFrom(firstOccurrence, from);
+        occurrence = completedOccurrences.nextAbsent(occurrence);
+
+        return getOccurrence(occurrence) < to;
+    }
+
+    /**
+     * Completes the earliest incomplete occurrence, moving the date of the Task on to the next one.
+     */
+    @Override
+    public void mark() {
+        completedOccurrences.add(completedOccurrences.nextAbsent(0));
+        this.version++;
+    }
+
+    /**
+     * Undoes the completion of the latest completed occurrence.
+     *
+     * @throws TaskAlreadyUnMarked if no occurrence has been completed.
+     */
+    @Override
+    public void unMark() throws TaskAlreadyUnMarked {
+        int lastCompleted = completedOccurrences.last();
+
+        if (lastCompleted < 0) {
+            throw new TaskAlreadyUnMarked(this);
+        }
+
+        completedOccurrences.remove(lastCompleted);
+        this.version++;
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return occurrenceType;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s]%s (%s: %s, every %s)",
+                occurrenceType == TaskType.DEADLINE ? "D" : "E",
+                super.toString(),
+                occurrenceType == TaskType.DEADLINE ? "by" : "at",
+                EpochMinutes.format(getEpochMinutes(), outputDateTimeFormatter),
+                recurrence.getName());
+    }
+
+    /**
+     * Returns an encoded-representation of the recurring Task that can be stored in a
+     * text-file and decoded into a recurring Task. The completed occurrences are left
+     * out while there are none.
+     *
+     * @return a String containing the encoded-representation of the recurring Task.
+     */
+    @Override
+    public String encodeTask() {
+        String encodedTask = String.format("R @@@ %b @@@ %s @@@ %s @@@ %s @@@ %s",
+                super.isDone(),
+                super.getTitle(),
+                occurrenceType == TaskType.DEADLINE ? "D" : "E",
+                EpochMinutes.formatInput(firstOccurrence),
+                recurrence.getName());
+        String encodedOccurrences = completedOccurrences.encode();
+
+        return encodedOccurrences.isEmpty() ? encodedTask : encodedTask + " @@@ " + encodedOccurrences;
+    }
+}
@@ -1,5 +1,7 @@
 package spark.tasks.tasktypes;
 
+import java.time.LocalDateTime;
+
 import spark.exceptions.taskmodificationexceptions.TaskAlreadyMarked;
 import spark.exceptions.taskmodificationexceptions.TaskAlreadyUnMarked;
 
@@ -11,6 +13,8 @@ import spark.exceptions.taskmodificationexceptions.TaskAlreadyUnMarked;
 public abstract class Task {
     protected String title;
     protected boolean isDone;
+    /** Incremented whenever the Task changes in a way that affects how it is displayed. */
+    protected int version;
 
     /**
      * Creates a new Task.
@@ -41,6 +45,31 @@ public abstract class Task {
         return title;
     }
 
+    /**
+     * Returns the date and time the Task is associated with,
+     * or null if the Task is not associated with any date.
+     */
+    public LocalDateTime getDateTime() {
+        return null;
+    }
+
+    /**
+     * Returns the date and time the Task is associated with, as the number of minutes
+     * since the epoch, or {@link EpochMinutes#NONE} if the Task is not associated with any date.
+     */
+    public long getEpochMinutes() {
+        return EpochMinutes.NONE;
+    }
+
+    /**
+     * Returns true if the Task is dated at or after {@code from} and before {@code to},
+     * both in minutes from the epoch. Tasks without a date are never in any range.
+     */
+    public boolean hasDateBetween(long from, long to) {
+        long epochMinutes = getEpochMinutes();
+        return epochMinutes != EpochMinutes.NONE && epochMinutes >= from && epochMinutes < to;
+    }
+
     /**
      * Marks the Task as completed.
      *
@@ -52,6 +81,7 @@ public abstract class Task {
         }
 
         this.isDone = true;
+        this.version++;
     }
 
     /**
@@ -65,6 +95,15 @@ public abstract class Task {
         }
 
         this.isDone = false;
+        this.version++;
+    }
+
+    /**
+     * Returns the current version of the Task, which changes whenever
+     * the Task is modified.
+     */
+    public int getVersion() {
+        return this.version;
     }
 
     /**
@@ -80,6 +119,11 @@ public abstract class Task {
         return this.isDone ? "[X]" : "[]";
     }
 
+    /**
+     * Returns the kind of Task this is.
+     */
+    public abstract TaskType getTaskType();
+
     /**
      * Returns an encoded-representation of the Task that can be
      * stored in a text-file and decoded into a Task.
@@ -0,0 +1,27 @@
+package spark.tasks.tasktypes;
+
+/**
+ * Kinds of Tasks that can be stored in the user's task-list.
+ */
+public enum TaskType {
+    /** A Task without any date. */
+    TODO,
+    /** A Task that has to be done by a certain date. */
+    DEADLINE,
+    /** A Task that takes place on a certain date. */
+    EVENT;
+
+    /**
+     * Returns the TaskType with the given name, ignoring case,
+     * or null if there is no such TaskType.
+     */
+    public static TaskType fromName(String name) {
+        for (TaskType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
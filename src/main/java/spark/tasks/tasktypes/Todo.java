@@ -20,6 +20,11 @@ public class Todo extends Task {
         super(isDone, title);
     }
 
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.TODO;
+    }
+
     @Override
     public String toString() {
         return String.format("[T]%s", super.toString());
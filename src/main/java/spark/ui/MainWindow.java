@@ -1,24 +1,31 @@
 package spark.ui;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Flow;
 
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
-import spark.Spark;
+import spark.CommandExecutor;
+import spark.LiveSearch;
 import spark.commandresponse.CommandResponse;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    private static final String FIND_PREFIX = "find ";
+
     @FXML // @FXML annotation marks a private or protected member and makes it accessible to FXML despite its modifier
     private ScrollPane dialogScrollPane;
     @FXML
@@ -27,56 +34,144 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button runButton;
+    @FXML
+    private ProgressIndicator busyIndicator;
+    @FXML
+    private Label searchPreview;
 
-    private Spark spark;
+    private CommandExecutor commandExecutor;
+    /** Shows the results of a find command while it is being typed, if set. */
+    private LiveSearch liveSearch;
+    /** The number of commands given that have not finished running yet. */
+    private int numberOfRunningCommands;
 
-    private final Image sparkImage = new Image(this.getClass().getResourceAsStream("/images/343_guilty_spark.png"));
-    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/mister_chief.png"));
+    // the images are loaded in the background, so they do not hold up showing the window
+    private final Image sparkImage = loadImageInBackground("/images/343_guilty_spark.png");
+    private final Image userImage = loadImageInBackground("/images/mister_chief.png");
 
     @FXML
     public void initialize() {
         dialogScrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        userInput.textProperty().addListener((observable, oldText, newText) -> updateSearchPreview(newText));
     }
 
-    public void setSpark(Spark spark) {
-        this.spark = spark;
-        showInitialisationMessage();
+    /**
+     * Shows the results of a {@code find} command above the user input while it is being typed.
+     */
+    public void setLiveSearch(LiveSearch liveSearch) {
+        this.liveSearch = liveSearch;
+    }
+
+    /**
+     * Greets the user, and lists their Tasks once the command executor has loaded them;
+     * commands can be given straight away, and run once the Tasks are loaded.
+     *
+     * @param onInitialListShown run on the JavaFX thread once the Tasks have been listed.
+     */
+    public void setCommandExecutor(CommandExecutor commandExecutor, Runnable onInitialListShown) {
+        this.commandExecutor = commandExecutor;
+        showInitialisationMessage(onInitialListShown);
     }
 
-    private void showInitialisationMessage() {
+    private void showInitialisationMessage(Runnable onInitialListShown) {
         String welcomeMessage = "Greetings, erm, reclaimer...?" + "\n"
                 + "(why does he look so weird?)";
 
-        List<CommandResponse> listOfTasks = spark.executeCommand("list");
         addSparkChatBubble(welcomeMessage);
-        addCommandResponsesAsChatBubbles(listOfTasks);
+
+        // commands typed while the Tasks are loading do not stop them being listed
+        setNumberOfRunningCommands(numberOfRunningCommands + 1);
+        commandExecutor.streamWithoutSuperseding("list", new ChatBubbleSubscriber(onInitialListShown));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other
-     * containing Spark's reply and then appends them to the
-     * dialog container.
+     * Shows how far through the save-file Spark has got while loading it on the busy indicator.
+     *
+     * @param progress the fraction of the save-file read so far, from 0 to 1.
+     */
+    public void showLoadingProgress(double progress) {
+        if (progress < 1) {
+            busyIndicator.setProgress(progress);
+            busyIndicator.setVisible(true);
+        } else {
+            busyIndicator.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
+            busyIndicator.setVisible(numberOfRunningCommands > 0);
+        }
+    }
+
+    /**
+     * Creates a dialog box echoing user input, and runs the command in the
+     * background; once it finishes, a dialog box containing Spark's reply is
+     * appended to the dialog container. The user can keep typing commands in
+     * the meantime, and replies are shown in the order the commands were given.
      * <p>
-     * Clears the user input after processing.
+     * Clears the user input straight away.
      */
     @FXML
     private void handleUserInput() {
-        List<CommandResponse> responses = spark.executeCommand(getUserInput());
-
         // print what the user typed as a chat-message sent by the user
         addUserChatBubble(getUserInput());
-
-        // print each response messages resulting from the command as
-        // chat-messages sent by Spark
-        addCommandResponsesAsChatBubbles(responses);
+        runInBackground(getUserInput(), () -> { });
+        hideSearchPreview();
 
         userInput.clear();
+    }
 
-        // close the program if the user has given a command
-        // for the program to exit
-        if (programShouldExit(responses)) {
-            waitBeforeExiting();
+    /**
+     * Runs the command on the command executor, showing its replies as they become ready,
+     * and showing the busy indicator until every command given has finished.
+     *
+     * @param onFinished run on the JavaFX thread once every reply has been shown.
+     */
+    private void runInBackground(String command, Runnable onFinished) {
+        setNumberOfRunningCommands(numberOfRunningCommands + 1);
+        commandExecutor.stream(command, new ChatBubbleSubscriber(onFinished));
+    }
+
+    /**
+     * Searches for the Tasks a {@code find} command being typed would find, once the user pauses typing.
+     */
+    private void updateSearchPreview(String text) {
+        if (liveSearch == null) {
+            return;
         }
+
+        if (!isFindCommand(text)) {
+            hideSearchPreview();
+            return;
+        }
+
+        liveSearch.search(text, preview -> Platform.runLater(() -> {
+            // the user may have run the command, or typed something else, since
+            if (isFindCommand(getUserInput())) {
+                searchPreview.setText(preview.getMessage());
+                searchPreview.setVisible(true);
+            }
+        }));
+    }
+
+    private void hideSearchPreview() {
+        if (liveSearch != null) {
+            liveSearch.cancel();
+        }
+        searchPreview.setVisible(false);
+    }
+
+    private static boolean isFindCommand(String text) {
+        return text.startsWith(FIND_PREFIX) && !text.substring(FIND_PREFIX.length()).isBlank();
+    }
+
+    private void setNumberOfRunningCommands(int numberOfRunningCommands) {
+        this.numberOfRunningCommands = numberOfRunningCommands;
+        busyIndicator.setVisible(numberOfRunningCommands > 0);
+    }
+
+    /**
+     * Shows messages from Spark that were not a reply to anything the user typed,
+     * such as changes made to the save-file by other programs.
+     */
+    public void showCommandResponses(List<CommandResponse> responses) {
+        addCommandResponsesAsChatBubbles(responses);
     }
 
     private void addUserChatBubble(String message) {
@@ -91,6 +186,12 @@ public class MainWindow extends AnchorPane {
                 .add(SparkDialogBox.getDialog(message, sparkImage));
     }
 
+    private void addErrorChatBubble(String message) {
+        dialogContainer
+                .getChildren()
+                .add(SparkDialogBox.getErrorSparkDialog(message, sparkImage));
+    }
+
     private void addCommandResponseAsChatBubble(CommandResponse response) {
         if (response.isError()) {
             dialogContainer
@@ -113,15 +214,6 @@ public class MainWindow extends AnchorPane {
         }
     }
 
-    private boolean programShouldExit(List<CommandResponse> responses) {
-        for (CommandResponse r : responses) {
-            if (r.isExit()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private void waitBeforeExiting() {
         PauseTransition pauseTransition = new PauseTransition(Duration.seconds(3));
         pauseTransition.setOnFinished(event -> Platform.exit());
@@ -131,4 +223,64 @@ public class MainWindow extends AnchorPane {
     private String getUserInput() {
         return userInput.getText();
     }
+
+    private Image loadImageInBackground(String resource) {
+        return new Image(this.getClass().getResource(resource).toExternalForm(), true);
+    }
+
+    /**
+     * Adds the replies to a command to the dialog container one at a time, only asking for the
+     * next reply once the previous one is shown, so a long list shows its first Tasks straight
+     * away without the rest piling up on the JavaFX thread.
+     */
+    private class ChatBubbleSubscriber implements Flow.Subscriber<CommandResponse> {
+        private final Runnable onFinished;
+        private Flow.Subscription subscription;
+
+        ChatBubbleSubscriber(Runnable onFinished) {
+            this.onFinished = onFinished;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(CommandResponse response) {
+            Platform.runLater(() -> {
+                // print the response message as a chat-message sent by Spark
+                addCommandResponseAsChatBubble(response);
+
+                // close the program if the user has given a command
+                // for the program to exit
+                if (response.isExit()) {
+                    waitBeforeExiting();
+                }
+
+                subscription.request(1);
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Platform.runLater(() -> {
+                // a command superseded by a later one has nothing more to show
+                if (!(throwable instanceof CancellationException)) {
+                    addErrorChatBubble("Something went wrong while running that command:\n" + throwable.getMessage());
+                }
+
+                setNumberOfRunningCommands(numberOfRunningCommands - 1);
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            Platform.runLater(() -> {
+                setNumberOfRunningCommands(numberOfRunningCommands - 1);
+                onFinished.run();
+            });
+        }
+    }
 }
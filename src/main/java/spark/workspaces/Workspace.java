@@ -0,0 +1,181 @@
+package spark.workspaces;
+
+import java.io.IOException;
+
+import spark.exceptions.SparkException;
+import spark.exceptions.fileexceptions.FileException;
+import spark.storage.SaveFileChange;
+import spark.storage.SaveFileLock;
+import spark.storage.SaveFileWatcher;
+import spark.storage.Storage;
+import spark.storage.backends.TextFileBackend;
+import spark.tasks.TaskList;
+
+/**
+ * A named task list loaded into memory, together with the save-file it is stored in.
+ * <p>
+ * A text save-file can be shared with other programs, such as other copies of Spark, so
+ * the workspace keeps track of it: changes other programs save to it are merged into the
+ * task list before the task list is changed, while the save-file is locked, so they are
+ * never saved over.
+ */
+public class Workspace {
+    private final String name;
+    private final TaskList taskList;
+    private final Storage storage;
+    /**
+     * Merges changes made to the save-file by other programs into the task list, or null
+     * if the save-file is not a text save-file, or could not be read.
+     */
+    private final SaveFileWatcher saveFileWatcher;
+
+    /**
+     * Creates a workspace for a loaded task list, taking the save-file as it is now
+     * as already being in the task list.
+     *
+     * @param name     the name the user refers to the workspace by.
+     * @param taskList the Tasks in the workspace.
+     * @param storage  the save-file the Tasks are stored in, or null if it could not be opened.
+     */
+    public Workspace(String name, TaskList taskList, Storage storage) {
+        this.name = name;
+        this.taskList = taskList;
+        this.storage = storage;
+        this.saveFileWatcher = createSaveFileWatcher(storage);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Changes the task list while no other copy of Spark can write the save-file, after merging
+     * in any changes saved since it was last read, so the change is saved on top of them instead
+     * of over them. The lock is only held for as long as the change takes.
+     *
+     * @param change changes and saves the task list, given the changes merged in first.
+     * @throws SparkException if the save-file could not be locked or read from, or the change failed.
+     */
+    public void changeWithSaveFileLocked(LockedChange change) throws SparkException {
+        try (SaveFileLock lock = storage == null ? SaveFileLock.NONE : storage.lock()) {
+            SaveFileChange externalChange = mergeExternalChanges(lock);
+            change.apply(externalChange);
+
+            if (saveFileWatcher != null) {
+                saveFileWatcher.acknowledgeWrites();
+            }
+        }
+    }
+
+    /**
+     * Merges changes other programs have saved to the save-file into the task list, locking
+     * the save-file while they are read.
+     *
+     * @throws SparkException if the save-file could not be locked or read from.
+     */
+    public SaveFileChange mergeExternalChanges() throws SparkException {
+        if (saveFileWatcher == null) {
+            return SaveFileChange.NONE;
+        }
+
+        try (SaveFileLock lock = storage.lock()) {
+            return mergeExternalChanges(lock);
+        }
+    }
+
+    /**
+     * Starts watching the save-file for changes made by other programs, if it is a text save-file.
+     *
+     * @param onPossibleChange called on a background thread whenever the save-file might have changed.
+     * @return                 true if the save-file is being watched.
+     */
+    public boolean startWatching(Runnable onPossibleChange) {
+        if (saveFileWatcher == null || saveFileWatcher.isWatching()) {
+            return false;
+        }
+
+        try {
+            saveFileWatcher.start(onPossibleChange);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the save-file; changes are still merged before the task list is changed.
+     */
+    public void stopWatching() {
+        if (saveFileWatcher == null) {
+            return;
+        }
+
+        try {
+            saveFileWatcher.close();
+        } catch (IOException e) {
+            // the watcher only stops watching, and keeps merging changes either way
+        }
+    }
+
+    /**
+     * Stops watching the save-file, forces any changes still held in memory onto it, and releases it.
+     *
+     * @throws FileException if the save-file could not be written to.
+     */
+    public void close() throws FileException {
+        stopWatching();
+
+        if (storage != null) {
+            storage.close();
+        }
+    }
+
+    /**
+     * Merges changes other programs have saved into the task list while the lock is held, after
+     * which the task list has every change other copies of Spark have saved, so it can be saved over them.
+     */
+    private SaveFileChange mergeExternalChanges(SaveFileLock lock) throws SparkException {
+        if (saveFileWatcher == null) {
+            return SaveFileChange.NONE;
+        }
+
+        SaveFileChange change = saveFileWatcher.mergeExternalChanges(taskList);
+        ((TextFileBackend) storage.getBackend()).acknowledgeExternalChanges(lock);
+        return change;
+    }
+
+    private static SaveFileWatcher createSaveFileWatcher(Storage storage) {
+        if (storage == null || !(storage.getBackend() instanceof TextFileBackend)) {
+            return null;
+        }
+
+        try {
+            return new SaveFileWatcher(((TextFileBackend) storage.getBackend()).getFilePath());
+        } catch (SparkException e) {
+            // the save-file could not be read, so changes made to it by other programs cannot be merged
+            return null;
+        }
+    }
+
+    /**
+     * A change to the task list made while its save-file is locked.
+     */
+    @FunctionalInterface
+    public interface LockedChange {
+        /**
+         * Changes and saves the task list.
+         *
+         * @param externalChange the changes other programs saved, which were merged in just before.
+         * @throws SparkException if the task list could not be changed or saved.
+         */
+        void apply(SaveFileChange externalChange) throws SparkException;
+    }
+}
@@ -0,0 +1,269 @@
+package spark.workspaces;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.DoubleConsumer;
+import java.util.regex.Pattern;
+
+import spark.exceptions.fileexceptions.FileException;
+import spark.exceptions.fileexceptions.TaskDecodingException;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+
+/**
+ * Keeps track of the user's named task lists, each stored in its own save-file.
+ * <p>
+ * A workspace is only read from its save-file the first time it is used. Only the
+ * most recently used workspaces are kept in memory; once there are more than that,
+ * the least recently used one is flushed to its save-file and dropped, and is read
+ * again the next time it is used.
+ * <p>
+ * The default workspace is stored in the save-file Spark is started with, such as
+ * "spark_save_file.txt", and a workspace named "work" in "spark_save_file-work.txt";
+ * so every workspace uses the same save-file format.
+ * <p>
+ * Once watching has started, only the save-file of the workspace in use is watched for
+ * changes made by other programs; whenever another workspace is used, its save-file is
+ * watched instead.
+ */
+public class Workspaces {
+    /** The name of the workspace stored in the save-file Spark is started with. */
+    public static final String DEFAULT_NAME = "default";
+    /** The number of workspaces kept in memory by default. */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String NAME_SEPARATOR = "-";
+
+    private final Path defaultFilePath;
+    private final String fileNamePrefix;
+    private final String fileExtension;
+    private final int capacity;
+    /** The workspaces in memory, from the least to the most recently used. */
+    private final Map<String, Workspace> loadedWorkspaces = new LinkedHashMap<>(16, 0.75f, true);
+    private Workspace current;
+    /** Called whenever the save-file of the workspace in use might have changed, or null if it is not watched. */
+    private Runnable onPossibleChange;
+
+    /**
+     * Creates the user's workspaces, with the default workspace stored at the specified
+     * relative file-path; the default workspace is read from its save-file straight away.
+     *
+     * @param capacity the most workspaces kept in memory at once.
+     */
+    public Workspaces(String defaultFilePathString, int capacity) {
+        this(defaultFilePathString, capacity, progress -> { });
+    }
+
+    /**
+     * Creates the user's workspaces, with the default workspace stored at the specified
+     * relative file-path; the default workspace is read from its save-file straight away,
+     * reporting how far through the save-file it has got along the way.
+     *
+     * @param capacity          the most workspaces kept in memory at once.
+     * @param onDefaultProgress receives the fraction of the default save-file read so far, from 0 to 1.
+     */
+    public Workspaces(String defaultFilePathString, int capacity, DoubleConsumer onDefaultProgress) {
+        this.defaultFilePath = Paths.get(defaultFilePathString);
+        this.capacity = Math.max(1, capacity);
+
+        String fileName = defaultFilePath.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        this.fileNamePrefix = (dot < 0 ? fileName : fileName.substring(0, dot)) + NAME_SEPARATOR;
+        this.fileExtension = dot < 0 ? "" : fileName.substring(dot);
+
+        this.current = openDefault(onDefaultProgress);
+        loadedWorkspaces.put(DEFAULT_NAME, current);
+    }
+
+    /**
+     * Returns true if the name can be used as the name of a workspace.
+     */
+    public static boolean isValidName(String name) {
+        return VALID_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Returns the workspace that commands act on.
+     */
+    public Workspace getCurrent() {
+        return current;
+    }
+
+    /**
+     * Makes the named workspace the one that commands act on, reading it from its
+     * save-file if it is not in memory, and creating it if it does not exist yet.
+     *
+     * @throws TaskDecodingException if the save-file of the workspace could not be decoded.
+     * @throws FileException         if the save-file could not be read from, in which case the
+     *                               current workspace is kept; or if the least recently used workspace
+     *                               could not be flushed to its save-file, in which case the named
+     *                               workspace is still made current.
+     */
+    public Workspace use(String name) throws TaskDecodingException, FileException {
+        Workspace workspace = loadedWorkspaces.get(name);
+
+        if (workspace == null) {
+            workspace = load(name);
+            loadedWorkspaces.put(name, workspace);
+        }
+
+        if (workspace != current && onPossibleChange != null) {
+            current.stopWatching();
+            workspace.startWatching(onPossibleChange);
+        }
+
+        current = workspace;
+        evictLeastRecentlyUsed();
+
+        return workspace;
+    }
+
+    /**
+     * Returns the names of every workspace, whether or not it is in memory, in alphabetical order.
+     */
+    public List<String> getNames() {
+        TreeSet<String> names = new TreeSet<>(loadedWorkspaces.keySet());
+        names.add(DEFAULT_NAME);
+
+        Path folder = defaultFilePath.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, fileNamePrefix + "*" + fileExtension)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(fileNamePrefix.length(), fileName.length() - fileExtension.length());
+
+                if (isValidName(name)) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            // only list the workspaces in memory
+        }
+
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Returns the workspaces in memory, from the least to the most recently used,
+     * without counting this as using them.
+     */
+    public Collection<Workspace> getLoadedWorkspaces() {
+        return Collections.unmodifiableCollection(loadedWorkspaces.values());
+    }
+
+    /**
+     * Starts watching the save-file of the workspace in use, and of each workspace used after it,
+     * for changes made by other programs.
+     *
+     * @param onPossibleChange called on a background thread whenever the save-file of the
+     *                         workspace in use might have changed.
+     * @return                 true if the save-file of the workspace in use is being watched.
+     */
+    public boolean watchCurrent(Runnable onPossibleChange) {
+        this.onPossibleChange = onPossibleChange;
+        return current.startWatching(onPossibleChange);
+    }
+
+    /**
+     * Stops watching the save-file of the workspace in use, and of any workspace used after it.
+     */
+    public void stopWatching() {
+        onPossibleChange = null;
+        current.stopWatching();
+    }
+
+    /**
+     * Flushes every workspace in memory to its save-file.
+     *
+     * @throws FileException if any save-file could not be written to.
+     */
+    public void closeAll() throws FileException {
+        FileException failure = null;
+
+        for (Workspace workspace : loadedWorkspaces.values()) {
+            try {
+                workspace.close();
+            } catch (FileException e) {
+                failure = e;
+            }
+        }
+        loadedWorkspaces.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void evictLeastRecentlyUsed() throws FileException {
+        FileException failure = null;
+        Iterator<Workspace> leastRecentlyUsed = loadedWorkspaces.values().iterator();
+
+        while (loadedWorkspaces.size() > capacity && leastRecentlyUsed.hasNext()) {
+            Workspace workspace = leastRecentlyUsed.next();
+
+            if (workspace != current) {
+                leastRecentlyUsed.remove();
+                try {
+                    workspace.close();
+                } catch (FileException e) {
+                    failure = e;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Workspace load(String name) throws TaskDecodingException, FileException {
+        Storage storage = new Storage(getFilePath(name).toString());
+
+        try {
+            return new Workspace(name, new TaskList(storage.readTasksFile()), storage);
+        } catch (TaskDecodingException | FileException e) {
+            closeQuietly(storage);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Storage storage) {
+        try {
+            storage.close();
+        } catch (FileException e) {
+            // the save-file could not be read, so there is nothing to flush
+        }
+    }
+
+    /**
+     * Reads the default workspace, starting with an empty task list if its save-file
+     * could not be read, as Spark has always done.
+     */
+    private Workspace openDefault(DoubleConsumer onProgress) {
+        Storage storage = null;
+
+        try {
+            storage = new Storage(defaultFilePath.toString());
+            return new Workspace(DEFAULT_NAME, new TaskList(storage.readTasksFile(onProgress)), storage);
+        } catch (FileException | TaskDecodingException e) {
+            return new Workspace(DEFAULT_NAME, new TaskList(), storage);
+        }
+    }
+
+    private Path getFilePath(String name) {
+        return name.equals(DEFAULT_NAME)
+                ? defaultFilePath
+                : defaultFilePath.resolveSibling(fileNamePrefix + name + fileExtension);
+    }
+}
@@ -0,0 +1,194 @@
+package spark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+import spark.commandresponse.CommandResponse;
+
+public class CommandExecutorTest {
+    @Test
+    public void submit_readOnlyCommandsQueuedBehindSlowCommand_runsOnlyTheLatestInOrder()
+            throws IOException, ExecutionException, InterruptedException {
+        // a unit test for CommandExecutor#submit
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        CommandExecutor commandExecutor = new CommandExecutor(spark);
+        CompletableFuture<List<CommandResponse>> firstList;
+        CompletableFuture<List<CommandResponse>> secondList;
+
+        // commands cannot run while the test holds the lock on Spark, so none of them start
+        synchronized (spark) {
+            commandExecutor.submit("todo buy milk");
+            firstList = commandExecutor.submit("list");
+            commandExecutor.submit("todo buy bread");
+            secondList = commandExecutor.submit("list");
+        }
+
+        assertEquals("Here are your tasks:\n1. [T][] buy milk\n2. [T][] buy bread\n",
+                secondList.get().get(0).getMessage());
+        assertTrue(firstList.isCancelled());
+
+        commandExecutor.close();
+        spark.close();
+    }
+
+    @Test
+    public void stream_subscriberCancelsAfterFirstResponse_stopsAfterFirstChunk()
+            throws IOException, ExecutionException, InterruptedException {
+        // a unit test for CommandExecutor#stream
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        CommandExecutor commandExecutor = new CommandExecutor(spark);
+
+        for (int i = 1; i <= 250; i++) {
+            commandExecutor.submit("todo task " + i);
+        }
+        String fullList = commandExecutor.submit("list").get().get(0).getMessage();
+
+        List<String> allChunks = new ArrayList<>();
+        CompletableFuture<Void> allStreamed = new CompletableFuture<>();
+        commandExecutor.stream("list", new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(CommandResponse response) {
+                allChunks.add(response.getMessage());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                allStreamed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                allStreamed.complete(null);
+            }
+        });
+        allStreamed.get();
+
+        List<String> firstChunks = new ArrayList<>();
+        commandExecutor.stream("list", new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(CommandResponse response) {
+                firstChunks.add(response.getMessage());
+                subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        // the executor only runs this once the cancelled stream has let go of it
+        commandExecutor.submit("todo one more").get();
+
+        assertEquals(3, allChunks.size());
+        assertEquals(fullList, String.join("", allChunks));
+        assertEquals(List.of(allChunks.get(0)), firstChunks);
+
+        commandExecutor.close();
+        spark.close();
+    }
+
+    @Test
+    public void submit_commandsGivenWhileSparkLoads_runOnceLoaded()
+            throws IOException, ExecutionException, InterruptedException {
+        // a unit test for CommandExecutor#CommandExecutor(Supplier)
+        Path folder = Files.createTempDirectory("spark");
+        CountDownLatch finishLoading = new CountDownLatch(1);
+        CommandExecutor commandExecutor = new CommandExecutor(() -> {
+            try {
+                finishLoading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Spark(folder.resolve("save.txt").toString());
+        });
+
+        commandExecutor.submit("todo buy milk");
+        CompletableFuture<List<CommandResponse>> list = commandExecutor.submit("list");
+        assertTrue(!commandExecutor.getSpark().isDone() && !list.isDone());
+
+        finishLoading.countDown();
+
+        assertEquals("Here are your tasks:\n1. [T][] buy milk\n", list.get().get(0).getMessage());
+
+        commandExecutor.close();
+        commandExecutor.getSpark().get().close();
+    }
+
+    @Test
+    public void streamWithoutSuperseding_readOnlyCommandGivenAfter_stillStreams()
+            throws IOException, ExecutionException, InterruptedException {
+        // a unit test for CommandExecutor#streamWithoutSuperseding
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        CommandExecutor commandExecutor = new CommandExecutor(spark);
+        commandExecutor.submit("todo buy milk").get();
+        CompletableFuture<String> initialList = new CompletableFuture<>();
+        CompletableFuture<List<CommandResponse>> find;
+
+        // commands cannot run while the test holds the lock on Spark, so none of them start
+        synchronized (spark) {
+            commandExecutor.streamWithoutSuperseding("list", new Flow.Subscriber<>() {
+                private final StringBuilder messages = new StringBuilder();
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(CommandResponse response) {
+                    messages.append(response.getMessage());
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    initialList.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    initialList.complete(messages.toString());
+                }
+            });
+            find = commandExecutor.submit("find milk");
+        }
+
+        assertEquals("Here are your tasks:\n1. [T][] buy milk\n", initialList.get());
+        assertFalse(find.isCancelled());
+        assertTrue(find.get().get(0).getMessage().contains("buy milk"));
+
+        commandExecutor.close();
+        spark.close();
+    }
+}
@@ -0,0 +1,36 @@
+package spark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+public class LiveSearchTest {
+    @Test
+    public void search_severalKeystrokesInQuickSuccession_onlyShowsLatestResults()
+            throws IOException, InterruptedException {
+        // a unit test for LiveSearch#search
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        spark.executeCommand("todo buy milk");
+        spark.executeCommand("todo buy milkshake");
+        spark.executeCommand("todo mow lawn");
+        LiveSearch liveSearch = new LiveSearch(() -> spark, 100, 1);
+        List<String> previews = new CopyOnWriteArrayList<>();
+
+        liveSearch.search("find m", preview -> previews.add(preview.getMessage()));
+        liveSearch.search("find mi", preview -> previews.add(preview.getMessage()));
+        liveSearch.search("find mil", preview -> previews.add(preview.getMessage()));
+        Thread.sleep(500);
+
+        assertEquals(List.of("2 matching tasks so far:\n   [T][] buy milk\n   ...and 1 more"), previews);
+
+        liveSearch.close();
+        spark.close();
+    }
+}
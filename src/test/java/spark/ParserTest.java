@@ -8,12 +8,16 @@ import org.junit.jupiter.api.Test;
 
 import spark.exceptions.SparkException;
 import spark.exceptions.formatexceptions.InvalidDeadlineParamsException;
+import spark.exceptions.formatexceptions.InvalidDeleteParamsException;
+import spark.exceptions.formatexceptions.InvalidFindParamsException;
+import spark.exceptions.formatexceptions.InvalidListParamsException;
 import spark.exceptions.formatexceptions.InvalidMarkParamsException;
 import spark.exceptions.formatexceptions.InvalidTodoParamsException;
 import spark.parser.Parser;
 import spark.parser.commands.commandtypes.AddDeadlineCommand;
 import spark.parser.commands.commandtypes.AddTodoCommand;
 import spark.parser.commands.commandtypes.Command;
+import spark.parser.commands.commandtypes.FindTaskCommand;
 import spark.parser.commands.commandtypes.MarkCommand;
 
 public class ParserTest {
@@ -80,4 +84,56 @@ public class ParserTest {
         String input = "mark"; // missing task index
         assertThrows(InvalidMarkParamsException.class, () -> Parser.parseInput(input));
     }
+
+    @Test
+    public void parseInput_inputValidFindQuery_returnsFindTaskCommand() {
+        // a unit test for Parser#parseInput
+        String input = "find type:deadline done:false before:3-1-2022 \"clean room\" OR milk";
+        try {
+            Command command = Parser.parseInput(input);
+            assertTrue(command instanceof FindTaskCommand);
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseInput_inputFindQueryInvalidDate_throwsException() {
+        // a unit test for Parser#parseInput
+        String input = "find type:deadline before:yesterday"; // date is not in M-D-YYYY format
+        assertThrows(InvalidFindParamsException.class, () -> Parser.parseInput(input));
+    }
+
+    @Test
+    public void parseInput_inputMarkTaskRanges_returnsMarkCommand() {
+        // a unit test for Parser#parseInput
+        String input = "mark 1-500,9";
+        try {
+            Command command = Parser.parseInput(input);
+            assertTrue(command instanceof MarkCommand);
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseInput_inputDeleteTaskBackwardsRange_throwsException() {
+        // a unit test for Parser#parseInput
+        String input = "delete 5-2"; // range ends before it starts
+        assertThrows(InvalidDeleteParamsException.class, () -> Parser.parseInput(input));
+    }
+
+    @Test
+    public void parseInput_inputDeadlineUnknownRecurrence_throwsException() {
+        // a unit test for Parser#parseInput
+        String input = "deadline standup /by 3-1-2022 0900 /every fortnight"; // not a known recurrence
+        assertThrows(InvalidDeadlineParamsException.class, () -> Parser.parseInput(input));
+    }
+
+    @Test
+    public void parseInput_inputListUnknownOrder_throwsException() {
+        // a unit test for Parser#parseInput
+        String input = "list pending sort:size"; // tasks cannot be sorted by size
+        assertThrows(InvalidListParamsException.class, () -> Parser.parseInput(input));
+    }
 }
@@ -0,0 +1,118 @@
+package spark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+import spark.commandresponse.CommandResponse;
+import spark.exceptions.SparkException;
+import spark.exceptions.fileexceptions.SaveFileConflictException;
+import spark.storage.Storage;
+
+public class SparkTest {
+    @Test
+    public void executeCommand_twoCopiesShareSaveFile_keepsChangesFromBoth() throws IOException, SparkException {
+        // a unit test for Spark#executeCommand with a save-file shared by several copies of Spark
+        Path folder = Files.createTempDirectory("spark");
+        String filePath = folder.resolve("save.txt").toString();
+        Spark first = new Spark(filePath);
+        Spark second = new Spark(filePath);
+
+        first.executeCommand("todo buy milk");
+        second.executeCommand("todo walk dog");
+        first.executeCommand("mark 2");
+        second.executeCommand("delete 1");
+
+        Spark reloaded = new Spark(filePath);
+        assertEquals("Here are your tasks:\n1. [T][X] walk dog\n",
+                reloaded.executeCommand("list").get(0).getMessage());
+
+        Storage stale = new Storage(filePath);
+        stale.readTasksFile();
+        first.executeCommand("todo read book");
+        assertThrows(SaveFileConflictException.class, () -> stale.writeTasksFile(""));
+
+        first.close();
+        second.close();
+        reloaded.close();
+    }
+
+    @Test
+    public void streamCommand_fuzzyFind_matchesExecuteCommand() throws IOException {
+        // a unit test for Spark#streamCommand
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        spark.executeCommand("todo buy mikk");
+        spark.executeCommand("todo buy milk");
+        spark.executeCommand("todo mxlky");
+
+        String executed = spark.executeCommand("find ~milk").get(0).getMessage();
+        StringBuilder streamed = new StringBuilder();
+        spark.streamCommand("find ~milk").subscribe(new Flow.Subscriber<CommandResponse>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(CommandResponse response) {
+                streamed.append(response.getMessage());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                streamed.append(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                // every response has already been appended
+            }
+        });
+
+        assertTrue(executed.indexOf("buy milk") < executed.indexOf("buy mikk")); // closest match first
+        assertEquals(executed, streamed.toString());
+        spark.close();
+    }
+
+    @Test
+    public void executeCommand_fuzzyFindWithAnotherField_keepsTaskListOrder() throws IOException {
+        // a unit test for FuzzyTitleQuery#findCandidates inside an AndQuery
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        spark.executeCommand("todo milky way");
+        spark.executeCommand("todo buy mikk");
+        spark.executeCommand("todo buy milk");
+
+        String found = spark.executeCommand("find ~milk type:todo").get(0).getMessage();
+
+        assertEquals("Okay, I've found these tasks: " + System.lineSeparator()
+                + "    [T][] milky way" + System.lineSeparator()
+                + "    [T][] buy mikk" + System.lineSeparator()
+                + "    [T][] buy milk" + System.lineSeparator(), found);
+        spark.close();
+    }
+
+    @Test
+    public void executeCommand_markByFuzzyQuery_marksTasksFindShows() throws IOException {
+        // a unit test for TaskSelection#resolve with a find query
+        Path folder = Files.createTempDirectory("spark");
+        Spark spark = new Spark(folder.resolve("save.txt").toString());
+        spark.executeCommand("todo milky way");
+        spark.executeCommand("todo mxlky");
+        spark.executeCommand("todo buy milk");
+
+        spark.executeCommand("mark find:~milk");
+
+        assertEquals("Here are your tasks:\n1. [T][X] milky way\n2. [T][] mxlky\n3. [T][X] buy milk\n",
+                spark.executeCommand("list").get(0).getMessage());
+        spark.close();
+    }
+}
@@ -0,0 +1,68 @@
+package spark.reminders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Task;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2022, 2, 22, 18, 0);
+
+    private long currentTime = EpochMinutes.of(START);
+
+    @Test
+    public void pollDueReminders_clockPassesLeadTime_remindsOnceOfIncompleteTasks() {
+        // a unit test for ReminderScheduler#pollDueReminders
+        ReminderScheduler scheduler = new ReminderScheduler(60, () -> currentTime);
+        TaskList taskList = new TaskList();
+        scheduler.watch(taskList);
+
+        try {
+            taskList.addDeadline("do homework", START.plusDays(3));
+            taskList.addEvent("birthday party", START.plusDays(3));
+            taskList.addDeadline("return book", START.plusDays(3));
+            taskList.markTask(2);
+            taskList.deleteTask(3);
+
+            currentTime += 3 * 24 * 60 - 61;
+            assertTrue(scheduler.pollDueReminders().isEmpty());
+
+            currentTime += 1;
+            List<Task> dueTasks = scheduler.pollDueReminders();
+            assertEquals(1, dueTasks.size());
+            assertEquals("do homework", dueTasks.get(0).getTitle());
+
+            currentTime += 30;
+            assertTrue(scheduler.pollDueReminders().isEmpty());
+            assertEquals(0, scheduler.getNumberOfPendingReminders());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void advance_itemsYearsApart_expireInOrderAtTheirMinute() {
+        // a unit test for TimingWheel#advance
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        long[] expiryTimes = { 1, 63, 64, 65, 4095, 4096, 300_000, 20_000_000, 40_000_000 };
+        for (long expiryTime : expiryTimes) {
+            wheel.add(expiryTime, expiryTime);
+        }
+        wheel.remove(wheel.add(-1L, 100));
+
+        for (long expiryTime : expiryTimes) {
+            wheel.advance(expiryTime - 1, item -> fail("expired early: " + item));
+            wheel.advance(expiryTime, item -> assertEquals(expiryTime, (long) item));
+        }
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,47 @@
+package spark.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+import spark.tasks.TaskList;
+
+public class SaveFileWatcherTest {
+    @Test
+    public void mergeExternalChanges_linesAppendedThenChanged_updatesTaskList() throws IOException, SparkException {
+        // a unit test for SaveFileWatcher#mergeExternalChanges
+        Path filePath = Files.createTempFile("spark", ".txt");
+        TaskList tasks = new TaskList();
+        tasks.addTodo("buy milk");
+        tasks.addTodo("read book");
+        Files.writeString(filePath, tasks.encodeTasks());
+        SaveFileWatcher watcher = new SaveFileWatcher(filePath);
+
+        Files.writeString(filePath, "T @@@ false @@@ walk dog\nT @@@ true @@@ wash ca", StandardOpenOption.APPEND);
+        SaveFileChange appended = watcher.mergeExternalChanges(tasks);
+
+        assertTrue(appended.isAppend());
+        assertEquals(1, appended.getNumberOfTasksAdded()); // the unfinished line is left for later
+        assertEquals(3, tasks.getNumberOfTasks());
+
+        Files.writeString(filePath, "T @@@ true @@@ buy milk\nT @@@ true @@@ read book\nT @@@ false @@@ walk dog\n"
+                + "T @@@ true @@@ wash car\n");
+        SaveFileChange changed = watcher.mergeExternalChanges(tasks);
+
+        assertFalse(changed.isAppend());
+        assertEquals(4, changed.getNumberOfTasksAdded());
+        assertEquals(3, changed.getNumberOfTasksRemoved());
+        assertEquals(3, tasks.getNumberOfDoneTasks());
+        assertEquals(Files.readString(filePath), tasks.encodeTasks().replace(System.lineSeparator(), "\n"));
+        assertFalse(watcher.mergeExternalChanges(tasks).hasChanges());
+        Files.delete(filePath);
+    }
+}
@@ -0,0 +1,137 @@
+package spark.storage.backends;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Recurrence;
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
+
+public class BTreeBackendTest {
+    @Test
+    public void readTasksFile_afterIncrementalWrites_returnsTasksInListOrder() throws IOException, SparkException {
+        // a unit test for BTreeBackend#writeAddedTask, #writeModifiedTask and #writeDeletedTask
+        Path filePath = Files.createTempFile("spark", BTreeBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+
+        tasks.addTodo("buy milk");
+        storage.writeAddedTask(tasks);
+        tasks.addTodo("clean room " + "x".repeat(10000)); // stored in overflow pages
+        storage.writeAddedTask(tasks);
+        tasks.addTodo("read book");
+        storage.writeAddedTask(tasks);
+        tasks.markTask(3);
+        storage.writeModifiedTask(tasks, 3);
+        tasks.deleteTask(1);
+        storage.writeDeletedTask(tasks, 1);
+        storage.close();
+
+        List<Task> reloaded = new Storage(filePath.toString()).readTasksFile();
+
+        assertEquals(2, reloaded.size());
+        assertEquals("clean room " + "x".repeat(10000), reloaded.get(0).getTitle());
+        assertEquals("read book", reloaded.get(1).getTitle());
+        assertTrue(reloaded.get(1).isDone());
+
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void readTasksFile_afterSplitsAndMerges_returnsRemainingTasks() throws IOException, SparkException {
+        // a unit test for BTreeBackend#writeAddedTasks, #writeModifiedTasks and #writeDeletedTasks
+        Path filePath = Files.createTempFile("spark", BTreeBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+
+        for (int i = 1; i <= 2000; i++) { // splits the root node more than once
+            tasks.addTodo("task " + i + " " + "x".repeat(i % 1500));
+        }
+        storage.writeAddedTasks(tasks, 2000);
+        storage.close();
+        long fullSize = Files.size(filePath);
+
+        storage = new Storage(filePath.toString());
+        tasks = new TaskList(storage.readTasksFile());
+        int[] deleted = new int[1990];
+        for (int i = 0; i < deleted.length; i++) {
+            deleted[i] = i + 1;
+        }
+        tasks.deleteTasks(deleted);
+        storage.writeDeletedTasks(tasks, deleted); // merges nodes and frees their pages
+        int[] marked = { 2, 4 };
+        tasks.markTasks(marked);
+        storage.writeModifiedTasks(tasks, marked);
+        for (int i = 1; i <= 1990; i++) {
+            tasks.addTodo("again " + i + " " + "x".repeat(i % 1500));
+        }
+        storage.writeAddedTasks(tasks, 1990); // reuses the freed pages
+        storage.close();
+
+        List<Task> reloaded = new Storage(filePath.toString()).readTasksFile();
+
+        assertEquals(2000, reloaded.size());
+        assertTrue(reloaded.get(0).getTitle().startsWith("task 1991 "));
+        assertFalse(reloaded.get(0).isDone());
+        assertTrue(reloaded.get(1).getTitle().startsWith("task 1992 "));
+        assertTrue(reloaded.get(1).isDone());
+        assertTrue(reloaded.get(3).isDone());
+        assertTrue(reloaded.get(1999).getTitle().startsWith("again 1990 "));
+        assertTrue(Files.size(filePath) <= fullSize * 11 / 10);
+
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void findTasks_afterMarkingRecurringAndDeleting_usesUpToDateIndexes() throws IOException, SparkException {
+        // a unit test for BTreeBackend#findTasksByTitlePrefix and #findTasksBetween
+        Path filePath = Files.createTempFile("spark", BTreeBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+        tasks.addDeadline("buy milk", monday);
+        tasks.addRecurringTask(TaskType.EVENT, "buy bread", monday.plusDays(1), Recurrence.WEEK);
+        tasks.addTodo("read book");
+        tasks.addDeadline("buy eggs", monday.plusDays(2));
+        storage.writeAddedTasks(tasks, 4);
+        tasks.markTask(2); // moves the recurring event on to the next week
+        storage.writeModifiedTask(tasks, 2);
+        tasks.deleteTask(4);
+        storage.writeDeletedTask(tasks, 4);
+        storage.close();
+
+        BTreeBackend backend = new BTreeBackend(filePath.toString());
+        List<Task> buying = backend.findTasksByTitlePrefix("buy ");
+        List<Task> thisWeek = backend.findTasksBetween(monday, monday.plusDays(7));
+        List<Task> nextWeek = backend.findTasksBetween(monday.plusDays(7), monday.plusDays(14));
+        backend.close();
+
+        assertEquals(2, buying.size());
+        assertEquals("buy bread", buying.get(0).getTitle());
+        assertEquals("buy milk", buying.get(1).getTitle());
+        assertEquals(1, thisWeek.size());
+        assertEquals("buy milk", thisWeek.get(0).getTitle());
+        assertEquals(1, nextWeek.size());
+        assertEquals("buy bread", nextWeek.get(0).getTitle());
+
+        Files.delete(filePath);
+    }
+}
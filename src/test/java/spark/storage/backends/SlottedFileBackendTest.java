@@ -0,0 +1,153 @@
+package spark.storage.backends;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+public class SlottedFileBackendTest {
+    private static final int SLOT_SIZE = 128;
+
+    @Test
+    public void readTasksFile_afterIncrementalWrites_returnsTasksInListOrder() throws IOException, SparkException {
+        // a unit test for SlottedFileBackend#writeAddedTask, #writeModifiedTask and #writeDeletedTask
+        Path filePath = Files.createTempFile("spark", SlottedFileBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+
+        tasks.addTodo("buy milk");
+        storage.writeAddedTask(tasks);
+        tasks.addTodo("clean room " + "x".repeat(300)); // spans several slots
+        storage.writeAddedTask(tasks);
+        tasks.addTodo("read book");
+        storage.writeAddedTask(tasks);
+        tasks.markTask(3);
+        storage.writeModifiedTask(tasks, 3);
+        tasks.deleteTask(1);
+        storage.writeDeletedTask(tasks, 1);
+        tasks.addTodo("walk dog"); // reuses the slot freed by "buy milk"
+        storage.writeAddedTask(tasks);
+
+        List<Task> reloaded = new Storage(filePath.toString()).readTasksFile();
+
+        assertEquals(3, reloaded.size());
+        assertTrue(reloaded.get(0).getTitle().startsWith("clean room"));
+        assertEquals("read book", reloaded.get(1).getTitle());
+        assertTrue(reloaded.get(1).isDone());
+        assertEquals("walk dog", reloaded.get(2).getTitle());
+        assertFalse(reloaded.get(2).isDone());
+
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void readTasksFile_afterBulkWrites_returnsRemainingTasks() throws IOException, SparkException {
+        // a unit test for SlottedFileBackend#writeModifiedTasks and #writeDeletedTasks
+        Path filePath = Files.createTempFile("spark", SlottedFileBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+
+        for (int i = 1; i <= 6; i++) {
+            tasks.addTodo("task " + i);
+            storage.writeAddedTask(tasks);
+        }
+        int[] marked = { 2, 4, 5 };
+        tasks.markTasks(marked);
+        storage.writeModifiedTasks(tasks, marked);
+        int[] deleted = { 1, 4 };
+        tasks.deleteTasks(deleted);
+        storage.writeDeletedTasks(tasks, deleted);
+
+        List<Task> reloaded = new Storage(filePath.toString()).readTasksFile();
+
+        assertEquals(4, reloaded.size());
+        assertEquals("task 2", reloaded.get(0).getTitle());
+        assertTrue(reloaded.get(0).isDone());
+        assertEquals("task 5", reloaded.get(2).getTitle());
+        assertTrue(reloaded.get(2).isDone());
+        assertFalse(reloaded.get(3).isDone());
+
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void readTasksFile_recordLeftBehindByCrashDuringMove_keepsOneCopy() throws IOException, SparkException {
+        // a unit test for SlottedFileBackend#readTasks
+        Path filePath = Files.createTempFile("spark", SlottedFileBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+        tasks.addTodo("buy milk");
+        storage.writeAddedTask(tasks);
+        tasks.addTodo("read book");
+        storage.writeAddedTask(tasks);
+        storage.close();
+
+        // copy the record of "buy milk" after the last slot, as a rewrite that stopped before tombstoning does
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOfRange(bytes, SLOT_SIZE, 2 * SLOT_SIZE), StandardOpenOption.APPEND);
+
+        storage = new Storage(filePath.toString());
+        assertEquals(2, storage.readTasksFile().size());
+        storage.close();
+        List<Task> reloaded = new Storage(filePath.toString()).readTasksFile();
+
+        assertEquals(2, reloaded.size());
+        assertEquals("buy milk", reloaded.get(0).getTitle());
+        assertEquals("read book", reloaded.get(1).getTitle());
+
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void readTasksFile_compactedWithRecordOfManySlots_keepsRecord() throws IOException, SparkException {
+        // a unit test for SlottedFileBackend#compact
+        Path filePath = Files.createTempFile("spark", SlottedFileBackend.FILE_EXTENSION);
+        Files.delete(filePath);
+        String longTitle = "x".repeat(40000 * SLOT_SIZE); // more slots than a signed short can count
+
+        Storage storage = new Storage(filePath.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+        tasks.addTodo(longTitle);
+        storage.writeAddedTask(tasks);
+        int[] deleted = new int[100];
+        for (int i = 0; i < deleted.length; i++) {
+            tasks.addTodo("task " + i);
+            storage.writeAddedTask(tasks);
+            deleted[i] = i + 2;
+        }
+        tasks.deleteTasks(deleted);
+        storage.writeDeletedTasks(tasks, deleted); // schedules compaction
+        tasks.addTodo("read book");
+        storage.writeAddedTask(tasks);
+        storage.close(); // waits for compaction to finish
+        long compactedSize = Files.size(filePath);
+
+        List<Task> reloaded = new Storage(filePath.toString()).readTasksFile();
+
+        assertEquals(2, reloaded.size());
+        assertEquals(longTitle, reloaded.get(0).getTitle());
+        assertEquals("read book", reloaded.get(1).getTitle());
+        assertTrue(compactedSize < (40000 + 100) * SLOT_SIZE);
+
+        Files.delete(filePath);
+    }
+}
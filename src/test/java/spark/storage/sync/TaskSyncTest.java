@@ -0,0 +1,51 @@
+package spark.storage.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+import spark.storage.Storage;
+import spark.tasks.TaskList;
+import spark.tasks.tasktypes.Task;
+
+public class TaskSyncTest {
+    @Test
+    public void sync_bothSidesChanged_bothEndUpWithSameTasks() throws IOException, SparkException {
+        // a unit test for TaskSync#sync
+        Path folder = Files.createTempDirectory("spark");
+        Path ourFile = folder.resolve("ours.txt");
+        Path theirFile = folder.resolve("theirs.txt");
+        Files.writeString(ourFile, "T @@@ false @@@ buy milk\nD @@@ false @@@ submit report @@@ 2-22-2022 1800\n"
+                + "E @@@ false @@@ attend party @@@ 2-25-2022 1900\n");
+        Files.writeString(theirFile, "T @@@ true @@@ buy milk\nT @@@ false @@@ walk dog\n"
+                + "D @@@ false @@@ submit report @@@ 2-22-2022 1800\n");
+        Storage storage = new Storage(ourFile.toString());
+        TaskList tasks = new TaskList(storage.readTasksFile());
+
+        SyncReport report = TaskSync.sync(tasks, storage, theirFile.toString());
+
+        assertEquals(1, report.getNumberOfTasksAddedHere());
+        assertEquals(1, report.getNumberOfTasksUpdatedHere());
+        assertEquals(1, report.getNumberOfTasksAddedThere());
+        assertEquals(0, report.getNumberOfTasksUpdatedThere());
+        assertEquals("T @@@ true @@@ buy milk", tasks.getTask(1).encodeTask());
+
+        List<String> ourTasks = readSortedTasks(ourFile);
+        assertEquals(4, ourTasks.size());
+        assertEquals(ourTasks, readSortedTasks(theirFile));
+        assertTrue(TaskSync.sync(tasks, storage, theirFile.toString()).isAlreadyInSync());
+    }
+
+    private static List<String> readSortedTasks(Path filePath) throws SparkException {
+        return new Storage(filePath.toString()).readTasksFile().stream()
+                .map(Task::encodeTask).sorted().collect(Collectors.toList());
+    }
+}
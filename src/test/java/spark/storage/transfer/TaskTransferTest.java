@@ -0,0 +1,58 @@
+package spark.storage.transfer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+import spark.tasks.TaskList;
+
+public class TaskTransferTest {
+    @Test
+    public void importTasks_exportedInEachFormat_returnsSameTasks() throws IOException, SparkException {
+        // a unit test for TaskTransfer#exportTasks and #importTasks
+        TaskList tasks = new TaskList();
+        tasks.addTodo("buy \"oat\" milk, eggs");
+        tasks.addDeadline("return book", LocalDateTime.of(2022, 2, 22, 18, 0));
+        tasks.addEvent("birthday party", LocalDateTime.of(2022, 3, 1, 0, 0));
+        tasks.markTask(2);
+
+        for (TransferFormat format : TransferFormat.values()) {
+            Path filePath = Files.createTempFile("spark", "." + format.getName());
+            TaskList imported = new TaskList();
+
+            assertEquals(3, TaskTransfer.exportTasks(tasks, filePath, format));
+            ImportReport report = TaskTransfer.importTasks(filePath, null, imported);
+
+            assertEquals(format, report.getFormat());
+            assertEquals(3, report.getNumberOfTasks());
+            assertEquals(tasks.encodeTasks(), imported.encodeTasks());
+            Files.delete(filePath);
+        }
+    }
+
+    @Test
+    public void importTasks_invalidRecords_skipsThemAndReportsFirstLine() throws IOException {
+        // a unit test for TaskTransfer#importTasks
+        Path filePath = Files.createTempFile("spark", ".csv");
+        Files.writeString(filePath, "type,done,title,date\n"
+                + "todo,false,buy milk,\n"
+                + "deadline,false,return book,not a date\n"
+                + "event,maybe,party,2022-03-01T00:00\n"
+                + "event,true,party,2022-03-01T00:00\n");
+        TaskList imported = new TaskList();
+
+        ImportReport report = TaskTransfer.importTasks(filePath, TransferFormat.CSV, imported);
+
+        assertEquals(2, report.getNumberOfTasks());
+        assertEquals(2, report.getNumberOfSkippedRecords());
+        assertEquals(3, report.getFirstSkippedLine());
+        assertEquals(2, imported.getNumberOfTasks());
+        Files.delete(filePath);
+    }
+}
@@ -1,18 +1,38 @@
 package spark.tasks;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import spark.commandresponse.CommandResponse;
 import spark.exceptions.SparkException;
 import spark.exceptions.taskmodificationexceptions.TaskNotFoundException;
+import spark.parser.Parser;
+import spark.parser.commands.commandtypes.Command;
+import spark.parser.query.DateQuery;
+import spark.storage.TaskDecoder;
+import spark.tasks.arena.DirectTitleArena;
+import spark.tasks.arena.HeapTitleArena;
+import spark.tasks.arena.TitleArena;
+import spark.tasks.tasktypes.EpochMinutes;
+import spark.tasks.tasktypes.Recurrence;
+import spark.tasks.tasktypes.Task;
+import spark.tasks.tasktypes.TaskType;
 
 
 public class TaskListTest {
@@ -69,4 +89,421 @@ public class TaskListTest {
         // mark a Task that doesn't exist yet
         assertThrows(TaskNotFoundException.class, () -> taskList.markTask(5));
     }
+
+    @Test
+    public void getTaskList_listedTwiceAndMarkedInBetween_reusesOnlyUnchangedTasks() {
+        // a unit test for TaskList#getTaskList with a TaskRenderCache
+        TaskList taskList = new TaskList();
+        taskList.addTodo("buy milk");
+        taskList.addTodo("clean room");
+
+        try {
+            taskList.getTaskList();
+            taskList.markTask(1);
+            String listing = taskList.getTaskList();
+
+            assertTrue(listing.contains("1. [T][X] buy milk"));
+            assertEquals(1, taskList.getRenderCache().getHits());
+            assertEquals(3, taskList.getRenderCache().getMisses());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void getNumberOfPendingTasks_afterMarkingAndDeleting_countsOnlyIncompleteTasks() {
+        // a unit test for TaskList#getNumberOfPendingTasks and TaskList#getTaskList(boolean)
+        TaskList taskList = new TaskList();
+
+        try {
+            for (int i = 1; i <= 100; i++) {
+                taskList.addTodo("task " + i);
+            }
+            taskList.markTask(70);
+            taskList.markTask(99);
+            taskList.deleteTask(1); // "task 70" and "task 99" move to positions 69 and 98
+
+            assertEquals(97, taskList.getNumberOfPendingTasks());
+            assertEquals(2, taskList.getNumberOfDoneTasks());
+            assertEquals("Here are your completed tasks:\n69. [T][X] task 70\n98. [T][X] task 99\n",
+                    taskList.getTaskList(true));
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void deleteTasks_deleteEveryThirdTask_keepsRemainingTasksInOrder() {
+        // a unit test for TaskList#deleteTasks
+        TaskList taskList = new TaskList();
+
+        try {
+            for (int i = 1; i <= 9; i++) {
+                taskList.addTodo("task " + i);
+            }
+            taskList.markTask(5);
+            taskList.deleteTasks(new int[] { 3, 6, 9 });
+
+            assertEquals(6, taskList.getNumberOfTasks());
+            assertEquals("task 5", taskList.getTask(4).getTitle());
+            assertEquals("task 8", taskList.getTask(6).getTitle());
+            assertEquals("Here are your completed tasks:\n4. [T][X] task 5\n", taskList.getTaskList(true));
+            assertEquals("task 9", taskList.getLastDeletedTask().getTitle());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void findTasksWithWordsNear_misspelledWord_returnsClosestMatchesFirst() {
+        // a unit test for TaskList#findTasksWithWordsNear
+        TaskList taskList = new TaskList();
+        taskList.addTodo("buy milk");
+        taskList.addTodo("buy silk scarf");
+        taskList.addTodo("return library book");
+        taskList.addTodo("mlik the cow");
+
+        try {
+            taskList.deleteTask(4);
+            List<Task> matches = taskList.findTasksWithWordsNear("milc", 1);
+
+            assertEquals(1, matches.size());
+            assertEquals("buy milk", matches.get(0).getTitle());
+            assertEquals("buy silk scarf", taskList.findTasksWithWordsNear("milk", 1).get(1).getTitle());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void addTodo_sameTitleTwice_sharesTitle() {
+        // a unit test for TaskList#addTodo with a TitlePool
+        TaskList taskList = new TaskList();
+        String title = "buy milk";
+
+        taskList.addTodo(title);
+        taskList.addTodo(new String(title)); // an equal title that is a different String
+
+        try {
+            assertSame(taskList.getTask(1).getTitle(), taskList.getTask(2).getTitle());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void withColumnarStorage_markAndDelete_behavesLikeDefaultStorage() {
+        // a unit test for TaskList#withColumnarStorage
+        TaskList taskList = TaskList.withColumnarStorage(new ArrayList<>());
+
+        try {
+            taskList.addTodo("buy milk");
+            taskList.addDeadline("do homework", validDateTime);
+            taskList.addEvent("birthday party", validDateTime);
+            taskList.markTask(2);
+            taskList.deleteTask(1);
+
+            assertEquals("Here are your tasks:\n1. [D][X] do homework (by: 22 Feb 2022, 6:00 PM)\n"
+                    + "2. [E][] birthday party (at: 22 Feb 2022, 6:00 PM)\n", taskList.getTaskList());
+            assertEquals("[T][] buy milk", taskList.getLastDeletedTask().toString());
+            assertEquals(1, taskList.getNumberOfDoneTasks());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void withColumnarStorage_deleteMostTasks_compactsEitherTitleArena() {
+        // a unit test for TaskList#withColumnarStorage with a HeapTitleArena and a DirectTitleArena
+        for (TitleArena titleArena : List.of(new HeapTitleArena(), new DirectTitleArena())) {
+            TaskList taskList = TaskList.withColumnarStorage(new ArrayList<>(), titleArena);
+            String padding = "x".repeat(500);
+
+            try {
+                for (int i = 1; i <= 300; i++) {
+                    taskList.addTodo("caf\u00e9 " + i + " " + padding);
+                }
+                taskList.markTasks(new int[] { 2, 3, 299 });
+
+                int[] deleted = new int[200];
+                for (int i = 0; i < deleted.length; i++) {
+                    deleted[i] = i + 1;
+                }
+                taskList.deleteTasks(deleted); // leaves most of the arena to deleted Tasks
+
+                taskList.addTodo("caf\u00e9 301");
+                List<Task> matches = taskList.findTask("caf\u00e9 29");
+
+                assertEquals(100 * ("caf\u00e9 250 " + padding).getBytes(StandardCharsets.UTF_8).length
+                        + "caf\u00e9 301".getBytes(StandardCharsets.UTF_8).length, titleArena.getSize());
+                assertEquals(10, matches.size());
+                assertEquals("caf\u00e9 290 " + padding, matches.get(0).getTitle());
+                assertTrue(taskList.getTask(99).isDone());
+                assertFalse(taskList.getTask(100).isDone());
+                assertEquals("caf\u00e9 301", taskList.getTask(101).getTitle());
+            } catch (SparkException e) {
+                fail(e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void addDeadline_validDateTime_roundTripsThroughEpochMinutes() {
+        // a unit test for Deadline#encodeTask and Deadline#getDateTime
+        TaskList taskList = new TaskList();
+
+        try {
+            taskList.addDeadline("do homework", validDateTime);
+            Task t = taskList.getTask(1);
+
+            assertEquals("D @@@ false @@@ do homework @@@ 2-22-2022 1800", t.encodeTask());
+            assertEquals(validDateTime, t.getDateTime());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void addDeadline_yearBelowOneThousandOrBeforeYearZero_roundTripsThroughSaveFile() {
+        // a unit test for EpochMinutes#formatInput and EpochMinutes#parseInput
+        TaskList taskList = new TaskList();
+        LocalDateTime earlyDateTime = LocalDateTime.parse("1-1-0999 900", inputDateTimeFormatter);
+        LocalDateTime ancientDateTime = LocalDateTime.of(-5, 2, 28, 23, 5);
+
+        try {
+            taskList.addDeadline("pay tithe", earlyDateTime);
+            taskList.addDeadline("build pyramid", ancientDateTime);
+            String earlyEncoding = taskList.getTask(1).encodeTask();
+            String ancientEncoding = taskList.getTask(2).encodeTask();
+
+            assertEquals("D @@@ false @@@ pay tithe @@@ 1-1-0999 900", earlyEncoding);
+            assertEquals("D @@@ false @@@ build pyramid @@@ 2-28--0005 2305", ancientEncoding);
+            assertEquals(earlyDateTime, TaskDecoder.decodeTask(earlyEncoding).getDateTime());
+            assertEquals(ancientDateTime, TaskDecoder.decodeTask(ancientEncoding).getDateTime());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void addRecurringTask_markTwice_completesOccurrencesInOrder() {
+        // a unit test for TaskList#addRecurringTask and RecurringTask#mark
+        TaskList taskList = new TaskList();
+
+        try {
+            taskList.addRecurringTask(TaskType.DEADLINE, "standup", validDateTime, Recurrence.WEEK);
+            taskList.markTask(1);
+            taskList.markTask(1);
+            Task t = taskList.getTask(1);
+
+            assertEquals("[D][] standup (by: 8 Mar 2022, 6:00 PM, every week)", t.toString());
+            assertEquals("R @@@ false @@@ standup @@@ D @@@ 2-22-2022 1800 @@@ week @@@ 0-1", t.encodeTask());
+            assertEquals(t.encodeTask(), TaskDecoder.decodeTask(t.encodeTask()).encodeTask());
+            assertEquals(1, taskList.getNumberOfPendingTasks());
+            assertTrue(DateQuery.before(LocalDate.of(2022, 3, 9)).matches(t));
+            assertFalse(DateQuery.before(LocalDate.of(2022, 3, 8)).matches(t));
+
+            taskList.unMarkTask(1);
+            assertEquals(validDateTime.plusWeeks(1), t.getDateTime());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void getSortedIndex_tasksChangedAfterwards_keepsTasksSorted() {
+        // a unit test for TaskList#getSortedIndex and SortedTaskIndex
+        TaskList taskList = new TaskList();
+        taskList.addTodo("walk dog");
+        taskList.addDeadline("submit report", validDateTime.plusDays(2));
+        taskList.addEvent("attend party", validDateTime);
+
+        try {
+            SortedTaskIndex byDate = taskList.getSortedIndex(TaskOrder.DATE);
+            SortedTaskIndex byStatus = taskList.getSortedIndex(TaskOrder.STATUS);
+            taskList.addDeadline("buy gift", validDateTime.plusDays(1));
+            taskList.markTask(3);
+            taskList.deleteTask(1);
+
+            assertEquals(List.of("attend party", "buy gift", "submit report"),
+                    List.of(byDate.get(0).getTitle(), byDate.get(1).getTitle(), byDate.get(2).getTitle()));
+            assertEquals(List.of("submit report", "buy gift", "attend party"),
+                    List.of(byStatus.get(0).getTitle(), byStatus.get(1).getTitle(), byStatus.get(2).getTitle()));
+            assertEquals(2, byStatus.indexOf(taskList.getTask(2)));
+            assertEquals(3, byDate.size());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void listSortedLazily_taskMovesWhileListing_warnsInsteadOfRemainingChunks() {
+        // a unit test for ListCommand#executeLazily with a sorted order
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 150; i++) {
+            taskList.addTodo("task " + i);
+        }
+
+        try {
+            Iterator<CommandResponse> chunks = Parser.parseInput("list sort:status").executeLazily(taskList, null);
+            assertFalse(chunks.next().isWarning());
+
+            taskList.markTask(1); // moves the first task to the end of the sorted order
+
+            assertTrue(chunks.next().isWarning());
+            assertFalse(chunks.hasNext());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void findLazily_manyMatches_readsTheSameAsFind() {
+        // a unit test for FindTaskCommand#executeLazily and TaskQuery#executeLazily
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 250; i++) {
+            taskList.addTodo(i % 2 == 0 ? "buy item " + i : "sell item " + i);
+        }
+
+        try {
+            Command command = Parser.parseInput("find type:todo buy");
+            Iterator<CommandResponse> chunks = command.executeLazily(taskList, null);
+            StringBuilder streamed = new StringBuilder();
+            int numberOfChunks = 0;
+            while (chunks.hasNext()) {
+                streamed.append(chunks.next().getMessage());
+                numberOfChunks++;
+            }
+
+            assertEquals(command.execute(taskList, null).get(0).getMessage(), streamed.toString());
+            assertEquals(2, numberOfChunks);
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void getPosition_tasksAddedAndDeletedAfterwards_keepsPositionsUpToDate() {
+        // a unit test for TaskList#getPosition
+        TaskList taskList = new TaskList();
+        taskList.addTodo("walk dog");
+        taskList.addTodo("buy milk");
+
+        try {
+            Task milk = taskList.getTask(2);
+            assertEquals(1, taskList.getPosition(milk));
+
+            taskList.addTasks(List.of(TaskDecoder.decodeTask("T @@@ 0 @@@ read book")));
+            Task book = taskList.getTask(3);
+            assertEquals(2, taskList.getPosition(book));
+
+            taskList.deleteTask(1);
+            assertEquals(0, taskList.getPosition(milk));
+            assertEquals(1, taskList.getPosition(book));
+            assertEquals(-1, taskList.getPosition(taskList.getLastDeletedTask()));
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void taskSummary_tasksChangedAndTimePasses_keepsCountsUpToDate() {
+        // a unit test for TaskSummary
+        TaskList taskList = new TaskList();
+        taskList.addTodo("walk dog");
+        taskList.addDeadline("submit report", validDateTime.plusDays(2));
+        taskList.addEvent("attend party", validDateTime.plusDays(1));
+        long[] now = { EpochMinutes.of(validDateTime) };
+
+        try {
+            TaskSummary summary = new TaskSummary(taskList.getTasks(), () -> now[0]);
+            taskList.addListener(summary);
+            taskList.addDeadline("buy gift", validDateTime.minusDays(1));
+            taskList.addEvent("attend meeting", validDateTime.plusWeeks(1));
+            taskList.markTask(1);
+
+            assertEquals(2, summary.getNumberOfTasks(TaskType.DEADLINE));
+            assertEquals(1, summary.getNumberOfTasks(true));
+            assertEquals(4, summary.getNumberOfTasks(false));
+            assertEquals(1, summary.getNumberOfOverdueDeadlines());
+            assertEquals(1, summary.getNumberOfEventsThisWeek());
+
+            now[0] = EpochMinutes.of(validDateTime.plusDays(7));
+            assertEquals(2, summary.getNumberOfOverdueDeadlines());
+            assertEquals(1, summary.getNumberOfEventsThisWeek());
+
+            taskList.markTask(2);
+            taskList.deleteTask(4);
+            assertEquals(0, summary.getNumberOfOverdueDeadlines());
+            assertEquals(1, summary.getNumberOfTasks(TaskType.DEADLINE, true));
+            assertEquals(1, summary.getNumberOfTasks(TaskType.DEADLINE));
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void findTask_afterAddMarkAndDelete_onlyRepeatsSearchWhenTasksAddedOrDeleted() {
+        // a unit test for TaskList#findTask with a FindResultCache
+        TaskList taskList = new TaskList();
+        taskList.addTodo("buy milk");
+        taskList.addTodo("milk tea");
+
+        try {
+            List<Task> firstResult = taskList.findTask("milk");
+            taskList.markTask(1);
+            assertSame(firstResult, taskList.findTask("milk")); // marking changes no titles
+            assertTrue(firstResult.get(0).isDone());
+
+            taskList.addTodo("oat milk");
+            assertEquals(3, taskList.findTask("milk").size());
+
+            taskList.deleteTask(1);
+            List<Task> afterDelete = taskList.findTask("milk");
+            assertEquals(2, afterDelete.size());
+            assertEquals("milk tea", afterDelete.get(0).getTitle());
+
+            assertEquals("1 searches cached, 1 hits, 0 refined from shorter searches, 3 misses",
+                    taskList.getFindResultCache().getStatistics());
+        } catch (SparkException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void findTask_longerSearchTerm_refinesShorterSearch() {
+        // a unit test for TaskList#findTask with a FindResultCache
+        TaskList taskList = new TaskList();
+        taskList.addTodo("buy milk");
+        taskList.addTodo("mild salsa");
+        taskList.addTodo("read book");
+
+        assertEquals(2, taskList.findTask("mil").size());
+        List<Task> refined = taskList.findTask("milk");
+
+        assertEquals(1, refined.size());
+        assertEquals("buy milk", refined.get(0).getTitle());
+        assertEquals("2 searches cached, 0 hits, 1 refined from shorter searches, 1 misses",
+                taskList.getFindResultCache().getStatistics());
+    }
+
+    @Test
+    public void findResultCache_moreSearchesThanEntries_forgetsLeastRecentlyUsed() {
+        // a unit test for FindResultCache#find
+        FindResultCache cache = new FindResultCache(2, 100);
+        List<String> searches = new ArrayList<>();
+        Function<String, List<Task>> searchAll = searchTerm -> {
+            searches.add(searchTerm);
+            return List.of();
+        };
+
+        cache.find("apple", 0, searchAll);
+        cache.find("book", 0, searchAll);
+        cache.find("apple", 0, searchAll); // "book" is now the least recently used
+        cache.find("cat", 0, searchAll);
+        cache.find("apple", 0, searchAll);
+        cache.find("book", 0, searchAll);
+
+        assertEquals(List.of("apple", "book", "cat", "book"), searches);
+    }
 }
@@ -0,0 +1,42 @@
+package spark.workspaces;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import spark.exceptions.SparkException;
+
+public class WorkspacesTest {
+    @Test
+    public void use_moreWorkspacesThanCapacity_evictsLeastRecentlyUsedAndReloadsIt()
+            throws IOException, SparkException {
+        // a unit test for Workspaces#use
+        Path folder = Files.createTempDirectory("spark");
+        Workspaces workspaces = new Workspaces(folder.resolve("save.txt").toString(), 2);
+
+        Workspace work = workspaces.use("work");
+        work.getTaskList().addTodo("write report");
+        work.getStorage().writeAddedTask(work.getTaskList());
+        workspaces.use("home");
+        workspaces.use("default"); // "work" is now the least recently used, and is evicted
+
+        assertEquals(List.of("default", "home"), workspaces.getLoadedWorkspaces().stream()
+                .map(Workspace::getName).sorted().collect(Collectors.toList()));
+        assertEquals(List.of("default", "home", "work"), workspaces.getNames());
+
+        Workspace reloadedWork = workspaces.use("work");
+
+        assertNotSame(work, reloadedWork);
+        assertSame(reloadedWork, workspaces.getCurrent());
+        assertEquals("write report", reloadedWork.getTaskList().getTask(1).getTitle());
+        workspaces.closeAll();
+    }
+}